@@ -36,7 +36,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.epam.fonda.entity.configuration.EOLMarker.CRLF;
 import static com.epam.fonda.entity.configuration.EOLMarker.LF;
@@ -63,7 +67,7 @@ public abstract class AbstractIntegrationTest {
     @AfterEach
     public void cleanUp() throws IOException {
         cleanOutputDirForNextTest(OUTPUT_DIR);
-        TaskContainer.getTasks().clear();
+        TaskContainer.clear();
         MasterScript.getInstance().resetScript();
     }
 
@@ -125,6 +129,21 @@ public abstract class AbstractIntegrationTest {
         return ArrayUtils.isNotEmpty(nonRequiredOptions) && Arrays.asList(nonRequiredOptions).contains(option);
     }
 
+    /**
+     * @param shFilesDir the directory of the generated scripts
+     * @return the content of each generated script by its file name
+     * @throws IOException if an I/O error occurs reading the scripts
+     */
+    public Map<String, String> readScripts(final String shFilesDir) throws IOException {
+        final Map<String, String> scripts = new TreeMap<>();
+        try (Stream<Path> files = Files.list(Paths.get(shFilesDir))) {
+            for (Path file : files.collect(Collectors.toList())) {
+                scripts.put(file.getFileName().toString(), new String(Files.readAllBytes(file)));
+            }
+        }
+        return scripts;
+    }
+
     /**
      * @param filePath path to a file
      * @return the template represented by {@code String}
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static com.epam.fonda.TestTemplateUtils.getSamplesScripts;
@@ -42,6 +43,7 @@ public class DnaCaptureVarFastqIntegrationTest extends AbstractIntegrationTest {
     private static final String OUTPUT_FILE_MASTER = format("%s/master.sh", OUTPUT_SH_FILES_DIR);
     private static final String STUDY_CONFIG_SINGLE = "sSingle.txt";
     private static final String STUDY_CONFIG_PAIRED = "sPaired.txt";
+    private static final String STUDY_CONFIG_CASE_CONTROL = "sCaseControl.txt";
     private static final String ALL_TASKS_PAIRED_TEMPLATES = "AllTasksPaired";
     private static final String ALL_TASKS_SINGLE_TEMPLATES = "AllTasksSingle";
     private static final String BWA_PICARD_QC_TARGET_SINGLE = "BwaPicardQcTargetSingle";
@@ -107,6 +109,21 @@ public class DnaCaptureVarFastqIntegrationTest extends AbstractIntegrationTest {
         assertEquals(trimNotImportant(expectedMasterScript), trimNotImportant(getCmd(OUTPUT_FILE_MASTER)));
     }
 
+    @Test
+    void testParallelGenerationMatchesSequentialGenerationForCaseAndControlSamples() throws IOException {
+        final String globalConfig = format("%s/gPairedAllTasks.txt", DNA_CAPTURE_VAR_FASTQ_DIR);
+        final String studyConfig = format("%s/%s", DNA_CAPTURE_VAR_FASTQ_DIR, STUDY_CONFIG_CASE_CONTROL);
+        startAppWithConfigs(globalConfig, studyConfig, new String[] { "-master" });
+        final Map<String, String> expectedScripts = readScripts(OUTPUT_DIR_ROOT + OUTPUT_SH_FILES_DIR);
+        cleanUp();
+        startAppWithConfigs(globalConfig, studyConfig, new String[] { "-master", "-parallel", "4" });
+        final Map<String, String> scripts = readScripts(OUTPUT_DIR_ROOT + OUTPUT_SH_FILES_DIR);
+
+        assertTrue(scripts.containsKey("master.sh"));
+        assertTrue(scripts.get("DnaCaptureVar_Fastq_postalignment_for_smv3_analysis.sh").contains("Error Step: "));
+        assertEquals(expectedScripts, scripts);
+    }
+
     @Test
     public void testCreateDnaCaptureVarFastqSpecificDirExpressionFastqToolset() {
         startAppWithConfigs(
@@ -47,9 +47,16 @@ public class DnaWgsVarFastqIntegrationTest extends AbstractIntegrationTest {
         "DnaWgsVarFastq/DnaWgsVar_Fastq_gatkHaplotypeCaller_for_GA5_analysis_template.txt";
     private static final String DNA_WGS_VAR_FASTQ_POSTALIGNMENT_FOR_GA5_TEMPLATE_PATH =
         "DnaWgsVarFastq/DnaWgsVar_Fastq_postalignment_for_GA5_analysis_template.txt";
+    private static final String DNA_WGS_VAR_FASTQ_POSTALIGNMENT_FOR_GA5_EVENT_TEMPLATE_PATH =
+        "DnaWgsVarFastq/DnaWgsVar_Fastq_postalignment_for_GA5_event_analysis_template.txt";
 
     public static final String DNA_WGS_VAR_FASTQ_GLOBAL_CONFIG_PATH =
         "DnaWgsVarFastq/global_config_DnaWgsVar_Fastq_v1.1.txt";
+    private static final String DNA_WGS_VAR_FASTQ_POSTALIGNMENT_FOR_GA5_DAG_TEMPLATE_PATH =
+        "DnaWgsVarFastq/DnaWgsVar_Fastq_postalignment_for_GA5_dag_analysis_template.txt";
+
+    public static final String DNA_WGS_VAR_FASTQ_EVENT_GLOBAL_CONFIG_PATH =
+        "DnaWgsVarFastq/global_config_DnaWgsVar_Fastq_event.txt";
     public static final String STUDY_CONFIG_PATH = "DnaWgsVarFastq/sscRnaExpressionCellRangerFastq.txt";
 
     @ParameterizedTest
@@ -60,6 +67,23 @@ public class DnaWgsVarFastqIntegrationTest extends AbstractIntegrationTest {
         assertEquals(expectedCmd.trim(), getCmd(filePath).trim());
     }
 
+    @Test
+    void testEventStatusCheck() throws IOException, URISyntaxException {
+        startAppWithConfigs(DNA_WGS_VAR_FASTQ_EVENT_GLOBAL_CONFIG_PATH, STUDY_CONFIG_PATH);
+        String expectedCmd = TEMPLATE_ENGINE.process(DNA_WGS_VAR_FASTQ_POSTALIGNMENT_FOR_GA5_EVENT_TEMPLATE_PATH,
+            context);
+        assertEquals(expectedCmd.trim(), getCmd(DNA_WGS_VAR_FASTQ_POSTALIGNMENT_FOR_GA5_SH_FILE_PATH).trim());
+    }
+
+    @Test
+    void testDagMode() throws IOException, URISyntaxException {
+        startAppWithConfigs(DNA_WGS_VAR_FASTQ_GLOBAL_CONFIG_PATH, STUDY_CONFIG_PATH, new String[] {"-dag"});
+        String expectedCmd = TEMPLATE_ENGINE.process(DNA_WGS_VAR_FASTQ_POSTALIGNMENT_FOR_GA5_DAG_TEMPLATE_PATH,
+            context);
+        assertEquals(expectedCmd.trim(), getCmd(DNA_WGS_VAR_FASTQ_POSTALIGNMENT_FOR_GA5_SH_FILE_PATH).trim());
+        assertTrue(new File(format("%s%s/sh_files/master.sh", OUTPUT_DIR_ROOT, OUTPUT_DIR)).exists());
+    }
+
     @SuppressWarnings("PMD")
     private static Stream<Arguments> initParameters() {
         return Stream.of(
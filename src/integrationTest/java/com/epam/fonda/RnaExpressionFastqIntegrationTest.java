@@ -26,6 +26,7 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -179,6 +180,16 @@ public class RnaExpressionFastqIntegrationTest extends AbstractIntegrationTest {
         );
     }
 
+    @Test
+    void testParallelGenerationMatchesSequentialGeneration() throws IOException {
+        startAppWithConfigs(RNA_EXPRESSION_FASTQ_G_STAR_WITH_RSEM, S_CONFIG_PATH, new String[] { "-master" });
+        final Map<String, String> expectedScripts = readScripts(OUTPUT_DIR_ROOT + OUTPUT_DIR + "sh_files");
+        cleanUp();
+        startAppWithConfigs(RNA_EXPRESSION_FASTQ_G_STAR_WITH_RSEM, S_CONFIG_PATH,
+                new String[] { "-master", "-parallel", "4" });
+        assertEquals(expectedScripts, readScripts(OUTPUT_DIR_ROOT + OUTPUT_DIR + "sh_files"));
+    }
+
     private String getExpectedMasterScript(final String expectedBaseScript, final String expectedSecondScript,
                                            final Integer numberOfScripts, final List<String> postProcessScripts) {
         final String expectedMasterScript = TEMPLATE_ENGINE.process(
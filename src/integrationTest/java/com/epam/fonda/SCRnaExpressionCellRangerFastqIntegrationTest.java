@@ -80,7 +80,7 @@ class SCRnaExpressionCellRangerFastqIntegrationTest extends AbstractIntegrationT
 
     @AfterEach
     public void cleanUp() {
-        TaskContainer.getTasks().clear();
+        TaskContainer.clear();
     }
 
     @Test
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.benchmark;
+
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.entity.configuration.StudyConfig;
+import com.epam.fonda.samples.fastq.FastqFileSample;
+import com.epam.fonda.tools.impl.Star;
+import com.epam.fonda.tools.results.BamResult;
+import com.epam.fonda.tools.results.FastqOutput;
+import com.epam.fonda.utils.TemplateEngineUtils;
+import com.epam.fonda.workflow.impl.Flag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rendering of the star and the logfile scanning templates by the shared cached template engine
+ * against an engine that resolves and parses the template on every render.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderBenchmark {
+    private static final String LOGFILE_SCANNING_SHELL_SCRIPT_TEMPLATE_NAME =
+            "logfile_scanning_shell_script_template";
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private TemplateEngine templateEngine;
+    private Configuration configuration;
+    private Flag flag;
+    private FastqFileSample sample;
+    private FastqOutput fastqOutput;
+    private Context logFileScanningContext;
+
+    @Setup
+    public void setup() {
+        templateEngine = cached ? TemplateEngineUtils.getTemplateEngine() : TemplateEngineUtils.init(false);
+        configuration = buildConfiguration();
+        flag = Flag.buildFlags(configuration);
+        sample = new FastqFileSample();
+        sample.setName("sampleName");
+        sample.setBamOutdir("output/sampleName/bam");
+        sample.setTmpOutdir("output/sampleName/tmp");
+        sample.setQcOutdir("output/sampleName/qc");
+        fastqOutput = FastqOutput.builder()
+                .mergedFastq1("output/sampleName/fastq/sampleName.merged_R1.fastq.gz")
+                .mergedFastq2("output/sampleName/fastq/sampleName.merged_R2.fastq.gz")
+                .build();
+        logFileScanningContext = buildLogFileScanningContext();
+    }
+
+    @Benchmark
+    public BamResult renderStarTemplate() {
+        return new Star(flag, sample, fastqOutput).generate(configuration, templateEngine);
+    }
+
+    @Benchmark
+    public String renderLogFileScanningTemplate() {
+        return templateEngine.process(LOGFILE_SCANNING_SHELL_SCRIPT_TEMPLATE_NAME, logFileScanningContext);
+    }
+
+    private static Configuration buildConfiguration() {
+        final GlobalConfig globalConfig = new GlobalConfig();
+        final GlobalConfig.ToolConfig toolConfig = new GlobalConfig.ToolConfig();
+        toolConfig.setJava("java");
+        toolConfig.setPicard("picard");
+        toolConfig.setStar("star");
+        toolConfig.setSamTools("samtools");
+        final GlobalConfig.QueueParameters queueParameters = new GlobalConfig.QueueParameters();
+        queueParameters.setNumThreads(5);
+        final GlobalConfig.DatabaseConfig databaseConfig = new GlobalConfig.DatabaseConfig();
+        databaseConfig.setStarIndex("/ngs/data/reference_genome/hg19/STAR_index");
+        final GlobalConfig.PipelineInfo pipelineInfo = new GlobalConfig.PipelineInfo();
+        pipelineInfo.setWorkflow("RnaExpressionFastq");
+        pipelineInfo.setToolset(new LinkedHashSet<>(Collections.singletonList("star")));
+        globalConfig.setToolConfig(toolConfig);
+        globalConfig.setQueueParameters(queueParameters);
+        globalConfig.setDatabaseConfig(databaseConfig);
+        globalConfig.setPipelineInfo(pipelineInfo);
+        final StudyConfig studyConfig = new StudyConfig();
+        studyConfig.setProject("project");
+        studyConfig.setRun("run");
+        studyConfig.setDate("date");
+        final Configuration configuration = new Configuration();
+        configuration.setGlobalConfig(globalConfig);
+        configuration.setStudyConfig(studyConfig);
+        return configuration;
+    }
+
+    private static Context buildLogFileScanningContext() {
+        final Context context = new Context();
+        context.setVariable("logFileWithSampleName",
+                "output/log_files/RnaExpressionFastq_Alignment_for_sampleName_analysis.log");
+        context.setVariable("tag", "Alignment");
+        context.setVariable("steps", "Alignment|Post Alignment|Secondary Analysis");
+        context.setVariable("errorMsgWithSampleName", "Error bam from sampleName");
+        context.setVariable("confirmMsgWithSampleName", "Confirm bam from sampleName");
+        context.setVariable("period", 60);
+        context.setVariable("ifScript1", "if [[ $str == \"*Error Step: ");
+        context.setVariable("ifScript2", "if [[ -f $logFile  ]];");
+        context.setVariable("whileScript", "while [[ $str = \"\" ]]");
+        return context;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.benchmark;
+
+import com.epam.fonda.CmdParser;
+import com.epam.fonda.FondaLauncher;
+import com.epam.fonda.entity.configuration.orchestrator.MasterScript;
+import com.epam.fonda.workflow.TaskContainer;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Measures the end-to-end script generation of {@link FondaLauncher#launch()} in the <tt>-test</tt> mode
+ * for synthetic studies of 10, 100 and 10,000 samples. The results are normalized per sample, so the time
+ * and the <tt>gc.alloc.rate.norm</tt> of the gc profiler are reported for a single sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class WorkflowGenerationBenchmark {
+    private static final int SMALL_STUDY = 10;
+    private static final int MEDIUM_STUDY = 100;
+    private static final int LARGE_STUDY = 10_000;
+    private static final String GLOBAL_CONFIG_RESOURCE = "benchmark/%s.txt";
+    private static final String FASTQ_PATH = "/ngs/data/demo/test/fastq/sample%d_L001_R%d_001.fastq.gz";
+
+    @Param({"DnaWgsVarFastq", "RnaExpressionFastq", "ScRnaExpressionCellRangerFastq"})
+    private String workflow;
+
+    private Path workDir;
+    private String globalConfig;
+    private String smallStudyConfig;
+    private String mediumStudyConfig;
+    private String largeStudyConfig;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDir = Files.createTempDirectory("fonda-benchmark");
+        globalConfig = copyGlobalConfig();
+        smallStudyConfig = writeStudy(SMALL_STUDY);
+        mediumStudyConfig = writeStudy(MEDIUM_STUDY);
+        largeStudyConfig = writeStudy(LARGE_STUDY);
+    }
+
+    @TearDown(Level.Invocation)
+    public void resetState() {
+        TaskContainer.clear();
+        MasterScript.getInstance().resetScript();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(workDir.toFile());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SMALL_STUDY)
+    public void generateSmallStudy() throws IOException, ParseException {
+        launch(smallStudyConfig);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEDIUM_STUDY)
+    public void generateMediumStudy() throws IOException, ParseException {
+        launch(mediumStudyConfig);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LARGE_STUDY)
+    public void generateLargeStudy() throws IOException, ParseException {
+        launch(largeStudyConfig);
+    }
+
+    private void launch(final String studyConfig) throws IOException, ParseException {
+        final String[] args = {"-test", "-global_config", globalConfig, "-study_config", studyConfig};
+        new FondaLauncher(new CmdParser().parseArgs(args)).launch();
+    }
+
+    private String copyGlobalConfig() throws IOException {
+        final Path target = workDir.resolve("global_config.txt");
+        try (InputStream source = Objects.requireNonNull(getClass().getClassLoader()
+                .getResourceAsStream(format(GLOBAL_CONFIG_RESOURCE, workflow)))) {
+            Files.copy(source, target);
+        }
+        return target.toString();
+    }
+
+    private String writeStudy(final int samples) throws IOException {
+        final Path studyDir = Files.createDirectories(workDir.resolve("study_" + samples));
+        final Path fastqList = studyDir.resolve("fastq_list.tsv");
+        Files.write(fastqList, buildFastqList(samples), StandardCharsets.UTF_8);
+        final List<String> study = new ArrayList<>();
+        study.add("[Series_Info]");
+        study.add("job_name = benchmark_job");
+        study.add("dir_out = " + studyDir.resolve("output"));
+        study.add("fastq_list = " + fastqList);
+        study.add("LibraryType = " + (workflow.startsWith("Dna") ? "DNA" : "RNA"));
+        study.add("DataGenerationSource = Internal");
+        study.add("Date = 031814");
+        study.add("Project = Benchmark_project");
+        study.add("Run = run1234");
+        final Path studyConfig = studyDir.resolve("study_config.txt");
+        Files.write(studyConfig, study, StandardCharsets.UTF_8);
+        return studyConfig.toString();
+    }
+
+    private List<String> buildFastqList(final int samples) {
+        final boolean singleCell = workflow.startsWith("ScRna");
+        final List<String> lines = new ArrayList<>(samples + 1);
+        lines.add(singleCell
+                ? "parameterType\tshortName\tParameter1\tParameter2\tlibtype\tmaster"
+                : "parameterType\tshortName\tParameter1\tParameter2\tsample_type\tmatch_control");
+        for (int i = 0; i < samples; i++) {
+            final String sample = "sample" + i;
+            lines.add(String.join("\t", "fastqFile", sample, format(FASTQ_PATH, i, 1), format(FASTQ_PATH, i, 2),
+                    singleCell ? "GEX" : "case", singleCell ? sample : "NA"));
+        }
+        return lines;
+    }
+}
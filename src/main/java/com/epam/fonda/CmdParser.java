@@ -20,11 +20,13 @@ import com.beust.jcommander.JCommander;
 import com.epam.fonda.entity.configuration.CommonOutdir;
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.entity.configuration.SchedulerType;
 import com.epam.fonda.entity.configuration.StudyConfig;
 import com.epam.fonda.utils.ConfigurationUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.Validate;
 
 import java.io.IOException;
 import java.util.Map;
@@ -99,10 +101,37 @@ public class CmdParser {
         configuration.setStudyConfig(studyConfig);
         configuration.setGlobalConfig(globalConfig);
         configuration.setTestMode(cmd.hasOption(OptionName.TEST.getName()));
-        configuration.setLocalMode(cmd.hasOption(OptionName.LOCAL.getName()));
+        final boolean dagMode = cmd.hasOption(OptionName.DAG.getName());
+        final boolean arrayMode = cmd.hasOption(OptionName.ARRAY.getName());
+        final SchedulerType scheduler = globalConfig.getQueueParameters().getScheduler();
+        configuration.setLocalMode((dagMode && scheduler == null) || scheduler == SchedulerType.LOCAL
+                || cmd.hasOption(OptionName.LOCAL.getName()));
         configuration.setSyncMode(cmd.hasOption(OptionName.SYNC.getName()));
-        configuration.setMasterMode(cmd.hasOption(OptionName.MASTER.getName()));
+        configuration.setMasterMode(dagMode || arrayMode || cmd.hasOption(OptionName.MASTER.getName()));
+        configuration.setDagMode(dagMode);
+        configuration.setArrayMode(arrayMode);
+        configuration.setResumeMode(cmd.hasOption(OptionName.RESUME.getName()));
+        configuration.setProfileMode(cmd.hasOption(OptionName.PROFILE.getName()));
         configuration.setCommonOutdir(commonOutdir);
+        configuration.setGenerationThreads(parseThreads(cmd, OptionName.PARALLEL, 1, "generation threads"));
+        configuration.setExecutorThreads(parseThreads(cmd, OptionName.EXECUTOR_THREADS, 0, "executor threads"));
         return configuration;
     }
+
+    private int parseThreads(final CommandLine cmd, final OptionName option, final int defaultThreads,
+                             final String description) {
+        if (!cmd.hasOption(option.getName())) {
+            return defaultThreads;
+        }
+        final String value = cmd.getOptionValue(option.getName());
+        try {
+            final int threads = Integer.parseInt(value.trim());
+            Validate.isTrue(threads > 0, String.format("The number of %s should be positive: %s", description,
+                    value));
+            return threads;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("The number of %s is not a number: %s", description,
+                    value), e);
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.fonda;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * The <tt>CompletionWatcher</tt> class lets the locally launched scripts wait for the completion markers, that
+ * the upstream scripts create on exit, without polling. A single {@link WatchService} thread serves all the waiting
+ * scripts and wakes them up on every change of the watched directories.
+ */
+@Slf4j
+public final class CompletionWatcher {
+
+    private static final String MARKER_EXTENSION = ".done";
+    /**
+     * The markers older than the launch of fonda are left by the previous runs, the tolerance covers the
+     * coarse timestamps of some file systems.
+     */
+    private static final long TIMESTAMP_TOLERANCE_MS = 2000;
+    private static final long LAUNCH_TIME = System.currentTimeMillis() - TIMESTAMP_TOLERANCE_MS;
+    private static final Object LOCK = new Object();
+    private static final Set<Path> WATCHED_DIRECTORIES = new HashSet<>();
+    private static WatchService watchService;
+
+    private CompletionWatcher() {}
+
+    /**
+     * @param logOutdir the directory of the log files
+     * @param jobName the name of the job, that creates the marker
+     * @return the path to the completion marker of the job
+     */
+    public static Path getMarker(final String logOutdir, final String jobName) {
+        return Paths.get(logOutdir, jobName + MARKER_EXTENSION);
+    }
+
+    /**
+     * Blocks the calling thread until all the markers are created by the current run.
+     * @param markers the completion markers to wait for
+     * @throws IOException if the marker directories cannot be watched
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public static void await(final Collection<Path> markers) throws IOException, InterruptedException {
+        for (Path marker : markers) {
+            watch(marker.toAbsolutePath().getParent());
+        }
+        synchronized (LOCK) {
+            while (!markers.stream().allMatch(CompletionWatcher::isCreated)) {
+                LOCK.wait();
+            }
+        }
+    }
+
+    private static void watch(final Path directory) throws IOException {
+        synchronized (LOCK) {
+            if (WATCHED_DIRECTORIES.contains(directory)) {
+                return;
+            }
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+                final Thread dispatcher = new Thread(CompletionWatcher::dispatch, "completion-watcher");
+                dispatcher.setDaemon(true);
+                dispatcher.start();
+            }
+            Files.createDirectories(directory);
+            directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            WATCHED_DIRECTORIES.add(directory);
+        }
+    }
+
+    private static void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key = watchService.take();
+                key.pollEvents();
+                key.reset();
+                synchronized (LOCK) {
+                    LOCK.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isCreated(final Path marker) {
+        try {
+            return Files.exists(marker) && Files.getLastModifiedTime(marker).toMillis() >= LAUNCH_TIME;
+        } catch (IOException e) {
+            log.debug("Cannot read the completion marker " + marker + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -16,20 +16,41 @@
 
 package com.epam.fonda;
 
+import com.epam.fonda.ExecutorMetrics.TaskMetrics;
+import com.epam.fonda.ExecutorMetrics.TaskState;
 import com.epam.fonda.utils.PipelineUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
 
 /**
  * This class provides a methods to launch the generated shell scripts
@@ -40,48 +61,150 @@ public final class Executor {
     private Executor() {}
 
     /**
-     * The list of Futures of results of all the running command line tasks
+     * The list of Futures of results of the command line tasks launched by the current run
+     */
+    private static final List<Future<Integer>> RUNNING_TASKS = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The command line tasks launched by the current run in the order of submission
      */
-    private static final List<Future<Integer>> RUNNING_TASKS = new ArrayList<>();
+    private static final List<TrackedTask> TRACKED_TASKS = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The list of Futures of the commands launched without waiting for their exit codes by the current run
+     */
+    private static final List<Future<Integer>> LAUNCHED_TASKS = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The threads that only wait, such as the threads waiting for the completion markers or draining the output
+     * of the commands, they are not limited by the number of executor threads
+     */
+    private static final ExecutorService WAITERS = Executors.newCachedThreadPool(threadFactory("fonda-waiter"));
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static volatile ExecutorService pool = createPool(0);
+    private static volatile int poolThreads;
+
+    /**
+     * Starts a new run: sets the maximal number of tasks executed at the same time, the other tasks wait in
+     * the queue, and forgets the tasks and the metrics of the previous run. The tasks that are already submitted
+     * are executed by the previous pool.
+     *
+     * @param threads the maximal number of running tasks, not positive value means unlimited
+     */
+    public static synchronized void configure(int threads) {
+        final ExecutorService previous = pool;
+        pool = createPool(threads);
+        poolThreads = threads;
+        previous.shutdown();
+        RUNNING_TASKS.clear();
+        LAUNCHED_TASKS.clear();
+        TRACKED_TASKS.clear();
+    }
 
     /**
      * Execute a shell command in a separate watching thread, that waits for it's execution to finish and then returns
      * the exit code. That exit code is returned via Future of this watching thread.
      *
      * @param cmd a shell command to execute
+     * @param logFile the file the standard output of the command is appended to
+     * @param errFile the file the error output of the command is appended to
      */
-    public static void execute(String cmd, boolean isMaster) {
-        FutureTask<Integer> task = new FutureTask<>(() -> {
-            try {
-                Process p = Runtime.getRuntime().exec(cmd);
-                p.waitFor();
-                if (!isMaster) {
-                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
-                        reader.lines().forEach(l -> log.debug(cmd + ": " + l));
-                    }
-                }
-
-                return p.exitValue();
-            } catch (IOException e) {
-                log.error("In executing the command: " + cmd + ": " + e.getMessage());
-                return PipelineUtils.ERROR_STATUS;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return PipelineUtils.ERROR_STATUS;
-            }
-        });
-        Thread t = new Thread(task);
-        t.start();
+    public static void execute(String cmd, Path logFile, Path errFile) {
+        submit(cmd, () -> run(cmd, logFile, errFile));
+    }
 
-        RUNNING_TASKS.add(task);
+    /**
+     * Launch a shell command without waiting for its exit code. If the number of executor threads is limited,
+     * the command takes a thread of the executor until it is finished and the other commands wait in the queue,
+     * {@link #getExecutorResult()} waits for all the launched commands but ignores their exit codes.
+     *
+     * @param cmd a shell command to launch
+     * @param logFile the file the standard output of the command is appended to if the executor threads are limited
+     * @param errFile the file the error output of the command is appended to if the executor threads are limited
+     * @throws IOException if the command cannot be started
+     */
+    public static void launch(String cmd, Path logFile, Path errFile) throws IOException {
+        if (poolThreads <= 0) {
+            Runtime.getRuntime().exec(cmd);
+            return;
+        }
+        final TrackedTask task = track(cmd);
+        LAUNCHED_TASKS.add(pool.submit(() -> task.call(() -> run(cmd, logFile, errFile))));
     }
 
     /**
-     * Method is used to get executor result
+     * Execute a shell command in a separate watching thread as soon as all the completion markers are created.
+     * The command does not take a thread of the executor while it waits for the markers.
+     * The exit code is returned via Future of this watching thread.
+     *
+     * @param cmd a shell command to execute
+     * @param logFile the file the standard output of the command is appended to
+     * @param errFile the file the error output of the command is appended to
+     * @param markers the completion markers of the scripts the command depends on
+     */
+    public static void executeOnCompletion(String cmd, Path logFile, Path errFile, Collection<Path> markers) {
+        final TrackedTask task = track(cmd);
+        final ExecutorService executor = pool;
+        RUNNING_TASKS.add(CompletableFuture
+                .supplyAsync(() -> awaitMarkers(cmd, markers), WAITERS)
+                .thenApplyAsync(ready -> ready
+                        ? task.run(() -> run(cmd, logFile, errFile))
+                        : task.run(() -> PipelineUtils.ERROR_STATUS), executor));
+    }
+
+    /**
+     * Execute a task in a separate watching thread, the exit code of the task is returned via Future of this
+     * watching thread.
+     *
+     * @param command a task returning the exit code
+     */
+    public static void submit(Callable<Integer> command) {
+        submit("task", command);
+    }
+
+    /**
+     * Execute a named task in a separate watching thread, the exit code of the task is returned via Future of this
+     * watching thread.
+     *
+     * @param name the name of the task reported by {@link #getMetrics()}
+     * @param command a task returning the exit code
+     */
+    public static void submit(String name, Callable<Integer> command) {
+        final TrackedTask task = track(name);
+        RUNNING_TASKS.add(pool.submit(() -> task.call(command)));
+    }
+
+    /**
+     * @return the live numbers of the running, queued and finished tasks together with the wall time of each task
+     */
+    public static ExecutorMetrics getMetrics() {
+        final List<TaskMetrics> tasks;
+        synchronized (TRACKED_TASKS) {
+            tasks = TRACKED_TASKS.stream()
+                    .map(TrackedTask::getMetrics)
+                    .collect(Collectors.toList());
+        }
+        return new ExecutorMetrics(count(tasks, TaskState.RUNNING), count(tasks, TaskState.QUEUED),
+                count(tasks, TaskState.FINISHED), tasks);
+    }
+
+    /**
+     * Method is used to get executor result, it waits for the launched commands as well
      */
-    @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
     public static Optional<Integer> getExecutorResult() {
-        return Executor.RUNNING_TASKS.stream()
+        await(LAUNCHED_TASKS).forEach(ignored -> {});
+        return await(RUNNING_TASKS).max(Comparator.naturalOrder());
+    }
+
+    @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
+    private static Stream<Integer> await(List<Future<Integer>> futures) {
+        final List<Future<Integer>> tasks;
+        synchronized (futures) {
+            tasks = new ArrayList<>(futures);
+        }
+        return tasks.stream()
                 .map(t -> {
                     try {
                         return t.get();
@@ -89,7 +212,136 @@ public final class Executor {
                         Thread.currentThread().interrupt();
                         throw new CancellationException(e.getMessage());
                     }
-                })
-                .max(Comparator.naturalOrder());
+                });
+    }
+
+    private static int run(String cmd, Path logFile, Path errFile) {
+        try {
+            Process p = Runtime.getRuntime().exec(cmd);
+            final Future<?> output = drain(p.getInputStream(), logFile);
+            final Future<?> errors = drain(p.getErrorStream(), errFile);
+            final int status = p.waitFor();
+            output.get();
+            errors.get();
+            return status;
+        } catch (IOException | ExecutionException e) {
+            log.error("In executing the command: " + cmd + ": " + e.getMessage());
+            return PipelineUtils.ERROR_STATUS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PipelineUtils.ERROR_STATUS;
+        }
+    }
+
+    /**
+     * Appends the stream of a command to the file while the command is running, so that the command is never
+     * blocked on the full pipe buffer.
+     */
+    private static Future<?> drain(InputStream stream, Path file) {
+        return WAITERS.submit(() -> {
+            try (InputStream input = stream;
+                 OutputStream output = Files.newOutputStream(file, StandardOpenOption.CREATE,
+                         StandardOpenOption.APPEND)) {
+                IOUtils.copy(input, output);
+            }
+            return null;
+        });
+    }
+
+    private static boolean awaitMarkers(String cmd, Collection<Path> markers) {
+        try {
+            CompletionWatcher.await(markers);
+            return true;
+        } catch (IOException e) {
+            log.error("In waiting for the completion markers of the command: " + cmd + ": " + e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static TrackedTask track(String name) {
+        final TrackedTask task = new TrackedTask(name);
+        TRACKED_TASKS.add(task);
+        return task;
+    }
+
+    private static int count(List<TaskMetrics> tasks, TaskState state) {
+        return (int) tasks.stream()
+                .filter(task -> task.getState() == state)
+                .count();
+    }
+
+    private static ExecutorService createPool(int threads) {
+        if (threads <= 0) {
+            return Executors.newCachedThreadPool(threadFactory("fonda-executor"));
+        }
+        return new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory("fonda-executor"));
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            final Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Keeps the start and the finish time of a task
+     */
+    private static final class TrackedTask {
+        private final String name;
+        private volatile TaskState state = TaskState.QUEUED;
+        private volatile long started;
+        private volatile long finished;
+
+        private TrackedTask(String name) {
+            this.name = name;
+        }
+
+        private Integer call(Callable<Integer> command) throws Exception {
+            start();
+            try {
+                return command.call();
+            } finally {
+                finish();
+            }
+        }
+
+        private int run(IntSupplier command) {
+            start();
+            try {
+                return command.getAsInt();
+            } finally {
+                finish();
+            }
+        }
+
+        private void start() {
+            started = System.nanoTime();
+            state = TaskState.RUNNING;
+        }
+
+        private void finish() {
+            finished = System.nanoTime();
+            state = TaskState.FINISHED;
+            log.debug(format("%s is completed in %d ms", name, TimeUnit.NANOSECONDS.toMillis(finished - started)));
+        }
+
+        private TaskMetrics getMetrics() {
+            final TaskState current = state;
+            switch (current) {
+                case RUNNING:
+                    return new TaskMetrics(name, current, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                case FINISHED:
+                    return new TaskMetrics(name, current, TimeUnit.NANOSECONDS.toMillis(finished - started));
+                default:
+                    return new TaskMetrics(name, current, 0);
+            }
+        }
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The snapshot of the tasks launched by {@link Executor}
+ */
+@Value
+public class ExecutorMetrics {
+    /**
+     * The number of the tasks that are being executed
+     */
+    int running;
+    /**
+     * The number of the tasks waiting for a free thread or for their upstream jobs
+     */
+    int queued;
+    /**
+     * The number of the completed tasks
+     */
+    int finished;
+    /**
+     * The state and the wall time of each task in the order of submission
+     */
+    List<TaskMetrics> tasks;
+
+    /**
+     * The state of a task launched by {@link Executor}
+     */
+    public enum TaskState {
+        QUEUED, RUNNING, FINISHED
+    }
+
+    /**
+     * The snapshot of a single task
+     */
+    @Value
+    public static class TaskMetrics {
+        String name;
+        TaskState state;
+        /**
+         * The time in milliseconds the task has been running, 0 for the queued tasks
+         */
+        long wallTime;
+    }
+}
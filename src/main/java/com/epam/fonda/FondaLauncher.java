@@ -17,6 +17,8 @@
 package com.epam.fonda;
 
 import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.utils.TemplateEngineUtils;
+import com.epam.fonda.workflow.Checkpoints;
 import com.epam.fonda.workflow.Workflow;
 import com.epam.fonda.workflow.WorkflowFactory;
 import lombok.NonNull;
@@ -40,6 +42,11 @@ public class FondaLauncher {
      * @throws IOException if an I/O error has occurred
      */
     public void launch() throws IOException {
+        TemplateEngineUtils.preloadTemplates();
+        Executor.configure(configuration.getExecutorThreads());
+        if (configuration.isResumeMode()) {
+            Checkpoints.load(Checkpoints.getManifest(configuration.getCommonOutdir().getRootOutdir()));
+        }
         final WorkflowFactory workflowFactory = new WorkflowFactory();
         final String workflowName = configuration.getGlobalConfig().getPipelineInfo().getWorkflow();
         final Workflow workflow = workflowFactory.getWorkflow(workflowName, configuration);
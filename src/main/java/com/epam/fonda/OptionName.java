@@ -27,7 +27,13 @@ public enum OptionName {
     DETAIL("detail"),
     STUDY_CONFIG("study_config"),
     GLOBAL_CONFIG("global_config"),
-    MASTER("master");
+    MASTER("master"),
+    PARALLEL("parallel"),
+    DAG("dag"),
+    RESUME("resume"),
+    EXECUTOR_THREADS("executor_threads"),
+    PROFILE("profile"),
+    ARRAY("array");
 
     private final String name;
 
@@ -31,4 +31,34 @@ public class Configuration {
     private boolean testMode;
     private boolean localMode;
     private boolean masterMode;
+    private boolean dagMode;
+    private boolean arrayMode;
+    private boolean resumeMode;
+    private boolean profileMode;
+    private int generationThreads = 1;
+    private int executorThreads;
+
+    /**
+     * Creates a shallow copy that shares all the parsed configs with this configuration but keeps its own
+     * {@code custTask}, so that different samples can be processed by concurrent workers.
+     * @return a new {@link Configuration} instance
+     */
+    public Configuration copy() {
+        final Configuration copy = new Configuration();
+        copy.setGlobalConfig(globalConfig);
+        copy.setStudyConfig(studyConfig);
+        copy.setCommonOutdir(commonOutdir);
+        copy.setCustTask(custTask);
+        copy.setSyncMode(syncMode);
+        copy.setTestMode(testMode);
+        copy.setLocalMode(localMode);
+        copy.setMasterMode(masterMode);
+        copy.setDagMode(dagMode);
+        copy.setArrayMode(arrayMode);
+        copy.setResumeMode(resumeMode);
+        copy.setProfileMode(profileMode);
+        copy.setGenerationThreads(generationThreads);
+        copy.setExecutorThreads(executorThreads);
+        return copy;
+    }
 }
@@ -18,6 +18,7 @@ package com.epam.fonda.entity.configuration;
 
 import com.beust.jcommander.Parameter;
 import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.LinkedHashSet;
 
@@ -36,6 +37,11 @@ public class GlobalConfig {
 
     @Data
     public static class QueueParameters {
+        /**
+         * The spaces in the values of the global config are replaced with underscores
+         */
+        private static final String TOOL_VALUE_PADDING = " _";
+
         @Parameter(names = GlobalConfigFormat.NUMTHREADS)
         private int numThreads = 1;
         @Parameter(names = GlobalConfigFormat.MAXMEM)
@@ -44,6 +50,86 @@ public class GlobalConfig {
         private String queue;
         @Parameter(names = GlobalConfigFormat.PE)
         private String pe;
+        @Parameter(names = GlobalConfigFormat.TOOL_NUMTHREADS)
+        private String toolNumThreads;
+        @Parameter(names = GlobalConfigFormat.TOOL_MAXMEM)
+        private String toolMaxMem;
+        @Parameter(names = GlobalConfigFormat.TOOL_QUEUE)
+        private String toolQueue;
+        @Parameter(names = GlobalConfigFormat.PARALLEL_TASKS)
+        private int parallelTasks = 1;
+        @Parameter(names = GlobalConfigFormat.SCHEDULER, converter = SchedulerTypeConverter.class)
+        private SchedulerType scheduler;
+
+        /**
+         * @param task the task of a script, such as <tt>alignment</tt> or <tt>mutect2</tt>
+         * @return the number of threads specified for the task by <tt>TOOL_NUMTHREADS</tt>, <tt>NUMTHREADS</tt>
+         * otherwise
+         */
+        public int getNumThreads(final String task) {
+            final Integer threads = getToolNumThreads(task);
+            return threads == null ? numThreads : threads;
+        }
+
+        /**
+         * @param task the task of a script, such as <tt>alignment</tt> or <tt>mutect2</tt>
+         * @return the number of threads specified for the task by <tt>TOOL_NUMTHREADS</tt>, null if it is not
+         * specified
+         */
+        public Integer getToolNumThreads(final String task) {
+            final String threads = getToolValue(toolNumThreads, task);
+            if (threads == null) {
+                return null;
+            }
+            try {
+                return Integer.parseInt(threads);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("The number of threads of %s task is not a number: "
+                        + "%s", task, threads), e);
+            }
+        }
+
+        /**
+         * @param task the task of a script, such as <tt>alignment</tt> or <tt>mutect2</tt>
+         * @return the memory specified for the task by <tt>TOOL_MAXMEM</tt>, <tt>MAXMEM</tt> otherwise
+         */
+        public String getMaxMem(final String task) {
+            return StringUtils.defaultIfBlank(getToolMaxMem(task), maxMem);
+        }
+
+        /**
+         * @param task the task of a script, such as <tt>alignment</tt> or <tt>mutect2</tt>
+         * @return the memory specified for the task by <tt>TOOL_MAXMEM</tt>, null if it is not specified
+         */
+        public String getToolMaxMem(final String task) {
+            return getToolValue(toolMaxMem, task);
+        }
+
+        /**
+         * @param task the task of a script, such as <tt>alignment</tt> or <tt>mutect2</tt>
+         * @return the queue specified for the task by <tt>TOOL_QUEUE</tt>, <tt>QUEUE</tt> otherwise
+         */
+        public String getQueue(final String task) {
+            return StringUtils.defaultIfBlank(getToolValue(toolQueue, task), queue);
+        }
+
+        /**
+         * Finds the value of the task in the comma separated list of <tt>task:value</tt> pairs,
+         * such as <tt>snpEff:1,mutect2:4</tt>.
+         */
+        private static String getToolValue(final String values, final String task) {
+            if (StringUtils.isAnyBlank(values, task)) {
+                return null;
+            }
+            String result = null;
+            for (String entry : values.split(",")) {
+                final String[] pair = entry.split(":", 2);
+                if (pair.length == 2 && StringUtils.strip(pair[0], TOOL_VALUE_PADDING).equalsIgnoreCase(task)) {
+                    result = StringUtils.strip(pair[1], TOOL_VALUE_PADDING);
+                }
+            }
+            return StringUtils.defaultIfBlank(result, null);
+        }
     }
 
     @Data
@@ -150,6 +236,8 @@ public class GlobalConfig {
         private String java;
         @Parameter(names = GlobalConfigFormat.SAMTOOLS)
         private String samTools;
+        @Parameter(names = GlobalConfigFormat.SAMBAMBA)
+        private String sambamba;
         @Parameter(names = GlobalConfigFormat.PICARD_VERSION)
         private String picardVersion;
         @Parameter(names = GlobalConfigFormat.PICARD)
@@ -204,6 +292,20 @@ public class GlobalConfig {
         private String stringtie;
         @Parameter(names = GlobalConfigFormat.STATUS_CHECK_PERIOD)
         private Integer statusCheckPeriod;
+        @Parameter(names = GlobalConfigFormat.STATUS_CHECK_MODE, converter = StatusCheckModeConverter.class)
+        private StatusCheckMode statusCheckMode = StatusCheckMode.POLLING;
+        @Parameter(names = GlobalConfigFormat.SCATTER_COUNT)
+        private Integer scatterCount;
+        @Parameter(names = GlobalConfigFormat.COMPRESSOR)
+        private String compressor;
+        @Parameter(names = GlobalConfigFormat.COMPRESSOR_THREADS)
+        private Integer compressorThreads;
+        @Parameter(names = GlobalConfigFormat.PICARD_QC_MEMORY)
+        private String picardQcMemory;
+        @Parameter(names = GlobalConfigFormat.PICARD_QC_PARALLEL, arity = 1)
+        private boolean picardQcParallel;
+        @Parameter(names = GlobalConfigFormat.NATIVE_EXPRESSION_MERGE, arity = 1)
+        private boolean nativeExpressionMerge;
         @Parameter(names = GlobalConfigFormat.FUSION_CATCHER)
         private String fusionCatcher;
         @Parameter(names = GlobalConfigFormat.STRELKA2)
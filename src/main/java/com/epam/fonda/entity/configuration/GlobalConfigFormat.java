@@ -28,6 +28,11 @@ public final class GlobalConfigFormat {
     public static final String MAXMEM = "MAXMEM";
     public static final String QUEUE = "QUEUE";
     public static final String PE = "PE";
+    public static final String TOOL_NUMTHREADS = "TOOL_NUMTHREADS";
+    public static final String TOOL_MAXMEM = "TOOL_MAXMEM";
+    public static final String TOOL_QUEUE = "TOOL_QUEUE";
+    public static final String PARALLEL_TASKS = "PARALLEL_TASKS";
+    public static final String SCHEDULER = "SCHEDULER";
 
     // [Databases]
     public static final String SPECIES = "SPECIES";
@@ -82,6 +87,7 @@ public final class GlobalConfigFormat {
     public static final String NOVOALIGN_TUNE = "novoalign_tune";
     public static final String JAVA = "java";
     public static final String SAMTOOLS = "samtools";
+    public static final String SAMBAMBA = "sambamba";
     public static final String PICARD_VERSION = "picard_version";
     public static final String PICARD = "picard";
     public static final String SNPSIFT = "snpsift";
@@ -108,6 +114,13 @@ public final class GlobalConfigFormat {
     public static final String RSEMINDEX = "RSEMINDEX";
     public static final String STRINGTIE = "stringtie";
     public static final String STATUS_CHECK_PERIOD = "status_check_period";
+    public static final String STATUS_CHECK_MODE = "status_check_mode";
+    public static final String SCATTER_COUNT = "scatter_count";
+    public static final String COMPRESSOR = "compressor";
+    public static final String COMPRESSOR_THREADS = "compressor_threads";
+    public static final String PICARD_QC_MEMORY = "picard_qc_memory";
+    public static final String PICARD_QC_PARALLEL = "picard_qc_parallel";
+    public static final String NATIVE_EXPRESSION_MERGE = "native_expression_merge";
     public static final String FUSION_CATCHER = "fusionCatcher";
     public static final String STRELKA2 = "strelka2";
     public static final String LOFREQ = "lofreq";
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2020 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.entity.configuration;
+
+/**
+ * The <tt>SchedulerType</tt> enum defines the backend, that runs the generated scripts
+ */
+public enum SchedulerType {
+
+    /**
+     * The scripts are run by <tt>sh</tt> on the local machine, the same as the <tt>-local</tt> option
+     */
+    LOCAL,
+
+    /**
+     * The scripts are submitted to Sun Grid Engine by <tt>qsub</tt>
+     */
+    SGE,
+
+    /**
+     * The scripts are submitted to SLURM by <tt>sbatch</tt>
+     */
+    SLURM
+}
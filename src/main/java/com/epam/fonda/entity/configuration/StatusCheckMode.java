@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2020 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.entity.configuration;
+
+/**
+ * The <tt>StatusCheckMode</tt> enum defines how the dependent scripts wait for the steps of the other scripts
+ */
+public enum StatusCheckMode {
+
+    /**
+     * The dependent script scans the log file of the upstream script every <tt>status_check_period</tt> seconds
+     */
+    POLLING,
+
+    /**
+     * The dependent script is started when the upstream script finishes: via <tt>-hold_jid</tt> on SGE and via
+     * completion marker files in the local mode, the log file of the upstream script is checked once
+     */
+    EVENT
+}
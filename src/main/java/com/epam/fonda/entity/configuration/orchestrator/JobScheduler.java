@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.SchedulerType;
+
+import java.io.IOException;
+
+/**
+ * The <tt>JobScheduler</tt> interface represents the backend, that runs the generated scripts: the local machine,
+ * Sun Grid Engine or SLURM. The backend is chosen by the <tt>SCHEDULER</tt> queue parameter.
+ */
+public interface JobScheduler extends LocalDagScheduler.ScriptRunner {
+
+    /**
+     * @return the name of the scheduler, that selects its options in the script templates
+     */
+    String getName();
+
+    /**
+     * @param script a script path
+     * @param sync   if true the command waits for the completion of the script
+     * @return the command, that submits the script
+     */
+    String getSubmitCommand(String script, boolean sync);
+
+    /**
+     * @return true if the scripts are run on the local machine, so that the running scripts are limited by
+     * its processors and memory, otherwise the scheduler reserves the resources requested by the scripts itself
+     */
+    boolean isLocal();
+
+    /**
+     * @return true if the dependent scripts can be held until the upstream jobs are completed,
+     * otherwise the dependent scripts poll the log files of the upstream jobs
+     */
+    boolean isEventStatusCheckSupported();
+
+    /**
+     * Submits the script and waits for its completion.
+     * @param script a script path
+     * @return the exit status of the script
+     * @throws IOException if the script cannot be submitted
+     * @throws InterruptedException if the waiting for the script is interrupted
+     */
+    @Override
+    default int run(final String script) throws IOException, InterruptedException {
+        return new ProcessBuilder(getSubmitCommand(script, true).split(" "))
+                .inheritIO()
+                .start()
+                .waitFor();
+    }
+
+    /**
+     * @param configuration is the type of {@link Configuration} which contains the local mode and the scheduler
+     * @return the local scheduler in the local mode, otherwise the scheduler of the queue parameters, SGE by default
+     */
+    static JobScheduler of(final Configuration configuration) {
+        if (configuration.isLocalMode()) {
+            return new LocalJobScheduler();
+        }
+        return configuration.getGlobalConfig().getQueueParameters().getScheduler() == SchedulerType.SLURM
+                ? new SlurmJobScheduler()
+                : new SgeJobScheduler();
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import com.epam.fonda.utils.PipelineUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * The <tt>LocalDagScheduler</tt> class runs the scripts of the master mode from the local machine. A script is started
+ * as soon as all its upstream scripts are successfully completed and the machine has enough free threads and memory
+ * for it, the scripts whose upstream scripts have failed are not started. The scripts are run by
+ * a {@link JobScheduler}, on the local machine by default.
+ */
+@Slf4j
+public class LocalDagScheduler {
+    /**
+     * The exit status of the scripts that were not started since their upstream scripts have failed
+     */
+    public static final int NOT_STARTED = -1;
+
+    private static final Pattern MEMORY_PATTERN = Pattern.compile("(\\d+)\\s*([kmgt]?)b?");
+    private static final String MEMORY_UNITS = "kmgt";
+    private static final int KILO = 1024;
+
+    private final int availableThreads;
+    private final long availableMemory;
+    private final ScriptRunner runner;
+
+    /**
+     * Creates a scheduler limited by the processors and the physical memory of the local machine.
+     */
+    public LocalDagScheduler() {
+        this(new LocalJobScheduler());
+    }
+
+    /**
+     * Creates a scheduler, that submits the scripts to the job scheduler as soon as their upstream scripts are
+     * completed. The scripts run on the local machine are limited by its processors and physical memory,
+     * the cluster schedulers reserve the resources requested by the scripts themselves.
+     * @param jobScheduler runs a single script and returns its exit status
+     */
+    public LocalDagScheduler(final JobScheduler jobScheduler) {
+        this(jobScheduler.isLocal() ? Runtime.getRuntime().availableProcessors() : Integer.MAX_VALUE,
+                jobScheduler.isLocal() ? getTotalMemory() : Long.MAX_VALUE, jobScheduler);
+    }
+
+    /**
+     * @param availableThreads the number of threads the running scripts may use at the same time
+     * @param availableMemory  the memory in bytes the running scripts may use at the same time
+     * @param runner           runs a single script and returns its exit status
+     */
+    public LocalDagScheduler(final int availableThreads, final long availableMemory, final ScriptRunner runner) {
+        this.availableThreads = Math.max(1, availableThreads);
+        this.availableMemory = availableMemory;
+        this.runner = runner;
+    }
+
+    /**
+     * Runs the scripts, the ready scripts are started in the order of the collection. A ready script that does not fit
+     * the free threads or memory does not hold back the next ready scripts, that fit them.
+     * @param nodes all the scripts to run including their upstream scripts
+     * @return the exit status of each script by its name, {@link #NOT_STARTED} for the scripts that were not started
+     */
+    public Map<String, Integer> run(final Collection<ScriptNode> nodes) {
+        final Map<ScriptNode, Integer> statuses = new LinkedHashMap<>();
+        final List<ScriptNode> pending = new ArrayList<>(nodes);
+        final BlockingQueue<ScriptNode> finished = new LinkedBlockingQueue<>();
+        final Map<ScriptNode, Integer> results = new ConcurrentHashMap<>();
+        final ExecutorService pool = Executors.newCachedThreadPool();
+        int usedThreads = 0;
+        long usedMemory = 0;
+        int running = 0;
+        try {
+            while (!pending.isEmpty() || running > 0) {
+                skipFailedBranches(pending, statuses);
+                final Iterator<ScriptNode> iterator = pending.iterator();
+                while (iterator.hasNext()) {
+                    final ScriptNode node = iterator.next();
+                    if (!isReady(node, statuses)) {
+                        continue;
+                    }
+                    final int threads = requiredThreads(node);
+                    final long memory = requiredMemory(node);
+                    if (running > 0 && (usedThreads + threads > availableThreads
+                            || usedMemory + memory > availableMemory)) {
+                        continue;
+                    }
+                    iterator.remove();
+                    usedThreads += threads;
+                    usedMemory += memory;
+                    running++;
+                    log.info(format("Start script execution %s", node.getScript()));
+                    pool.execute(() -> {
+                        results.put(node, runScript(node));
+                        finished.add(node);
+                    });
+                }
+                if (running == 0) {
+                    pending.forEach(node -> statuses.put(node, NOT_STARTED));
+                    pending.clear();
+                    break;
+                }
+                final ScriptNode node = finished.take();
+                running--;
+                usedThreads -= requiredThreads(node);
+                usedMemory -= requiredMemory(node);
+                final int status = results.get(node);
+                statuses.put(node, status);
+                logStatus(node, status);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.forEach(node -> statuses.put(node, NOT_STARTED));
+        } finally {
+            pool.shutdownNow();
+        }
+        final Map<String, Integer> statusesByName = new LinkedHashMap<>();
+        statuses.forEach((node, status) -> statusesByName.put(node.getName(), status));
+        statusesByName.forEach((name, status) -> log.info(format("Exit status of %s: %d", name, status)));
+        return statusesByName;
+    }
+
+    /**
+     * @param statuses the exit status of each script
+     * @return the maximal exit status, {@link PipelineUtils#ERROR_STATUS} if a script was not started
+     */
+    public static int getExitStatus(final Map<String, Integer> statuses) {
+        return statuses.values().stream()
+                .mapToInt(status -> status == NOT_STARTED ? PipelineUtils.ERROR_STATUS : status)
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * Parses the memory amount in the <tt>MAXMEM</tt> format, such as <tt>8g</tt> or <tt>512m</tt>.
+     * @param memory the memory amount, the value without a unit is in bytes
+     * @return the memory in bytes, 0 if the value is blank
+     */
+    public static long parseMemory(final String memory) {
+        if (StringUtils.isBlank(memory)) {
+            return 0;
+        }
+        final Matcher matcher = MEMORY_PATTERN.matcher(memory.trim().toLowerCase(Locale.ENGLISH));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(format("Error Step: the memory amount %s cannot be parsed", memory));
+        }
+        final String unit = matcher.group(2);
+        final int exponent = unit.isEmpty() ? 0 : MEMORY_UNITS.indexOf(unit) + 1;
+        long bytes = Long.parseLong(matcher.group(1));
+        for (int i = 0; i < exponent; i++) {
+            bytes *= KILO;
+        }
+        return bytes;
+    }
+
+    private void skipFailedBranches(final List<ScriptNode> pending, final Map<ScriptNode, Integer> statuses) {
+        boolean skipped = true;
+        while (skipped) {
+            skipped = false;
+            final Iterator<ScriptNode> iterator = pending.iterator();
+            while (iterator.hasNext()) {
+                final ScriptNode node = iterator.next();
+                if (node.getDependencies().stream().anyMatch(dep -> statuses.getOrDefault(dep, 0) != 0)) {
+                    iterator.remove();
+                    statuses.put(node, NOT_STARTED);
+                    log.error(format("Error step: %s script is not started since its upstream scripts have failed.",
+                            node.getScript()));
+                    skipped = true;
+                }
+            }
+        }
+    }
+
+    private boolean isReady(final ScriptNode node, final Map<ScriptNode, Integer> statuses) {
+        return node.getDependencies().stream().allMatch(statuses::containsKey);
+    }
+
+    private int requiredThreads(final ScriptNode node) {
+        return Math.min(Math.max(1, node.getThreads()), availableThreads);
+    }
+
+    private long requiredMemory(final ScriptNode node) {
+        return Math.min(Math.max(0, node.getMemory()), availableMemory);
+    }
+
+    private int runScript(final ScriptNode node) {
+        try {
+            return runner.run(node.getScript());
+        } catch (IOException e) {
+            log.error(format("In executing the script %s: %s", node.getScript(), e.getMessage()));
+            return PipelineUtils.ERROR_STATUS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PipelineUtils.ERROR_STATUS;
+        }
+    }
+
+    private void logStatus(final ScriptNode node, final int status) {
+        if (status == 0) {
+            log.info(format("Successful step: %s script execution is completed.", node.getScript()));
+        } else {
+            log.error(format("Error step: %s script execution is completed with %d status.", node.getScript(),
+                    status));
+        }
+    }
+
+    private static long getTotalMemory() {
+        final OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) bean).getTotalPhysicalMemorySize();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Runs a single script.
+     */
+    public interface ScriptRunner {
+        /**
+         * @param script a script path
+         * @return the exit status of the script
+         * @throws IOException if the script cannot be started
+         * @throws InterruptedException if the waiting for the script is interrupted
+         */
+        int run(String script) throws IOException, InterruptedException;
+    }
+}
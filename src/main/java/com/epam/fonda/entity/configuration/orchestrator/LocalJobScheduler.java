@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import static java.lang.String.format;
+
+/**
+ * The <tt>LocalJobScheduler</tt> class runs the scripts by <tt>sh</tt> on the local machine,
+ * the scripts redirect their output to the log files themselves.
+ */
+public class LocalJobScheduler implements JobScheduler {
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public String getSubmitCommand(final String script, final boolean sync) {
+        return format("sh %s", script);
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public boolean isEventStatusCheckSupported() {
+        return true;
+    }
+}
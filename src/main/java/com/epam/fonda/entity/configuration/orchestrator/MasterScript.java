@@ -15,24 +15,32 @@
  */
 package com.epam.fonda.entity.configuration.orchestrator;
 
+import com.epam.fonda.Executor;
 import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.utils.PipelineUtils;
 import com.epam.fonda.utils.TemplateEngineUtils;
+import com.epam.fonda.workflow.Checkpoints;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Setter;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
@@ -41,7 +49,9 @@ import java.util.stream.Stream;
 
 import static com.epam.fonda.entity.configuration.orchestrator.ScriptType.ALIGNMENT;
 import static com.epam.fonda.entity.configuration.orchestrator.ScriptType.POST_ALIGNMENT;
+import static com.epam.fonda.entity.configuration.orchestrator.ScriptType.POST_PROCESS;
 import static com.epam.fonda.entity.configuration.orchestrator.ScriptType.SECONDARY;
+import static com.epam.fonda.entity.configuration.orchestrator.ScriptType.TEMP;
 import static com.epam.fonda.utils.PipelineUtils.cleanUpTmpDir;
 import static com.epam.fonda.utils.PipelineUtils.writeToFile;
 import static java.lang.String.format;
@@ -51,15 +61,17 @@ import static java.lang.String.format;
  */
 @SuppressWarnings("PMD.TooManyStaticImports")
 public final class MasterScript implements ScriptManager {
-    public static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    public static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
     private static final String MASTER_TEMPLATE = "master_template";
     private static final String DELIMITER = " && \\";
     private static final String AMPERSAND = " &";
+    private static final String CLEANUP_SCRIPT = "master_cleanup";
 
     private List<SampleScripts> alignmentScripts;
     private Set<String> postProcessScripts;
     private Set<String> cleanupTempFiles;
     private Map<String, Map<ScriptType, List<String>>> scriptsBySample;
+    private Map<String, Set<String>> dependenciesByScript;
 
     private MasterScript() {
         resetScript();
@@ -69,11 +81,85 @@ public final class MasterScript implements ScriptManager {
         return MasterFileHolder.INSTANCE;
     }
 
+    /**
+     * In the DAG mode the collected scripts are run by the {@link LocalDagScheduler} instead of the master script,
+     * the master script is still generated to be able to rerun the workflow manually. The scheduler submits
+     * the scripts to the {@link JobScheduler} of the configuration.
+     * @param configuration is the type of {@link Configuration} which contains
+     *                      its fields: workflow, local, numThreads, pe, queue.
+     */
     @Override
-    public String buildScript(final Configuration configuration) {
+    public void launchScript(final Configuration configuration) {
+        if (!configuration.isDagMode()) {
+            ScriptManager.super.launchScript(configuration);
+            return;
+        }
+        final List<ScriptNode> graph = buildGraph(configuration);
+        buildScript(configuration);
+        if (configuration.isTestMode()) {
+            return;
+        }
+        final LocalDagScheduler scheduler = new LocalDagScheduler(JobScheduler.of(configuration));
+        Executor.submit("local DAG scheduler", () -> LocalDagScheduler.getExitStatus(scheduler.run(graph)));
+    }
+
+    /**
+     * Builds the graph of the collected scripts. The alignment scripts of a sample are independent, the post
+     * alignment scripts run one by one after them, the secondary scripts run after the last of them and the post
+     * process scripts run after the scripts of all samples. The temporary directories are removed at the very end.
+     * The graph should be built before {@link #buildScript(Configuration)}, that modifies the collected scripts.
+     * @param configuration is the type of {@link Configuration}, the resources required by each script
+     *                      are taken from the queue parameters of its task
+     * @return the scripts in the order they should be preferably started
+     */
+    public synchronized List<ScriptNode> buildGraph(final Configuration configuration) {
+        final Map<String, ScriptNode> nodes = new LinkedHashMap<>();
+        scriptsBySample.values().forEach(typeMap -> {
+            List<ScriptNode> upstream = createNodes(nodes, typeMap.get(ALIGNMENT), ALIGNMENT, configuration);
+            for (ScriptNode node : createNodes(nodes, typeMap.get(POST_ALIGNMENT), POST_ALIGNMENT,
+                    configuration)) {
+                node.dependsOn(upstream);
+                upstream = Collections.singletonList(node);
+            }
+            for (ScriptNode node : createNodes(nodes, typeMap.get(SECONDARY), SECONDARY, configuration)) {
+                node.dependsOn(upstream);
+            }
+        });
+        final Map<String, ScriptNode> nodesByName = new HashMap<>();
+        nodes.values().forEach(node -> nodesByName.put(node.getName(), node));
+        dependenciesByScript.forEach((script, jobs) -> {
+            if (nodes.containsKey(script)) {
+                nodes.get(script).dependsOn(jobs.stream()
+                        .map(nodesByName::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+            }
+        });
+        final List<ScriptNode> sampleNodes = new ArrayList<>(nodes.values());
+        createNodes(nodes, new ArrayList<>(postProcessScripts), POST_PROCESS, configuration)
+                .forEach(node -> node.dependsOn(sampleNodes));
+        if (!cleanupTempFiles.isEmpty()) {
+            final ScriptNode cleanup = new ScriptNode(writeCleanupScript(configuration), TEMP, 1, 0);
+            cleanup.dependsOn(nodes.values());
+            nodes.put(cleanup.getScript(), cleanup);
+        }
+        return new ArrayList<>(nodes.values());
+    }
+
+    /**
+     * In the array mode on SGE the scripts of the same type and task of all samples are submitted as a single array
+     * job, see {@link #buildArrayStages(Configuration)}.
+     * @param configuration is the type of {@link Configuration}
+     * @return path to the generated script
+     */
+    @Override
+    public synchronized String buildScript(final Configuration configuration) {
         Map<String, String> variablesMap = initializeVariablesMap(configuration);
         Context context = new Context();
         context.setVariable("variablesMap", variablesMap);
+        if (configuration.isArrayMode() && JobScheduler.of(configuration) instanceof SgeJobScheduler) {
+            context.setVariable("arrayStages", buildArrayStages(configuration));
+        }
         scriptsBySample.forEach((key, typeMap) -> {
             final List<String> sampleScripts = new LinkedList<>();
             if (typeMap.containsKey(ALIGNMENT) && typeMap.get(ALIGNMENT).size() > 1) {
@@ -113,16 +199,18 @@ public final class MasterScript implements ScriptManager {
     }
 
     @Override
-    public void resetScript() {
+    public synchronized void resetScript() {
         this.alignmentScripts = new LinkedList<>();
         this.postProcessScripts = new LinkedHashSet<>();
         this.cleanupTempFiles = new TreeSet<>();
         this.scriptsBySample = new TreeMap<>();
+        this.dependenciesByScript = new HashMap<>();
     }
 
     @Override
-    public void addScript(final String sampleName, final ScriptType type, final String script) {
-        if (StringUtils.isBlank(script)) {
+    public synchronized void addScript(final String sampleName, final ScriptType type, final String script) {
+        if (StringUtils.isBlank(script)
+                || (type != TEMP && Checkpoints.isSkipped(FilenameUtils.getBaseName(script)))) {
             return;
         }
         if (!scriptsBySample.containsKey(sampleName)) {
@@ -149,6 +237,127 @@ public final class MasterScript implements ScriptManager {
         }
     }
 
+    @Override
+    public synchronized void addDependencies(final String script, final Collection<String> upstreamJobs) {
+        if (StringUtils.isBlank(script) || CollectionUtils.isEmpty(upstreamJobs)) {
+            return;
+        }
+        dependenciesByScript.computeIfAbsent(script, s -> new LinkedHashSet<>()).addAll(upstreamJobs);
+    }
+
+    /**
+     * Groups the scripts of each stage by their tasks. The alignment array jobs are launched at the same time, the post
+     * alignment array jobs are launched one by one after them and the secondary array jobs are launched at the same
+     * time after the last of them. A script that depends on another script of the same stage, such as the script
+     * of a tumor sample on the script of its control sample, is moved to a later array job of its task.
+     * @param configuration is the type of {@link Configuration}
+     * @return the array jobs of each stage, the stages are launched one after another
+     */
+    private List<List<String>> buildArrayStages(final Configuration configuration) {
+        final String workflow = configuration.getGlobalConfig().getPipelineInfo().getWorkflow();
+        final Map<String, Integer> arrayJobsByTask = new HashMap<>();
+        final List<List<String>> stages = new ArrayList<>();
+        stages.add(printArrayJobs(groupScripts(ALIGNMENT, workflow), workflow, arrayJobsByTask, configuration));
+        groupScripts(POST_ALIGNMENT, workflow).forEach(group -> stages.add(printArrayJobs(
+                Collections.singletonList(group), workflow, arrayJobsByTask, configuration)));
+        stages.add(printArrayJobs(groupScripts(SECONDARY, workflow), workflow, arrayJobsByTask, configuration));
+        return stages.stream()
+                .filter(CollectionUtils::isNotEmpty)
+                .collect(Collectors.toList());
+    }
+
+    private List<List<String>> groupScripts(final ScriptType type, final String workflow) {
+        final List<String> scripts = scriptsBySample.values().stream()
+                .flatMap(typeMap -> typeMap.getOrDefault(type, Collections.emptyList()).stream())
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.toList());
+        final Map<String, String> scriptsByName = new HashMap<>();
+        scripts.forEach(script -> scriptsByName.put(FilenameUtils.getBaseName(script), script));
+        final Map<String, Integer> levels = new HashMap<>();
+        final Map<Integer, Map<String, List<String>>> groups = new TreeMap<>();
+        scripts.forEach(script -> groups.computeIfAbsent(getLevel(script, scriptsByName, levels),
+                level -> new LinkedHashMap<>())
+                .computeIfAbsent(getTask(workflow, script), task -> new ArrayList<>())
+                .add(script));
+        return groups.values().stream()
+                .flatMap(groupsByTask -> groupsByTask.values().stream())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return 0 if the script does not depend on the scripts of the same stage, otherwise the number of the scripts
+     * of the same stage that should be completed one by one before it
+     */
+    private int getLevel(final String script, final Map<String, String> scriptsByName,
+                         final Map<String, Integer> levels) {
+        if (levels.containsKey(script)) {
+            return levels.get(script);
+        }
+        levels.put(script, 0);
+        final int level = dependenciesByScript.getOrDefault(script, Collections.emptySet()).stream()
+                .map(scriptsByName::get)
+                .filter(Objects::nonNull)
+                .filter(upstream -> !upstream.equals(script))
+                .mapToInt(upstream -> getLevel(upstream, scriptsByName, levels) + 1)
+                .max()
+                .orElse(0);
+        levels.put(script, level);
+        return level;
+    }
+
+    private List<String> printArrayJobs(final List<List<String>> groups, final String workflow,
+                                        final Map<String, Integer> arrayJobsByTask,
+                                        final Configuration configuration) {
+        final List<String> arrayJobs = new ArrayList<>();
+        for (List<String> scripts : groups) {
+            final String task = getTask(workflow, scripts.get(0));
+            final int number = arrayJobsByTask.merge(task, 1, Integer::sum);
+            try {
+                arrayJobs.add(PipelineUtils.printArrayJob(configuration, task,
+                        number > 1 ? String.valueOf(number) : null, scripts));
+            } catch (IOException e) {
+                throw new IllegalArgumentException(format("Cannot create array job of %s task", task), e);
+            }
+        }
+        return arrayJobs;
+    }
+
+    private List<ScriptNode> createNodes(final Map<String, ScriptNode> nodes, final List<String> scripts,
+                                         final ScriptType type, final Configuration configuration) {
+        if (CollectionUtils.isEmpty(scripts)) {
+            return Collections.emptyList();
+        }
+        final GlobalConfig.QueueParameters queueParameters = configuration.getGlobalConfig().getQueueParameters();
+        final String workflow = configuration.getGlobalConfig().getPipelineInfo().getWorkflow();
+        return scripts.stream()
+                .filter(StringUtils::isNotBlank)
+                .map(script -> nodes.computeIfAbsent(script, s -> {
+                    final String task = getTask(workflow, s);
+                    return new ScriptNode(s, type, queueParameters.getNumThreads(task),
+                            LocalDagScheduler.parseMemory(queueParameters.getMaxMem(task)));
+                }))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The scripts are named as <tt>workflow_task_for_sample_analysis</tt>.
+     */
+    private String getTask(final String workflow, final String script) {
+        final String name = StringUtils.removeStart(FilenameUtils.getBaseName(script), workflow + "_");
+        return StringUtils.substringBefore(name, "_for_");
+    }
+
+    private String writeCleanupScript(final Configuration configuration) {
+        final String script = format("%s/%s.sh", configuration.getCommonOutdir().getShOutdir(), CLEANUP_SCRIPT);
+        try {
+            writeToFile(script, "#!/bin/bash -x\n\n" + cleanUpTmpDir(cleanupTempFiles),
+                    configuration.getGlobalConfig().getPipelineInfo().getLineEnding());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(format("Cannot create %s file", script), e);
+        }
+        return script;
+    }
+
     private void putScript(final String sampleName, final ScriptType type, final String script) {
         final Map<ScriptType, List<String>> scriptsByProcess = scriptsBySample.get(sampleName);
         if (!scriptsByProcess.containsKey(type)) {
@@ -187,6 +396,7 @@ public final class MasterScript implements ScriptManager {
         Map<String, String> variablesMap = new HashMap<>();
         variablesMap.put("shellToSubmit", format("%s/%s.sh", configuration.getCommonOutdir().getShOutdir(), fileName));
         variablesMap.put("local", String.valueOf(configuration.isLocalMode()));
+        variablesMap.put("scheduler", JobScheduler.of(configuration).getName());
         variablesMap.put("fileName", fileName);
         variablesMap.put("numThreads", String.valueOf(configuration.getGlobalConfig().getQueueParameters()
                 .getNumThreads()));
@@ -18,6 +18,8 @@ package com.epam.fonda.entity.configuration.orchestrator;
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.utils.PipelineUtils;
 
+import java.util.Collection;
+
 /**
  * The <tt>ScriptManager</tt> interface provides methods to work with master script.
  */
@@ -51,6 +53,14 @@ public interface ScriptManager {
      */
     void addScript(final String sampleName, final ScriptType type, final String script);
 
+    /**
+     * This method adds the jobs of the other samples, that should be completed before the script is launched.
+     * @param script a script path
+     * @param upstreamJobs the names of the upstream jobs
+     */
+    default void addDependencies(final String script, final Collection<String> upstreamJobs) {
+    }
+
     /**
      * This method restores all defaults within the class.
      */
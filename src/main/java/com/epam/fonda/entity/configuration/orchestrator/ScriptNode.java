@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import lombok.Getter;
+import org.apache.commons.io.FilenameUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The <tt>ScriptNode</tt> class represents a script of the master mode together with the scripts it depends on
+ * and the resources it requires.
+ */
+@Getter
+public class ScriptNode {
+    private final String script;
+    private final ScriptType type;
+    private final int threads;
+    private final long memory;
+    private final Set<ScriptNode> dependencies = new LinkedHashSet<>();
+
+    /**
+     * @param script  a script path
+     * @param type    is the type of {@link ScriptType}
+     * @param threads the number of threads the script requires
+     * @param memory  the memory in bytes the script requires, 0 if it is not specified
+     */
+    public ScriptNode(final String script, final ScriptType type, final int threads, final long memory) {
+        this.script = script;
+        this.type = type;
+        this.threads = threads;
+        this.memory = memory;
+    }
+
+    /**
+     * @return the job name of the script, that is the script file name without the extension
+     */
+    public String getName() {
+        return FilenameUtils.getBaseName(script);
+    }
+
+    public Set<ScriptNode> getDependencies() {
+        return Collections.unmodifiableSet(dependencies);
+    }
+
+    /**
+     * Adds the scripts that should be completed before this script is started.
+     * @param nodes the upstream scripts
+     */
+    public void dependsOn(final Collection<ScriptNode> nodes) {
+        nodes.stream()
+                .filter(node -> node != this)
+                .forEach(dependencies::add);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
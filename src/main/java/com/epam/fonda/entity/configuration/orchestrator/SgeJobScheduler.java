@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import java.io.IOException;
+
+import static java.lang.String.format;
+
+/**
+ * The <tt>SgeJobScheduler</tt> class submits the scripts to Sun Grid Engine. The scripts request their resources
+ * by the <tt>#$</tt> options and carry the <tt>-sync y</tt> option themselves in the sync mode.
+ */
+public class SgeJobScheduler implements JobScheduler {
+
+    @Override
+    public String getName() {
+        return "sge";
+    }
+
+    @Override
+    public String getSubmitCommand(final String script, final boolean sync) {
+        return format("qsub %s", script);
+    }
+
+    @Override
+    public boolean isLocal() {
+        return false;
+    }
+
+    @Override
+    public boolean isEventStatusCheckSupported() {
+        return true;
+    }
+
+    /**
+     * Submits the script with the <tt>-sync y</tt> option, so that <tt>qsub</tt> exits with the exit status
+     * of the script.
+     */
+    @Override
+    public int run(final String script) throws IOException, InterruptedException {
+        return new ProcessBuilder("qsub", "-sync", "y", script)
+                .inheritIO()
+                .start()
+                .waitFor();
+    }
+}
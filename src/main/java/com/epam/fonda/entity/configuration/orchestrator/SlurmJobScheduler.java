@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import static java.lang.String.format;
+
+/**
+ * The <tt>SlurmJobScheduler</tt> class submits the scripts to SLURM. The scripts request their resources
+ * by the <tt>#SBATCH</tt> options, <tt>sbatch --wait</tt> exits with the exit status of the script. SLURM holds
+ * the dependent jobs by the job ids only, so the dependent scripts poll the log files of the upstream jobs.
+ */
+public class SlurmJobScheduler implements JobScheduler {
+
+    @Override
+    public String getName() {
+        return "slurm";
+    }
+
+    @Override
+    public String getSubmitCommand(final String script, final boolean sync) {
+        return sync ? format("sbatch --wait %s", script) : format("sbatch %s", script);
+    }
+
+    @Override
+    public boolean isLocal() {
+        return false;
+    }
+
+    @Override
+    public boolean isEventStatusCheckSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.samples;
+
+import com.epam.fonda.samples.fastq.FastqFileSample;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The <tt>FastqSampleAssembler</tt> class merges the lines of a fastq list into samples in two passes over the list,
+ * since the lanes of a sample do not have to be adjacent. The first pass keeps only the index of the last line
+ * of each sample and the sample type and the matched control of each sample name, the second pass merges the lanes
+ * and hands each sample over as soon as its last line is read. So only the samples, that are being assembled,
+ * are kept by the assembler, and the samples are handed over in the order their last lines appear in the list.
+ */
+@RequiredArgsConstructor
+class FastqSampleAssembler {
+    private static final String VDJ = "VDJ";
+
+    private final boolean isScWorkflow;
+    private final SampleConsumer<FastqFileSample> consumer;
+
+    private final Map<String, SampleParameters> sampleParameters = new HashMap<>();
+    private final Map<GroupKey, Integer> lastLines = new HashMap<>();
+    private final Map<GroupKey, List<FastqFileSample>> groups = new HashMap<>();
+    private boolean indexed;
+    private int line;
+
+    /**
+     * The first pass over the fastq list.
+     * @param lane a sample built from a single line of the fastq list
+     */
+    void index(final FastqFileSample lane) {
+        final SampleParameters parameters = sampleParameters.putIfAbsent(lane.getName(),
+                new SampleParameters(lane.getSampleType(), lane.getMatchControl()));
+        if (parameters != null) {
+            FastqFileSample.builder()
+                    .sampleType(parameters.getType())
+                    .matchControl(parameters.getMatchControl())
+                    .build()
+                    .checkParameters(lane, isScWorkflow);
+        }
+        getGroups(lane).forEach(key -> lastLines.put(key, line));
+        line++;
+    }
+
+    /**
+     * The second pass over the fastq list.
+     * @param lane a sample built from a single line of the fastq list
+     * @throws IOException if an I/O error has occurred while processing the completed sample
+     */
+    void add(final FastqFileSample lane) throws IOException {
+        if (!indexed) {
+            indexed = true;
+            line = 0;
+        }
+        if (isScWorkflow) {
+            lane.merge(lane, true);
+        }
+        for (GroupKey key : getGroups(lane)) {
+            final List<FastqFileSample> group = groups.computeIfAbsent(key, k -> new ArrayList<>());
+            if (key.isLibrary() || group.isEmpty()) {
+                group.add(lane);
+            } else {
+                group.get(0).merge(lane, isScWorkflow);
+            }
+            if (lastLines.get(key) == line) {
+                lastLines.remove(key);
+                consumer.accept(build(key, groups.remove(key)));
+            }
+        }
+        line++;
+    }
+
+    private List<GroupKey> getGroups(final FastqFileSample lane) {
+        final List<GroupKey> keys = new ArrayList<>();
+        if (!isScWorkflow) {
+            keys.add(new GroupKey(false, lane.getName()));
+            return keys;
+        }
+        if (!isVdj(lane.getSampleType())) {
+            keys.add(new GroupKey(true, lane.getControlName()));
+        }
+        if (isVdj(sampleParameters.get(lane.getName()).getType())) {
+            keys.add(new GroupKey(false, lane.getName()));
+        }
+        return keys;
+    }
+
+    private FastqFileSample build(final GroupKey key, final List<FastqFileSample> lanes) {
+        return key.isLibrary() ? FastqFileSample.mergeLibrarySamples(lanes) : lanes.get(0);
+    }
+
+    private static boolean isVdj(final String sampleType) {
+        return VDJ.equalsIgnoreCase(sampleType);
+    }
+
+    @Value
+    private static class SampleParameters {
+        String type;
+        String matchControl;
+    }
+
+    @Value
+    private static class GroupKey {
+        boolean library;
+        String name;
+    }
+}
@@ -28,21 +28,18 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
 
 /**
  * SampleBuilder is the one of the base configuration class
@@ -68,10 +65,29 @@ public class SampleBuilder {
      * @throws IOException throws {@code IOException} if configuration has none fastq list of files
      */
     public List<FastqFileSample> buildFastqSamples(final String rootOutdir) throws IOException {
+        final List<FastqFileSample> samples = new ArrayList<>();
+        buildFastqSamples(rootOutdir, samples::add);
+        return samples;
+    }
+
+    /**
+     * Build Fastq samples according to configuration reading the fastq list line by line. The whole list is checked
+     * first, then each sample is passed to the consumer as soon as its last lane is read and merged, so the samples
+     * are provided in the order their last lanes appear in the list. The samples are not kept by the builder,
+     * the consumer collects them if the whole list is needed.
+     *
+     * @param rootOutdir the root directory to output
+     * @param consumer   receives the samples one by one
+     * @throws IOException throws {@code IOException} if configuration has none fastq list of files
+     */
+    public void buildFastqSamples(final String rootOutdir, final SampleConsumer<FastqFileSample> consumer)
+            throws IOException {
         checkConfig(SampleType.FASTQ);
         final String fastqList = studyConfig.getFastqList();
         final Path filePath = checkSampleFile(fastqList);
-        return isScWorkflow() ? buildScSamples(filePath, rootOutdir) : getFastqFileSamples(rootOutdir, filePath);
+        final FastqSampleAssembler assembler = new FastqSampleAssembler(isScWorkflow(), consumer);
+        readLines(filePath, line -> assembler.index(parseFastqLine(line, rootOutdir)));
+        readLines(filePath, line -> assembler.add(parseFastqLine(line, rootOutdir)));
     }
 
     /**
@@ -81,14 +97,44 @@ public class SampleBuilder {
      * @throws IOException throws {@code IOException} if configuration has none bam list of files
      */
     public List<BamFileSample> buildBamSamples(final String rootOutdir) throws IOException {
+        final List<BamFileSample> samples = new ArrayList<>();
+        buildBamSamples(rootOutdir, samples::add);
+        return samples;
+    }
+
+    /**
+     * Build Bam samples according to configuration reading the bam list line by line in a single pass, each sample
+     * is passed to the consumer as soon as its line is read.
+     *
+     * @param rootOutdir the root directory to output
+     * @param consumer   receives the samples one by one
+     * @throws IOException throws {@code IOException} if configuration has none bam list of files
+     */
+    public void buildBamSamples(final String rootOutdir, final SampleConsumer<BamFileSample> consumer)
+            throws IOException {
         checkConfig(SampleType.BAM);
         final String bamList = studyConfig.getBamList();
         final Path filePath = checkSampleFile(bamList);
-        return Files.readAllLines(filePath).stream()
-                .skip(1)
-                .filter(StringUtils::isNotBlank)
-                .map(line -> parseBamLine(line, rootOutdir))
-                .collect(toList());
+        readLines(filePath, line -> consumer.accept(parseBamLine(line, rootOutdir)));
+    }
+
+    /**
+     * Reads the non blank lines of a sample list except the header one by one
+     *
+     * @param filePath path to the list of files
+     * @param consumer receives the lines
+     * @throws IOException if an I/O error has occurred while reading the list or processing a line
+     */
+    private void readLines(final Path filePath, final LineConsumer consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                line = reader.readLine();
+                if (StringUtils.isNotBlank(line)) {
+                    consumer.accept(line);
+                }
+            }
+        }
     }
 
     /**
@@ -142,42 +188,6 @@ public class SampleBuilder {
                 .build();
     }
 
-    private List<FastqFileSample> getFastqFileSamples(final String rootOutdir,
-                                                           final Path filePath) throws IOException {
-        return new ArrayList<>(Files.readAllLines(filePath).stream()
-                .skip(1)
-                .filter(StringUtils::isNotBlank)
-                .map(line -> parseFastqLine(line, rootOutdir))
-                .collect(Collectors.toMap(FastqFileSample::getName, s -> s,
-                    (fastqFileSample, file) -> fastqFileSample.merge(file, isScWorkflow())))
-                .values());
-    }
-
-    private List<FastqFileSample> buildScSamples(final Path filePath, final String rootOutdir) throws IOException {
-        final List<FastqFileSample> samples = Files.readAllLines(filePath).stream()
-                .skip(1)
-                .filter(StringUtils::isNotBlank)
-                .map(line -> parseFastqLine(line, rootOutdir))
-                .collect(toList());
-        final List<FastqFileSample> librarySamples = samples.stream()
-                .map(s -> s.merge(s, isScWorkflow()))
-                .filter(s -> !"VDJ".equalsIgnoreCase(s.getSampleType()))
-                .collect(groupingBy(FastqFileSample::getControlName))
-                .values()
-                .stream()
-                .map(FastqFileSample::mergeLibrarySamples)
-                .collect(toList());
-        final List<FastqFileSample> vdjSamples = samples
-                .stream()
-                .collect(Collectors.toMap(FastqFileSample::getName, s -> s,
-                    (fastqFileSample, file) -> fastqFileSample.merge(file, isScWorkflow())))
-                .values()
-                .stream()
-                .filter(s -> "VDJ".equalsIgnoreCase(s.getSampleType()))
-                .collect(toList());
-        return Stream.of(librarySamples, vdjSamples).flatMap(Collection::stream).collect(toList());
-    }
-
     private boolean isScWorkflow() {
         return PipelineType.SC_RNA_EXPRESSION_CELLRANGER_FASTQ.getName()
                 .equalsIgnoreCase(globalConfig.getPipelineInfo().getWorkflow());
@@ -268,6 +278,10 @@ public class SampleBuilder {
         }
     }
 
+    private interface LineConsumer {
+        void accept(String line) throws IOException;
+    }
+
     private void checkInputParameters(String sampleName, String file1) {
         if (StringUtils.isAnyBlank(sampleName, file1)) {
             log.error(format("Empty input parameters found: sample name - '%s', file parameter - '%s'",
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.samples;
+
+import java.io.IOException;
+
+/**
+ * The <tt>SampleConsumer</tt> interface receives the samples one by one as soon as each of them is built.
+ * @param <T> is the type of {@link Sample}
+ */
+public interface SampleConsumer<T extends Sample> {
+
+    /**
+     * @param sample the built sample
+     * @throws IOException if an I/O error has occurred while processing the sample
+     */
+    void accept(T sample) throws IOException;
+}
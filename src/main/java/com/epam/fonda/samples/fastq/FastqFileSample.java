@@ -31,7 +31,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * The <tt>FastqFileSample</tt> class represents fastqs set from the user specified fastqs file and folders,
@@ -68,24 +67,30 @@ public class FastqFileSample implements Sample, DirectoryManager {
      */
     public FastqFileSample merge(final FastqFileSample file, final boolean isScWorkflow) {
         checkParameters(file, isScWorkflow);
-        this.setFastq1(Stream.of(this.getFastq1(), file.getFastq1())
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList()));
+        this.setFastq1(append(this.getFastq1(), file.getFastq1()));
         if (FastqReadType.PAIRED.equals(this.type)) {
-            this.setFastq2(Stream.of(this.getFastq2(), file.getFastq2())
-                    .flatMap(Collection::stream)
-                    .collect(Collectors.toList()));
+            this.setFastq2(append(this.getFastq2(), file.getFastq2()));
         }
         return this;
     }
 
+    /**
+     * Appends the files to the list of the merged sample in place, so that merging all the lanes of a sample
+     * one by one takes linear time
+     */
+    private static List<String> append(final List<String> target, final List<String> files) {
+        final List<String> merged = target instanceof ArrayList ? target : new ArrayList<>(target);
+        merged.addAll(files);
+        return merged;
+    }
+
     /**
      * Method checks for compatibility of sample type and match control in given and received files
      *
      * @param file received file to merge
      * @param isScWorkflow is single-cell workflow
      */
-    private void checkParameters(final FastqFileSample file, final boolean isScWorkflow) {
+    public void checkParameters(final FastqFileSample file, final boolean isScWorkflow) {
         if ((!Objects.equals(this.getMatchControl(), file.getMatchControl()) ||
                 !this.getSampleType().equals(file.getSampleType()))
                 && !isScWorkflow) {
@@ -32,6 +32,7 @@ import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import static com.epam.fonda.utils.DnaUtils.isWgsWorkflow;
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @RequiredArgsConstructor
@@ -119,7 +120,7 @@ public class AbraRealign implements Tool<BamResult> {
                 .genome(validate(configuration.getGlobalConfig().getDatabaseConfig().getGenome(),
                         GlobalConfigFormat.GENOME))
                 .realignBam(bamResult.getBamOutput().getBam().replace(".bam", ".realign.bam"))
-                .numThreads(configuration.getGlobalConfig().getQueueParameters().getNumThreads())
+                .numThreads(getNumThreads(configuration))
                 .readType(validate(configuration.getGlobalConfig().getPipelineInfo().getReadType(),
                         GlobalConfigFormat.READ_TYPE))
                 .tmpOutdir(sample.getTmpOutdir())
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2020 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.tools.impl;
+
+import com.epam.fonda.entity.command.BashCommand;
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfigFormat;
+import com.epam.fonda.samples.fastq.FastqReadType;
+import com.epam.fonda.tools.Tool;
+import com.epam.fonda.tools.results.FastqOutput;
+import com.epam.fonda.tools.results.FastqResult;
+import com.epam.fonda.utils.ToolUtils;
+import com.epam.fonda.workflow.TaskContainer;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
+import static com.epam.fonda.utils.ToolUtils.validate;
+
+/**
+ * The <tt>BamToFastq</tt> class converts a bam file to the compressed fastq files in a single pipeline, the reads
+ * are grouped by name with <tt>samtools collate</tt> and written by <tt>samtools fastq</tt>, so neither the bam
+ * sorted by read name nor the uncompressed fastq files are written to disk.
+ */
+@Data
+public class BamToFastq implements Tool<FastqResult> {
+    private static final String BAM_TO_FASTQ_TOOL_TEMPLATE_NAME = "bam_to_fastq_tool_template";
+
+    @Data
+    @Builder
+    private static class ToolFields {
+        private String samtools;
+        private String bam;
+        private int numThreads;
+        private String collatePrefix;
+    }
+
+    @NonNull
+    private String sampleName;
+    @NonNull
+    private String fastqSampleOutputDir;
+    @NonNull
+    private String bam;
+
+    /**
+     * This method generates bash script {@link BashCommand} for the samtools collate and fastq pipeline.
+     *
+     * @param configuration  is the type of {@link Configuration} which contains
+     *                       its fields: samtools, numThreads, readType.
+     * @param templateEngine is the type of {@link TemplateEngine}.
+     * @return {@link FastqResult} with bash script and the compressed fastq files.
+     **/
+    @Override
+    public FastqResult generate(final Configuration configuration, final TemplateEngine templateEngine) {
+        final ToolFields toolFields = initializeToolFields(configuration);
+        final boolean paired = FastqReadType.PAIRED.getType()
+                .equalsIgnoreCase(configuration.getGlobalConfig().getPipelineInfo().getReadType());
+        final String fastq1 = paired
+                ? String.format("%s/%s.R1.fastq.gz", fastqSampleOutputDir, sampleName)
+                : String.format("%s/%s.fastq.gz", fastqSampleOutputDir, sampleName);
+        final String fastq2 = paired
+                ? String.format("%s/%s.R2.fastq.gz", fastqSampleOutputDir, sampleName)
+                : null;
+        final String unpairFastq = paired
+                ? String.format("%s/%s.unpaired.fastq.gz", fastqSampleOutputDir, sampleName)
+                : null;
+        final Context context = new Context();
+        context.setVariable("toolFields", toolFields);
+        context.setVariable("fastq1", fastq1);
+        context.setVariable("fastq2", fastq2);
+        context.setVariable("unpairFastq", unpairFastq);
+        final String cmd = templateEngine.process(BAM_TO_FASTQ_TOOL_TEMPLATE_NAME, context);
+        TaskContainer.addTasks("Convert bam to fastq");
+        return FastqResult.builder()
+                .command(BashCommand.withTool(cmd))
+                .out(FastqOutput.builder()
+                        .mergedFastq1(fastq1)
+                        .mergedFastq2(fastq2)
+                        .build())
+                .build();
+    }
+
+    private ToolFields initializeToolFields(final Configuration configuration) {
+        validate(configuration.getGlobalConfig().getPipelineInfo().getReadType(), GlobalConfigFormat.READ_TYPE);
+        return ToolFields.builder()
+                .samtools(validate(configuration.getGlobalConfig().getToolConfig().getSamTools(),
+                        GlobalConfigFormat.SAMTOOLS))
+                .bam(validate(bam, ToolUtils.BAM))
+                .numThreads(getNumThreads(configuration))
+                .collatePrefix(String.format("%s/%s.collate", fastqSampleOutputDir, sampleName))
+                .build();
+    }
+}
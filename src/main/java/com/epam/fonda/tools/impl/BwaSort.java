@@ -31,6 +31,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
+import static com.epam.fonda.utils.ToolUtils.getSortMemoryPerThread;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @Data
@@ -85,7 +87,8 @@ public class BwaSort implements Tool<BamResult> {
         bwaSortFields.samtools = validate(configuration.getGlobalConfig().getToolConfig().getSamTools(),
                 GlobalConfigFormat.SAMTOOLS);
         bwaSortFields.sbamOutDir = sample.getBamOutdir();
-        bwaSortFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        bwaSortFields.numThreads = getNumThreads(configuration);
+        bwaSortFields.sortMemory = getSortMemoryPerThread(configuration);
         bwaSortFields.index = index;
         bwaSortFields.fastq1 = fastq1;
         bwaSortFields.fastq2 = fastq2;
@@ -120,5 +123,6 @@ public class BwaSort implements Tool<BamResult> {
         private String sortedBamIndex;
         private String rg;
         private int numThreads;
+        private String sortMemory;
     }
 }
@@ -39,6 +39,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static com.epam.fonda.utils.PipelineUtils.NA;
+import static com.epam.fonda.utils.ToolUtils.getMaxMem;
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static java.lang.String.format;
 
 @Slf4j
@@ -127,12 +129,12 @@ public class Count implements Tool<BamResult> {
         countFields.bam = format("%s/%s/possorted_genome_bam.bam", samplePath, CELLRANGER_OUTPUT_FOLDER);
         countFields.matrixInfo = format("%s/%s/filtered_feature_bc_matrix", samplePath,
                 CELLRANGER_OUTPUT_FOLDER);
-        countFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        countFields.numThreads = getNumThreads(configuration);
         String countTargetPanel = configuration.getGlobalConfig().getDatabaseConfig().getCellrangerCountTargetPanel();
         countFields.targetPanel = StringUtils.isBlank(countTargetPanel) || NA.equals(countTargetPanel)
                 ? null
                 : countTargetPanel;
-        String maxMem = configuration.getGlobalConfig().getQueueParameters().getMaxMem();
+        String maxMem = getMaxMem(configuration);
         countFields.maxMemInGb = StringUtils.isBlank(maxMem)
                 ? null
                 : maxMem.replaceAll("\\D+", StringUtils.EMPTY);
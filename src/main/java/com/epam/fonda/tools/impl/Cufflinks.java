@@ -30,6 +30,7 @@ import lombok.Data;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
@@ -78,7 +79,7 @@ public class Cufflinks implements Tool<CufflinksResult> {
                 GlobalConfigFormat.ANNOTGENE);
         cufflinksFields.cufflinks = validate(configuration.getGlobalConfig().getToolConfig().getCufflinks(),
                 GlobalConfigFormat.CUFFLINKS);
-        cufflinksFields.nThreads = String.valueOf(configuration.getGlobalConfig().getQueueParameters().getNumThreads());
+        cufflinksFields.nThreads = String.valueOf(getNumThreads(configuration));
         cufflinksFields.sampleName = sampleName;
         cufflinksFields.sCufflinksOutDir = cufflinksOutdir;
         cufflinksFields.sCufflinksLibraryType = validate(configuration.getStudyConfig().getCufflinksLibraryType(),
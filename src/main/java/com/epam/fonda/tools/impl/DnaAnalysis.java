@@ -150,7 +150,7 @@ public class DnaAnalysis implements PostProcessTool {
         final String fileName = String.format("%s_%s_for_%s_analysis",
                 configuration.getGlobalConfig().getPipelineInfo().getWorkflow(), task, sampleName);
         dnaAnalysisFields.toolName = SNPEFF_ANNOTATION;
-        dnaAnalysisFields.steps = String.join("|", TaskContainer.getTasks());
+        dnaAnalysisFields.steps = String.join("|", TaskContainer.getTasksSnapshot());
         dnaAnalysisFields.logFile = String.format("%s/%s.log",
                 configuration.getCommonOutdir().getLogOutdir(), fileName);
         dnaAnalysisFields.period = defaultOrSpecifiedPeriod(configuration);
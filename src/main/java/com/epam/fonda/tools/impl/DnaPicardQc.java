@@ -28,6 +28,7 @@ import com.epam.fonda.workflow.TaskContainer;
 import lombok.Data;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
@@ -45,6 +46,8 @@ public class DnaPicardQc implements Tool<MetricsResult> {
     private static final String DNA_WGS_PICARD_QC_TOOL_TEMPLATE_NAME = "dna_wgs_picard_qc_tool_template";
     private static final String HS_METRICS = ".hs.metrics";
     private static final String BAM_EXTENSION = ".bam";
+    private static final String DEFAULT_PICARD_MEMORY = "16g";
+    private static final String ASYNC = " & qcPids=\"$qcPids $!\"";
 
     @Data
     private class ToolFields {
@@ -53,6 +56,9 @@ public class DnaPicardQc implements Tool<MetricsResult> {
         private String picard;
         private String samtools;
         private String bedtools;
+        private String picardMemory;
+        private boolean parallel;
+        private String async;
     }
 
     @Data
@@ -216,6 +222,10 @@ public class DnaPicardQc implements Tool<MetricsResult> {
                 GlobalConfigFormat.PYTHON);
         toolFields.samtools = validate(configuration.getGlobalConfig().getToolConfig().getSamTools(),
                 GlobalConfigFormat.SAMTOOLS);
+        final String picardMemory = configuration.getGlobalConfig().getToolConfig().getPicardQcMemory();
+        toolFields.picardMemory = StringUtils.isBlank(picardMemory) ? DEFAULT_PICARD_MEMORY : picardMemory;
+        toolFields.parallel = configuration.getGlobalConfig().getToolConfig().isPicardQcParallel();
+        toolFields.async = toolFields.parallel ? ASYNC : StringUtils.EMPTY;
         return toolFields;
     }
 
@@ -33,6 +33,7 @@ import org.thymeleaf.context.Context;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
@@ -149,11 +150,11 @@ public class FeatureCount implements Tool<FeatureCountResult> {
      **/
     private QueueParametersFields initializeQueueParametersFields(Configuration configuration) {
         QueueParametersFields queueParametersFields = new QueueParametersFields();
-        queueParametersFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        queueParametersFields.numThreads = getNumThreads(configuration);
         queueParametersFields.pe = validate(configuration.getGlobalConfig().getQueueParameters().getPe(),
                 GlobalConfigFormat.PE);
-        queueParametersFields.queue = validate(configuration.getGlobalConfig().getQueueParameters().getQueue(),
-                GlobalConfigFormat.QUEUE);
+        queueParametersFields.queue = validate(configuration.getGlobalConfig().getQueueParameters()
+                .getQueue(configuration.getCustTask()), GlobalConfigFormat.QUEUE);
         return queueParametersFields;
     }
 
@@ -30,6 +30,7 @@ import lombok.NonNull;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @Data
@@ -96,7 +97,7 @@ public class FusionCatcher implements Tool<FusionCatcherResult> {
                 GlobalConfigFormat.FUSION_CATCHER);
         fusionCatcherFields.fusionCatcherOutdir = String.format("%s/fusionCatcher", sample.getSampleOutputDir());
         fusionCatcherFields.tmpFusionCatcherOutdir = String.format("%s/fusionCatcher/tmp", sample.getSampleOutputDir());
-        fusionCatcherFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        fusionCatcherFields.numThreads = getNumThreads(configuration);
         fusionCatcherFields.mergedFastq1 = result.getOut().getMergedFastq1();
         fusionCatcherFields.mergedFastq2 = result.getOut().getMergedFastq2();
         fusionCatcherFields.sampleName = sample.getName();
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.tools.impl;
+
+import com.epam.fonda.entity.command.BashCommand;
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.entity.configuration.GlobalConfigFormat;
+import com.epam.fonda.tools.Tool;
+import com.epam.fonda.tools.results.VariantsVcfOutput;
+import com.epam.fonda.tools.results.VariantsVcfResult;
+import com.epam.fonda.workflow.TaskContainer;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.epam.fonda.utils.ToolUtils.validate;
+
+/**
+ * The <tt>GatherShards</tt> tool gathers the variants called on the interval shards into a single vcf file.
+ * The shards are ordered and do not overlap, so the variants of the shards are concatenated. If the shards
+ * were called by Mutect2, the Mutect2 stats and the bamouts of the shards are merged too.
+ */
+@RequiredArgsConstructor
+public class GatherShards implements Tool<VariantsVcfResult> {
+    private static final String GATHER_SHARDS_TEMPLATE = "gather_shards_template";
+
+    private final String filteredTool;
+    private final List<VariantsVcfOutput> shards;
+    private final VariantsVcfOutput output;
+
+    @Data
+    @Builder
+    private static class ToolFields {
+        private final String gatk;
+        private final String javaOptions;
+        private final List<String> vcfs;
+        private final String vcf;
+        private final List<String> bamouts;
+        private final String bamout;
+    }
+
+    /**
+     * Generates bash script {@link BashCommand} gathering the shards.
+     * @param configuration is the type of {@link Configuration} which contains gatk.
+     * @param templateEngine is the type of {@link TemplateEngine}.
+     * @return {@link VariantsVcfResult} with bash script and the gathered output.
+     */
+    @Override
+    public VariantsVcfResult generate(final Configuration configuration, final TemplateEngine templateEngine) {
+        final ToolFields toolFields = initToolFields(configuration);
+        final Context context = new Context();
+        context.setVariable("toolFields", toolFields);
+        final String cmd = templateEngine.process(GATHER_SHARDS_TEMPLATE, context);
+        TaskContainer.addTasks("Gather shards");
+        if (toolFields.getBamout() != null) {
+            TaskContainer.addTasks("Merge Mutect2 shards");
+        }
+        output.createDirectory();
+        return VariantsVcfResult.builder()
+                .abstractCommand(BashCommand.withTool(cmd))
+                .filteredTool(filteredTool)
+                .variantsVcfOutput(output)
+                .build();
+    }
+
+    private ToolFields initToolFields(final Configuration configuration) {
+        final GlobalConfig.ToolConfig toolConfig = configuration.getGlobalConfig().getToolConfig();
+        final boolean mutect2 = StringUtils.isNotBlank(output.getBamout());
+        return ToolFields.builder()
+                .gatk(mutect2 ? validate(toolConfig.getGatk(), GlobalConfigFormat.GATK) : null)
+                .javaOptions(toolConfig.getGatkJavaOptions())
+                .vcfs(shards.stream().map(VariantsVcfOutput::getVariantsVcf).collect(Collectors.toList()))
+                .vcf(output.getVariantsVcf())
+                .bamouts(shards.stream().map(VariantsVcfOutput::getBamout).collect(Collectors.toList()))
+                .bamout(mutect2 ? output.getBamout() : null)
+                .build();
+    }
+}
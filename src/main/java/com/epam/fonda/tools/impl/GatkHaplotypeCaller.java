@@ -20,10 +20,13 @@ import com.epam.fonda.entity.command.BashCommand;
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.GlobalConfigFormat;
 import com.epam.fonda.tools.Tool;
+import com.epam.fonda.tools.results.IntervalsResult;
 import com.epam.fonda.tools.results.VariantsVcfOutput;
 import com.epam.fonda.tools.results.VariantsVcfResult;
 import com.epam.fonda.utils.DnaUtils;
+import com.epam.fonda.utils.ToolUtils;
 import com.epam.fonda.workflow.TaskContainer;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NonNull;
@@ -34,16 +37,20 @@ import org.thymeleaf.context.Context;
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
+@AllArgsConstructor
 @RequiredArgsConstructor
 public class GatkHaplotypeCaller implements Tool<VariantsVcfResult> {
     private static final String AMPLICON_GATK_HAPLOTYPE_TOOL_TEMPLATE_NAME = "amplicon_gatk_haplotype_tool_template";
     private static final String GATK_HAPLOTYPE_RNA_TOOL_TEMPLATE_NAME = "gatk_haplotype_rna_tool_template";
+    private static final String DEFAULT_HEAP = "10g";
 
     @Data
     @Builder
     private static class ToolFields {
         private String java;
         private String gatk;
+        private String heap;
+        private Integer numThreads;
     }
 
     @Data
@@ -70,9 +77,13 @@ public class GatkHaplotypeCaller implements Tool<VariantsVcfResult> {
     private String outDir;
     @NonNull
     private Boolean isRnaCaptureRnaWorkflow;
+    private Integer shard;
+    private Integer shards;
 
     /**
-     * This method generates bash script for GatkHaplotypeCaller tool
+     * This method generates bash script for GatkHaplotypeCaller tool. If the shard is specified, the variants are
+     * called on the intervals of the shard only. The threads and the heap of the tool are taken from
+     * <tt>TOOL_NUMTHREADS</tt> and <tt>TOOL_MAXMEM</tt> of its task, if they are specified.
      *
      * @param configuration  is of type {@link Configuration} and contains its fields.
      * @param templateEngine is of type {@link TemplateEngine} and contains thymeleaf engine
@@ -81,21 +92,39 @@ public class GatkHaplotypeCaller implements Tool<VariantsVcfResult> {
     @Override
     public VariantsVcfResult generate(Configuration configuration, TemplateEngine templateEngine) {
         final AdditionalFields additionalFields = initializeAdditionalFields(configuration);
-        Context context = buildContext(configuration, additionalFields);
+        final DatabaseFields databaseFields = initializeDatabaseFields(configuration);
+        String splitCmd = "";
+        if (shard != null) {
+            final IntervalsResult intervalsResult = new SplitIntervals(databaseFields.bed,
+                    getOutputFile(additionalFields.gatkHapOutdir, "intervals.bed"), shard, shards)
+                    .generate(configuration, templateEngine);
+            databaseFields.setBed(intervalsResult.getIntervals());
+            additionalFields.setWgs(false);
+            splitCmd = intervalsResult.getCommand().getToolCommand();
+        }
+        Context context = buildContext(configuration, databaseFields, additionalFields);
         final String cmd = isRnaCaptureRnaWorkflow
                 ? templateEngine.process(GATK_HAPLOTYPE_RNA_TOOL_TEMPLATE_NAME, context)
                 : templateEngine.process(AMPLICON_GATK_HAPLOTYPE_TOOL_TEMPLATE_NAME, context);
         TaskContainer.addTasks("GATK haplotypecaller detection");
-        VariantsVcfOutput variantsVcfOutput = VariantsVcfOutput.builder()
-                .variantsTmpOutputDir(additionalFields.tmpGatkHapOutdir)
-                .variantsOutputDir(additionalFields.gatkHapOutdir)
-                .variantsVcf(additionalFields.variantsVcf)
-                .build();
+        VariantsVcfOutput variantsVcfOutput = getOutput();
         variantsVcfOutput.createDirectory();
         return VariantsVcfResult.builder()
                 .variantsVcfOutput(variantsVcfOutput)
                 .filteredTool("gatkHaplotypeCaller")
-                .abstractCommand(BashCommand.withTool(cmd))
+                .abstractCommand(BashCommand.withTool(splitCmd + cmd))
+                .build();
+    }
+
+    /**
+     * @return the output files of GatkHaplotypeCaller, the output files of a shard contain the number of the shard
+     */
+    public VariantsVcfOutput getOutput() {
+        final String gatkHapOutdir = format("%s/gatkHaplotypeCaller", outDir);
+        return VariantsVcfOutput.builder()
+                .variantsTmpOutputDir(format("%s/tmp", gatkHapOutdir))
+                .variantsOutputDir(gatkHapOutdir)
+                .variantsVcf(getOutputFile(gatkHapOutdir, isRnaCaptureRnaWorkflow ? "raw.vcf" : "variants.vcf"))
                 .build();
     }
 
@@ -103,6 +132,8 @@ public class GatkHaplotypeCaller implements Tool<VariantsVcfResult> {
         return ToolFields.builder()
                 .java(validate(configuration.getGlobalConfig().getToolConfig().getJava(), GlobalConfigFormat.JAVA))
                 .gatk(validate(configuration.getGlobalConfig().getToolConfig().getGatk(), GlobalConfigFormat.GATK))
+                .heap(ToolUtils.getJavaHeap(configuration, DEFAULT_HEAP))
+                .numThreads(ToolUtils.getToolNumThreads(configuration))
                 .build();
     }
 
@@ -122,18 +153,23 @@ public class GatkHaplotypeCaller implements Tool<VariantsVcfResult> {
                 .gatkHapOutdir(gatkHapOutdir)
                 .tmpGatkHapOutdir(format("%s/tmp", gatkHapOutdir))
                 .isWgs(DnaUtils.isWgsWorkflow(configuration))
-                .variantsVcf(isRnaCaptureRnaWorkflow
-                        ? format("%s/%s.gatkHaplotypeCaller.raw.vcf", gatkHapOutdir, sampleName)
-                        : format("%s/%s.gatkHaplotypeCaller.variants.vcf", gatkHapOutdir, sampleName))
+                .variantsVcf(getOutputFile(gatkHapOutdir, isRnaCaptureRnaWorkflow ? "raw.vcf" : "variants.vcf"))
                 .build();
     }
 
-    private Context buildContext(Configuration configuration, AdditionalFields additionalFields) {
+    private Context buildContext(Configuration configuration, DatabaseFields databaseFields,
+                                 AdditionalFields additionalFields) {
         Context context = new Context();
         context.setVariable("toolFields", initializeToolFields(configuration));
-        context.setVariable("databaseFields", initializeDatabaseFields(configuration));
+        context.setVariable("databaseFields", databaseFields);
         context.setVariable("additionalFields", additionalFields);
         context.setVariable("bam", bam);
         return context;
     }
+
+    private String getOutputFile(final String gatkHapOutdir, final String suffix) {
+        return shard == null
+                ? format("%s/%s.gatkHaplotypeCaller.%s", gatkHapOutdir, sampleName, suffix)
+                : format("%s/%s.shard%d.gatkHaplotypeCaller.%s", gatkHapOutdir, sampleName, shard, suffix);
+    }
 }
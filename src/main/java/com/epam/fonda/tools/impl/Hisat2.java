@@ -31,6 +31,8 @@ import lombok.RequiredArgsConstructor;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
+import static com.epam.fonda.utils.ToolUtils.getSortMemoryPerThread;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @RequiredArgsConstructor
@@ -55,6 +57,7 @@ public class Hisat2 implements Tool<BamResult> {
         private String index;
         private String bamIndex;
         private int numThreads;
+        private String sortMemory;
     }
 
     private static final String HISAT2_TOOL_TEMPLATE_NAME = "hisat2_tool_template";
@@ -106,7 +109,8 @@ public class Hisat2 implements Tool<BamResult> {
      **/
     private AdditionalHisat2Fields initializeAdditionalFields(Configuration configuration) {
         AdditionalHisat2Fields additionalHisat2Fields = new AdditionalHisat2Fields();
-        additionalHisat2Fields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        additionalHisat2Fields.numThreads = getNumThreads(configuration);
+        additionalHisat2Fields.sortMemory = getSortMemoryPerThread(configuration);
         additionalHisat2Fields.sampleName = sample.getName();
         additionalHisat2Fields.tmpBam = String.format("%s/%s.hisat2.sorted", sample.getBamOutdir(),
                 sample.getName());
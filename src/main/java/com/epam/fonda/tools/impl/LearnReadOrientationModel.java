@@ -29,6 +29,9 @@ import lombok.RequiredArgsConstructor;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.util.Collections;
+import java.util.List;
+
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
@@ -38,14 +41,18 @@ public class LearnReadOrientationModel implements Tool<LearnReadOrientationModel
     private static final String LEARN_READ_ORIENTATION_MODEL_TEMPLATE = "learnReadOrientationModel_tool_template";
 
     private final String sampleName;
-    private final String f1r2TarGz;
+    private final List<String> f1r2TarGzs;
     private final String outputDir;
 
+    public LearnReadOrientationModel(final String sampleName, final String f1r2TarGz, final String outputDir) {
+        this(sampleName, Collections.singletonList(f1r2TarGz), outputDir);
+    }
+
     @Data
     @Builder
     private static class ToolFields {
         private final String gatk;
-        private final String f1r2TarGz;
+        private final List<String> f1r2TarGzs;
         private final String artifactsPriors;
         private final String javaOptions;
     }
@@ -70,7 +77,7 @@ public class LearnReadOrientationModel implements Tool<LearnReadOrientationModel
         final GlobalConfig.ToolConfig toolConfig = configuration.getGlobalConfig().getToolConfig();
         return ToolFields.builder()
                 .gatk(validate(toolConfig.getGatk(), GlobalConfigFormat.GATK))
-                .f1r2TarGz(f1r2TarGz)
+                .f1r2TarGzs(f1r2TarGzs)
                 .artifactsPriors(format("%s/%s.artifacts-priors.tar.gz", outputDir, sampleName))
                 .javaOptions(toolConfig.getGatkJavaOptions())
                 .build();
@@ -34,6 +34,7 @@ import org.apache.commons.lang3.Validate;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @RequiredArgsConstructor
@@ -97,7 +98,7 @@ public class Lofreq implements Tool<VariantsVcfResult> {
                 .lofreq(validate(toolConfig.getLofreq(), GlobalConfigFormat.LOFREQ))
                 .genome(validate(databaseConfig.getGenome(), GlobalConfigFormat.GENOME))
                 .bed(validate(databaseConfig.getBed(), GlobalConfigFormat.BED))
-                .numThreads(configuration.getGlobalConfig().getQueueParameters().getNumThreads())
+                .numThreads(getNumThreads(configuration))
                 .bam(validate(bam.getBam(), ToolUtils.BAM))
                 .controlBam(isPaired ? validate(bam.getControlBam(), ToolUtils.CONTROL_BAM) : null)
                 .sampleName(validate(sampleName, ToolUtils.SAMPLE_NAME))
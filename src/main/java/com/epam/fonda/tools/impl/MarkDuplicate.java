@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.tools.impl;
+
+import com.epam.fonda.entity.command.AbstractCommand;
+import com.epam.fonda.entity.command.BashCommand;
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfigFormat;
+import com.epam.fonda.samples.fastq.FastqFileSample;
+import com.epam.fonda.tools.Tool;
+import com.epam.fonda.tools.results.BamOutput;
+import com.epam.fonda.tools.results.BamResult;
+import com.epam.fonda.workflow.TaskContainer;
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.FilenameUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
+import static com.epam.fonda.utils.ToolUtils.validate;
+
+/**
+ * The <tt>MarkDuplicate</tt> class marks the duplicates by the multi-threaded engines used instead of Picard
+ * MarkDuplicates. It produces the same mkdup bam, index and metrics as {@link PicardMarkDuplicate}, the metrics
+ * file contains the <tt>PERCENT_DUPLICATION</tt> column of the Picard metrics computed by <tt>samtools flagstat</tt>.
+ */
+@RequiredArgsConstructor
+@Data
+public class MarkDuplicate implements Tool<BamResult> {
+
+    private static final String MKDUP_TOOL_TEMPLATE_NAME = "mark_duplicates_tool_template";
+
+    /**
+     * The duplicates marking engines.
+     */
+    public enum Engine {
+        /**
+         * <tt>sambamba markdup</tt> working on the coordinate sorted bam
+         */
+        SAMBAMBA,
+        /**
+         * <tt>samtools collate | fixmate | sort | markdup</tt> streaming pipeline
+         */
+        SAMTOOLS
+    }
+
+    @NonNull
+    private Engine engine;
+    @NonNull
+    private FastqFileSample sample;
+    @NonNull
+    private BamResult bamResult;
+
+    @Data
+    private class ToolFields {
+        private String sambamba;
+        private String samtools;
+        private int numThreads;
+    }
+
+    @Data
+    private class AdditionalMkDupFields {
+        private String stmpOutdir;
+        private String tmpPrefix;
+        private String mkdupBam;
+        private String mkdupBamIndex;
+        private String mkdupMetric;
+    }
+
+    /**
+     * This method generates bash script {@link BashCommand} for the selected duplicates marking engine.
+     *
+     * @param configuration  is the type of {@link Configuration} which contains
+     *                       its fields: samtools, sambamba, numThreads.
+     * @param templateEngine is the type of {@link TemplateEngine}.
+     * @return {@link BamResult} with bash script.
+     **/
+    @Override
+    public BamResult generate(final Configuration configuration, final TemplateEngine templateEngine) {
+        final AdditionalMkDupFields additionalFields = initializeAdditionalFields();
+        final Context context = new Context();
+        context.setVariable("additionalFields", additionalFields);
+        context.setVariable("toolFields", initializeToolFields(configuration));
+        context.setVariable("engine", engine.name());
+        context.setVariable("bam", bamResult.getBamOutput().getBam());
+        final String cmd = templateEngine.process(MKDUP_TOOL_TEMPLATE_NAME, context);
+        TaskContainer.addTasks("Mark duplicates", "Index mkdup bam", "Duplicate metrics");
+        final boolean amplicon = isAmplicon(configuration);
+        final BamOutput bamOutput = bamResult.getBamOutput();
+        bamOutput.setBam(amplicon ? bamOutput.getBam() : additionalFields.mkdupBam);
+        bamOutput.setMkdupBam(additionalFields.mkdupBam);
+        bamOutput.setMkdupBamIndex(additionalFields.mkdupBamIndex);
+        bamOutput.setMkdupMetric(additionalFields.mkdupMetric);
+        final AbstractCommand resultCommand = bamResult.getCommand();
+        resultCommand.setToolCommand(resultCommand.getToolCommand() + cmd);
+        return BamResult.builder()
+                .bamOutput(bamOutput)
+                .command(resultCommand)
+                .build();
+    }
+
+    private AdditionalMkDupFields initializeAdditionalFields() {
+        final String bam = bamResult.getBamOutput().getBam();
+        final AdditionalMkDupFields additionalMkDupFields = new AdditionalMkDupFields();
+        additionalMkDupFields.stmpOutdir = sample.getTmpOutdir();
+        additionalMkDupFields.tmpPrefix = String.format("%s/%s.mkdup", sample.getTmpOutdir(),
+                FilenameUtils.getBaseName(bam));
+        additionalMkDupFields.mkdupBam = bam.replace(".bam", ".mkdup.bam");
+        additionalMkDupFields.mkdupBamIndex = bam.replace(".bam", ".mkdup.bam.bai");
+        additionalMkDupFields.mkdupMetric = bam.replace(".bam", ".mkdup.metrics")
+                .replace(sample.getBamOutdir(), sample.getQcOutdir());
+        return additionalMkDupFields;
+    }
+
+    private ToolFields initializeToolFields(final Configuration configuration) {
+        final ToolFields toolFields = new ToolFields();
+        toolFields.samtools = validate(configuration.getGlobalConfig().getToolConfig().getSamTools(),
+                GlobalConfigFormat.SAMTOOLS);
+        if (engine == Engine.SAMBAMBA) {
+            toolFields.sambamba = validate(configuration.getGlobalConfig().getToolConfig().getSambamba(),
+                    GlobalConfigFormat.SAMBAMBA);
+        }
+        toolFields.numThreads = getNumThreads(configuration);
+        return toolFields;
+    }
+
+    private boolean isAmplicon(final Configuration configuration) {
+        return configuration.getGlobalConfig().getPipelineInfo().getWorkflow().toLowerCase().contains("amplicon");
+    }
+}
@@ -34,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @RequiredArgsConstructor
@@ -132,7 +133,7 @@ public class Mixcr implements Tool<MixcrResult> {
                 .mixcrAssembly(String.format("%s/%s.mixcr.clones.clns", mixcrOutdir, sampleName))
                 .mixcrClones(String.format("%s/%s.mixcr.clones.txt", mixcrOutdir, sampleName))
                 .spe(spe)
-                .nThreads(configuration.getGlobalConfig().getQueueParameters().getNumThreads())
+                .nThreads(getNumThreads(configuration))
                 .build();
     }
 }
@@ -21,19 +21,23 @@ import com.epam.fonda.entity.configuration.GlobalConfig;
 import com.epam.fonda.entity.configuration.GlobalConfigFormat;
 import com.epam.fonda.tools.Tool;
 import com.epam.fonda.tools.results.BamOutput;
+import com.epam.fonda.tools.results.IntervalsResult;
 import com.epam.fonda.tools.results.VariantsVcfOutput;
 import com.epam.fonda.tools.results.VariantsVcfResult;
 import com.epam.fonda.utils.ToolUtils;
 import com.epam.fonda.workflow.TaskContainer;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
+@AllArgsConstructor
 @RequiredArgsConstructor
 public class Mutect2 implements Tool<VariantsVcfResult> {
     private static final String MUTECT2_TEMPLATE = "mutect2_template";
@@ -43,6 +47,8 @@ public class Mutect2 implements Tool<VariantsVcfResult> {
     private final String sampleOutDir;
     private final String controlSampleName;
     private final boolean isPaired;
+    private Integer shard;
+    private Integer shards;
 
     @Data
     @Builder
@@ -60,10 +66,13 @@ public class Mutect2 implements Tool<VariantsVcfResult> {
         private final String controlBam;
         private final String vcf;
         private final String javaOptions;
+        private final Integer nativeThreads;
     }
 
     /**
-     * Generates bash script {@link BashCommand} for Mutect2 tool.
+     * Generates bash script {@link BashCommand} for Mutect2 tool. If the shard is specified, the variants are
+     * called on the intervals of the shard only. The threads and the heap of Mutect2 are taken from
+     * <tt>TOOL_NUMTHREADS</tt> and <tt>TOOL_MAXMEM</tt> of its task, if they are specified.
      * @param configuration is the type of {@link Configuration} which contains fields:
      *                      gatk, java, bed, genome.
      * @param templateEngine is the type of {@link TemplateEngine}.
@@ -71,32 +80,49 @@ public class Mutect2 implements Tool<VariantsVcfResult> {
      */
     @Override
     public VariantsVcfResult generate(final Configuration configuration, final TemplateEngine templateEngine) {
-        final String outputDir = format("%s/mutect2", sampleOutDir);
-        final ToolFields toolFields = initToolFields(configuration, outputDir);
+        final VariantsVcfOutput output = getOutput();
+        String intervals = configuration.getGlobalConfig().getDatabaseConfig().getBed();
+        String splitCmd = "";
+        if (shard != null) {
+            final IntervalsResult intervalsResult = new SplitIntervals(intervals,
+                    getOutputFile(output.getVariantsOutputDir(), "intervals.bed"), shard, shards)
+                    .generate(configuration, templateEngine);
+            intervals = intervalsResult.getIntervals();
+            splitCmd = intervalsResult.getCommand().getToolCommand();
+        }
+        final ToolFields toolFields = initToolFields(configuration, output, intervals);
         final Context context = new Context();
         context.setVariable("toolFields", toolFields);
         final String cmd = templateEngine.process(MUTECT2_TEMPLATE, context);
         TaskContainer.addTasks("Mutect2 detection");
-        final VariantsVcfOutput output = VariantsVcfOutput.builder()
-                .bamout(toolFields.getBamOut())
-                .f1R2Metrics(toolFields.getF1r2TarGz())
-                .variantsVcf(toolFields.getVcf())
-                .variantsOutputDir(outputDir)
-                .build();
         output.createDirectory();
         return VariantsVcfResult.builder()
-                .abstractCommand(BashCommand.withTool(cmd))
+                .abstractCommand(BashCommand.withTool(splitCmd + cmd))
                 .filteredTool("mutect2")
                 .variantsVcfOutput(output)
                 .build();
     }
 
-    private ToolFields initToolFields(final Configuration configuration, final String outputDir) {
+    /**
+     * @return the output files of Mutect2, the output files of a shard contain the number of the shard
+     */
+    public VariantsVcfOutput getOutput() {
+        final String outputDir = format("%s/mutect2", sampleOutDir);
+        return VariantsVcfOutput.builder()
+                .bamout(getOutputFile(outputDir, "bamout.bam"))
+                .f1R2Metrics(getOutputFile(outputDir, "f1r2.tar.gz"))
+                .variantsVcf(getOutputFile(outputDir, "somatic.variants.vcf"))
+                .variantsOutputDir(outputDir)
+                .build();
+    }
+
+    private ToolFields initToolFields(final Configuration configuration, final VariantsVcfOutput output,
+                                      final String intervals) {
         final GlobalConfig.DatabaseConfig databaseConfig = configuration.getGlobalConfig().getDatabaseConfig();
         final GlobalConfig.ToolConfig toolConfig = configuration.getGlobalConfig().getToolConfig();
         return ToolFields.builder()
                 .genome(validate(databaseConfig.getGenome(), GlobalConfigFormat.GENOME))
-                .bed(databaseConfig.getBed())
+                .bed(intervals)
                 .gatk(validate(toolConfig.getGatk(), GlobalConfigFormat.GATK))
                 .sampleName(validate(sampleName, ToolUtils.SAMPLE_NAME))
                 .controlSampleName(controlSampleName)
@@ -104,10 +130,24 @@ public class Mutect2 implements Tool<VariantsVcfResult> {
                 .controlBam(isPaired ? validate(bam.getControlBam(), ToolUtils.CONTROL_BAM) : null)
                 .germlineResource(databaseConfig.getGermlineResource())
                 .panelOfNormal(databaseConfig.getMutectNormalPanel())
-                .bamOut(format("%s/%s.mutect2.bamout.bam", outputDir, sampleName))
-                .f1r2TarGz(format("%s/%s.mutect2.f1r2.tar.gz", outputDir, sampleName))
-                .vcf(format("%s/%s.mutect2.somatic.variants.vcf", outputDir, sampleName))
-                .javaOptions(toolConfig.getGatkJavaOptions())
+                .bamOut(output.getBamout())
+                .f1r2TarGz(output.getF1R2Metrics())
+                .vcf(output.getVariantsVcf())
+                .javaOptions(StringUtils.isNotBlank(toolConfig.getGatkJavaOptions())
+                        ? toolConfig.getGatkJavaOptions()
+                        : getJavaOptions(configuration))
+                .nativeThreads(ToolUtils.getToolNumThreads(configuration))
                 .build();
     }
+
+    private String getJavaOptions(final Configuration configuration) {
+        final String heap = ToolUtils.getJavaHeap(configuration, null);
+        return heap == null ? null : "-Xmx" + heap;
+    }
+
+    private String getOutputFile(final String outputDir, final String suffix) {
+        return shard == null
+                ? format("%s/%s.mutect2.%s", outputDir, sampleName, suffix)
+                : format("%s/%s.shard%d.mutect2.%s", outputDir, sampleName, shard, suffix);
+    }
 }
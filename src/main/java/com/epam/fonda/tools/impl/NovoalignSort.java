@@ -33,6 +33,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
+import static com.epam.fonda.utils.ToolUtils.getSortMemoryPerThread;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @Data
@@ -89,7 +91,8 @@ public class NovoalignSort implements Tool<BamResult> {
                 GlobalConfigFormat.SAMTOOLS);
         novoalignSortFields.bamOutdir = sample.getBamOutdir();
         novoalignSortFields.sampleName = sample.getName();
-        novoalignSortFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        novoalignSortFields.numThreads = getNumThreads(configuration);
+        novoalignSortFields.sortMemory = getSortMemoryPerThread(configuration);
         novoalignSortFields.index = index;
         novoalignSortFields.tmpBam = String.format("%s/%s_%s.novoalign.sorted",
                 novoalignSortFields.getBamOutdir(),
@@ -125,6 +128,7 @@ public class NovoalignSort implements Tool<BamResult> {
         private String bamOutdir;
         private String sampleName;
         private int numThreads;
+        private String sortMemory;
         private int index;
         private String tmpBam;
         private String rg;
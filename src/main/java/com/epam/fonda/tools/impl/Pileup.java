@@ -31,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getCompressor;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @RequiredArgsConstructor
@@ -43,6 +44,7 @@ public class Pileup implements Tool<PileupResult> {
         private String samtools;
         private String pileupOutdir;
         private String controlBam;
+        private String compressor;
     }
 
     @Data
@@ -122,6 +124,7 @@ public class Pileup implements Tool<PileupResult> {
                         GlobalConfigFormat.SAMTOOLS))
                 .pileupOutdir(String.format("%s/pileup", sampleOutputDir))
                 .controlBam(bamResult.getBamOutput().getControlBam())
+                .compressor(getCompressor(configuration))
                 .build();
     }
 }
@@ -21,6 +21,7 @@ import com.epam.fonda.entity.configuration.GlobalConfigFormat;
 import com.epam.fonda.entity.configuration.StudyConfigFormat;
 import com.epam.fonda.tools.PostProcessTool;
 import com.epam.fonda.utils.PipelineUtils;
+import com.epam.fonda.utils.ResourceProfiler;
 import com.epam.fonda.workflow.PipelineType;
 import com.epam.fonda.workflow.TaskContainer;
 import com.epam.fonda.workflow.impl.Flag;
@@ -36,7 +37,6 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import static com.epam.fonda.utils.ToolUtils.matchesCaptureLibraryTypeCondition;
 import static com.epam.fonda.utils.ToolUtils.matchesExomeLibraryTypeCondition;
@@ -77,6 +77,9 @@ public class QcSummary implements PostProcessTool {
             }
         }
         cmd.append(templateEngine.process(QC_SUMMARY_ANALYSIS_TEMPLATE, context));
+        if (configuration.isProfileMode()) {
+            cmd.append(ResourceProfiler.summarize(configuration, templateEngine, sampleNames));
+        }
         TaskContainer.addTasks("QC summary analysis");
         return PipelineUtils.printShell(configuration, cmd.toString(), "", null);
     }
@@ -88,7 +91,7 @@ public class QcSummary implements PostProcessTool {
         if (StringUtils.isNotBlank(tag)) {
             TaskContainer.addTasks(tag);
         }
-        final Set<String> tasks = TaskContainer.getTasks();
+        final List<String> tasks = TaskContainer.getTasksSnapshot();
         final QcSummaryFields qcSummaryFields = QcSummaryFields.builder()
                 .workflow(workflowName)
                 .outDir(validate(configuration.getStudyConfig().getDirOut(), StudyConfigFormat.DIR_OUT))
@@ -101,7 +104,7 @@ public class QcSummary implements PostProcessTool {
                 .task("QC summary analysis")
                 .jarPath(PipelineUtils.getExecutionPath(configuration))
                 .steps(String.join("|", tasks))
-                .successPattern(StringUtils.isNotBlank(tag) ? tag : tasks.toArray()[tasks.size() - 1].toString())
+                .successPattern(StringUtils.isNotBlank(tag) ? tag : tasks.get(tasks.size() - 1))
                 .build();
         final String task = getValueForSpecificVar(workflowName, Variable.TASK,
                 configuration.getStudyConfig().getLibraryType());
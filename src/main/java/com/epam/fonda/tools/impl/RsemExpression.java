@@ -29,6 +29,7 @@ import lombok.Data;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @AllArgsConstructor
@@ -89,7 +90,7 @@ public class RsemExpression implements Tool<RsemResult> {
      */
     private RsemExpressionFields constructFields(final Configuration configuration, final String rsemOutdir) {
         RsemExpressionFields rsemExpressionFields = new RsemExpressionFields();
-        rsemExpressionFields.nthreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        rsemExpressionFields.nthreads = getNumThreads(configuration);
         rsemExpressionFields.index = validate(configuration.getGlobalConfig().getToolConfig().getRsemIndex(),
                 GlobalConfigFormat.RSEMINDEX);
         rsemExpressionFields.rsem = validate(configuration.getGlobalConfig().getToolConfig().getRsem(),
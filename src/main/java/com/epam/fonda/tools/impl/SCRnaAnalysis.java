@@ -118,7 +118,7 @@ public class SCRnaAnalysis implements PostProcessTool {
         scRnaAnalysisFields.logFile = String.format("%s/%s.log", logDir, fileName);
         scRnaAnalysisFields.period = PERIOD;
         scRnaAnalysisFields.toolName = TOOL_STEP;
-        scRnaAnalysisFields.steps = String.join("|", TaskContainer.getTasks());
+        scRnaAnalysisFields.steps = String.join("|", TaskContainer.getTasksSnapshot());
         Context context = new Context();
         context.setVariable("fields", scRnaAnalysisFields);
         return templateEngine.process(SCRNA_ANALYSIS_LOG_FILE_TEMPLATE, context);
@@ -31,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
@@ -47,8 +48,6 @@ public class Salmon implements Tool<SalmonResult> {
         private String fastq2;
         private String salmonGeneResult;
         private String salmonTranscriptResult;
-        private String decopMergedFastq1;
-        private String decopMergedFastq2;
         private String index;
         private int numThreads;
     }
@@ -111,13 +110,11 @@ public class Salmon implements Tool<SalmonResult> {
         salmonFields.sampleName = sample.getName();
         salmonFields.fastq1 = fastqResult.getOut().getMergedFastq1();
         salmonFields.fastq2 = fastqResult.getOut().getMergedFastq2();
-        salmonFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        salmonFields.numThreads = getNumThreads(configuration);
         salmonFields.salmonGeneResult = format("%s/%s.salmon.gene.results", salmonFields.salmonOutdir,
                 salmonFields.sampleName);
         salmonFields.salmonTranscriptResult = format("%s/%s.salmon.transcript.results", salmonFields
                 .salmonOutdir, salmonFields.sampleName);
-        salmonFields.decopMergedFastq1 = salmonFields.fastq1.replace(".gz", "");
-        salmonFields.decopMergedFastq2 = salmonFields.fastq2.replace(".gz", "");
         salmonFields.index = validate(configuration.getGlobalConfig().getDatabaseConfig().getSalmonIndex(),
                 GlobalConfigFormat.SALMONINDEX);
         return salmonFields;
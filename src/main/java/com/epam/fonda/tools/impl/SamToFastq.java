@@ -32,6 +32,7 @@ import lombok.NonNull;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getCompressor;
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static com.epam.fonda.utils.ToolUtils.validateOldPicardVersion;
 
@@ -47,6 +48,7 @@ public class SamToFastq implements Tool<FastqResult> {
         private String picard;
         private String readType;
         private String bam;
+        private String compressor;
     }
 
     @NonNull
@@ -125,6 +127,7 @@ public class SamToFastq implements Tool<FastqResult> {
                 .readType(validate(configuration.getGlobalConfig().getPipelineInfo().getReadType(),
                         GlobalConfigFormat.READ_TYPE))
                 .bam(validate(bamResult.getBamOutput().getBam(), ToolUtils.BAM))
+                .compressor(getCompressor(configuration))
                 .build();
     }
 }
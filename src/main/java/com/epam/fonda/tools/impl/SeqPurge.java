@@ -32,6 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
@@ -106,7 +107,7 @@ public class SeqPurge implements Tool<FastqResult> {
         }
         seqPurgeFields.adapterFWD = configuration.getGlobalConfig().getDatabaseConfig().getAdapterFWD();
         seqPurgeFields.adapterREV = configuration.getGlobalConfig().getDatabaseConfig().getAdapterREV();
-        seqPurgeFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        seqPurgeFields.numThreads = getNumThreads(configuration);
         seqPurgeFields.seqPurge = validate(configuration.getGlobalConfig().getToolConfig().getSeqpurge(),
                 GlobalConfigFormat.SEQPURGE);
         seqPurgeFields.sfqOutdir = sample.getFastqOutdir();
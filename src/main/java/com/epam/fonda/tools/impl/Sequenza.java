@@ -31,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getCompressor;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @RequiredArgsConstructor
@@ -55,6 +56,7 @@ public class Sequenza implements Tool<SequenzaResult> {
         private final String pileup;
         private final String controlPileup;
         private final String outDir;
+        private final String compressor;
     }
 
     /**
@@ -102,6 +104,7 @@ public class Sequenza implements Tool<SequenzaResult> {
                 .pileup(validate(pileupOutput.getPileup(), "pileup_output"))
                 .controlPileup(validate(pileupOutput.getControlPileup(), "control_pileup_output"))
                 .outDir(outputDir)
+                .compressor(getCompressor(configuration))
                 .build();
     }
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.tools.impl;
+
+import com.epam.fonda.entity.command.BashCommand;
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfigFormat;
+import com.epam.fonda.tools.Tool;
+import com.epam.fonda.tools.results.IntervalsResult;
+import com.epam.fonda.workflow.TaskContainer;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import static com.epam.fonda.utils.ToolUtils.validate;
+
+/**
+ * The <tt>SplitIntervals</tt> tool writes a shard of the target intervals, the intervals are split into
+ * the shards of the same number of bases. If the bed file is not specified, the whole genome is split
+ * according to the genome index.
+ */
+@RequiredArgsConstructor
+public class SplitIntervals implements Tool<IntervalsResult> {
+    private static final String SPLIT_INTERVALS_TEMPLATE = "split_intervals_template";
+
+    private final String bed;
+    private final String intervals;
+    private final int shard;
+    private final int shards;
+
+    @Data
+    @Builder
+    private static class ToolFields {
+        private final String genome;
+        private final String bed;
+        private final String intervals;
+        private final int shard;
+        private final int shards;
+    }
+
+    /**
+     * Generates bash script {@link BashCommand} writing the intervals of the shard.
+     * @param configuration is the type of {@link Configuration} which contains the genome.
+     * @param templateEngine is the type of {@link TemplateEngine}.
+     * @return {@link IntervalsResult} with bash script and the intervals of the shard.
+     */
+    @Override
+    public IntervalsResult generate(final Configuration configuration, final TemplateEngine templateEngine) {
+        final ToolFields toolFields = ToolFields.builder()
+                .genome(validate(configuration.getGlobalConfig().getDatabaseConfig().getGenome(),
+                        GlobalConfigFormat.GENOME))
+                .bed(bed)
+                .intervals(intervals)
+                .shard(shard)
+                .shards(shards)
+                .build();
+        final Context context = new Context();
+        context.setVariable("toolFields", toolFields);
+        final String cmd = templateEngine.process(SPLIT_INTERVALS_TEMPLATE, context);
+        TaskContainer.addTasks("Split intervals");
+        return IntervalsResult.builder()
+                .command(BashCommand.withTool(cmd))
+                .intervals(intervals)
+                .build();
+    }
+}
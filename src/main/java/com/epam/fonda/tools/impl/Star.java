@@ -33,8 +33,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
+import static com.epam.fonda.utils.ToolUtils.getSortMemory;
 import static com.epam.fonda.utils.ToolUtils.validate;
-import static com.epam.fonda.utils.ToolUtils.validateOldPicardVersion;
 import static java.lang.String.format;
 
 @RequiredArgsConstructor
@@ -44,9 +45,6 @@ public class Star implements Tool<BamResult> {
     @Data
     private class ToolFields {
         private String star;
-        private String java;
-        private boolean oldPicardVersion;
-        private String picard;
         private String samtools;
     }
 
@@ -54,8 +52,7 @@ public class Star implements Tool<BamResult> {
     private class AdditionalStarFields {
         private String sbamOutdir;
         private String sampleName;
-        private String unsortedBam;
-        private String unsortedBamIndex;
+        private String sortedBam;
         private String bamIndex;
         private String fastq1;
         private String fastq2;
@@ -63,10 +60,17 @@ public class Star implements Tool<BamResult> {
         private String index;
         private String annotgene;
         private int numThreads;
+        private long sortMemory;
         private String genomeLoad;
     }
 
     private static final String STAR_TOOL_TEMPLATE_NAME = "star_tool_template";
+    private static final String NO_SHARED_MEMORY = "NoSharedMemory";
+    /**
+     * STAR cannot sort the BAM with the genome loaded into the shared memory unless the sort memory is set,
+     * so 10 GB are taken if <tt>MAXMEM</tt> is not specified.
+     */
+    private static final long DEFAULT_SHARED_GENOME_SORT_MEMORY = 10_000_000_000L;
 
     @NonNull
     private Flag flag;
@@ -79,7 +83,7 @@ public class Star implements Tool<BamResult> {
      * This method generates bash script {@link BashCommand} for Star tool.
      *
      * @param configuration  is the type of {@link Configuration} which contains
-     *                       its fields: star, annotgene, samtools, picard, numThreads.
+     *                       its fields: star, annotgene, samtools, numThreads, maxMem.
      * @param templateEngine is the type of {@link TemplateEngine}.
      * @return {@link BashCommand} with bash script.
      **/
@@ -109,9 +113,7 @@ public class Star implements Tool<BamResult> {
             bamOutput.setBamIndex(additionalStarFields.bamIndex);
             bamOutput.setSortedBam(genomeBam);
             bamOutput.setSortedBamIndex(additionalStarFields.bamIndex);
-            bamOutput.setUnsortedBam(additionalStarFields.unsortedBam);
-            bamOutput.setUnsortedBamIndex(additionalStarFields.unsortedBamIndex);
-            TaskContainer.addTasks("STAR alignment", "Sort bam", "Index bam");
+            TaskContainer.addTasks("STAR alignment", "Index bam");
         }
         return BamResult.builder()
                 .bamOutput(bamOutput)
@@ -123,17 +125,16 @@ public class Star implements Tool<BamResult> {
      * This method initializes fields of the AdditionalStarFields {@link AdditionalStarFields} class.
      *
      * @param configuration is the type of {@link Configuration} which contains
-     *                      its fields: numThreads, index, annotgene.
+     *                      its fields: numThreads, maxMem, index, annotgene.
      * @return {@link AdditionalStarFields} with its fields.
      **/
     private AdditionalStarFields initializeAdditionalFields(Configuration configuration) {
         AdditionalStarFields additionalStarFields = new AdditionalStarFields();
         additionalStarFields.sbamOutdir = sample.getBamOutdir();
-        additionalStarFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        additionalStarFields.numThreads = getNumThreads(configuration);
+        additionalStarFields.sortMemory = getSortMemory(configuration);
         additionalStarFields.sampleName = sample.getName();
-        additionalStarFields.unsortedBam = format("%s/%s.Aligned.out.bam", sample.getBamOutdir(),
-                sample.getName());
-        additionalStarFields.unsortedBamIndex = format("%s/%s.Aligned.out.bam.bai", sample.getBamOutdir(),
+        additionalStarFields.sortedBam = format("%s/%s.Aligned.sortedByCoord.out.bam", sample.getBamOutdir(),
                 sample.getName());
         additionalStarFields.bamIndex = format("%s/%s.star.sorted.bam.bai", sample.getBamOutdir(),
                 sample.getName());
@@ -145,7 +146,10 @@ public class Star implements Tool<BamResult> {
                 GlobalConfigFormat.STARINDEX);
         additionalStarFields.annotgene = configuration.getGlobalConfig().getDatabaseConfig().getAnnotgene();
         final String genomeLoad = configuration.getGlobalConfig().getDatabaseConfig().getGenomeLoad();
-        additionalStarFields.genomeLoad = StringUtils.isBlank(genomeLoad) ? "NoSharedMemory" : genomeLoad;
+        additionalStarFields.genomeLoad = StringUtils.isBlank(genomeLoad) ? NO_SHARED_MEMORY : genomeLoad;
+        if (additionalStarFields.sortMemory == 0 && !NO_SHARED_MEMORY.equals(additionalStarFields.genomeLoad)) {
+            additionalStarFields.sortMemory = DEFAULT_SHARED_GENOME_SORT_MEMORY;
+        }
         return additionalStarFields;
     }
 
@@ -153,15 +157,11 @@ public class Star implements Tool<BamResult> {
      * This method initializes fields of the ToolFields {@link ToolFields} class.
      *
      * @param configuration is the type of {@link Configuration} which contains
-     *                      its fields: samtools, picard, java, star.
+     *                      its fields: samtools, star.
      * @return {@link ToolFields} with its fields.
      **/
     private ToolFields initializeToolFields(Configuration configuration) {
         ToolFields toolFields = new ToolFields();
-        toolFields.java = validate(configuration.getGlobalConfig().getToolConfig().getJava(), GlobalConfigFormat.JAVA);
-        toolFields.oldPicardVersion = validateOldPicardVersion(configuration);
-        toolFields.picard = validate(configuration.getGlobalConfig().getToolConfig().getPicard(),
-                GlobalConfigFormat.PICARD);
         toolFields.samtools = validate(configuration.getGlobalConfig().getToolConfig().getSamTools(),
                 GlobalConfigFormat.SAMTOOLS);
         toolFields.star = validate(configuration.getGlobalConfig().getToolConfig().getStar(), GlobalConfigFormat.STAR);
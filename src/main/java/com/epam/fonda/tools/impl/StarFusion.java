@@ -30,8 +30,9 @@ import lombok.NonNull;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
+import static com.epam.fonda.utils.ToolUtils.getSortMemory;
 import static com.epam.fonda.utils.ToolUtils.validate;
-import static com.epam.fonda.utils.ToolUtils.validateOldPicardVersion;
 
 @Data
 public class StarFusion implements Tool<StarFusionResult> {
@@ -40,9 +41,6 @@ public class StarFusion implements Tool<StarFusionResult> {
     @Data
     private class ToolFields {
         private String star;
-        private String java;
-        private boolean oldPicardVersion;
-        private String picard;
         private String samtools;
     }
 
@@ -51,10 +49,10 @@ public class StarFusion implements Tool<StarFusionResult> {
         private String starIndex;
         private String sampleName;
         private int numThreads;
+        private long sortMemory;
         private String mergedFastq1;
         private String mergedFastq2;
-        private String unSortedBam;
-        private String unSortedBamIndex;
+        private String sortedBam;
         private String bamIndex;
         private String juncFile;
         private String starFusion;
@@ -93,7 +91,7 @@ public class StarFusion implements Tool<StarFusionResult> {
         context.setVariable("bam", star4fusionBam);
         context.setVariable("starFusionResult", starFusionResult);
         String cmd = templateEngine.process(STAR_FUSION_TOOL_TEMPLATE_NAME, context);
-        TaskContainer.addTasks("STAR4FUSION alignment", "Sort bam", "Index bam", "STAR-Fusion detection");
+        TaskContainer.addTasks("STAR4FUSION alignment", "Index bam", "STAR-Fusion detection");
         StarFusionOutput starFusionOutput = StarFusionOutput.builder()
                 .starFusionResult(starFusionResult)
                 .starFusionOutdir(additionalStarFusionFields.starFusionOutdir)
@@ -117,14 +115,13 @@ public class StarFusion implements Tool<StarFusionResult> {
         starFusionFields.starIndex = validate(configuration.getGlobalConfig().getDatabaseConfig().getStarIndex(),
                 GlobalConfigFormat.STARINDEX);
         starFusionFields.sampleName = sample.getName();
-        starFusionFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        starFusionFields.numThreads = getNumThreads(configuration);
+        starFusionFields.sortMemory = getSortMemory(configuration);
         starFusionFields.mergedFastq1 = fastqOutput.getMergedFastq1();
         starFusionFields.mergedFastq2 = fastqOutput.getMergedFastq2();
         starFusionFields.bamOutdir = sample.getBamOutdir();
-        starFusionFields.unSortedBam = String.format("%s/%s.Aligned.out.bam", starFusionFields.bamOutdir,
-                starFusionFields.sampleName);
-        starFusionFields.unSortedBamIndex = String.format("%s/%s.Aligned.out.bam.bai", starFusionFields.bamOutdir,
-                starFusionFields.sampleName);
+        starFusionFields.sortedBam = String.format("%s/%s.Aligned.sortedByCoord.out.bam",
+                starFusionFields.bamOutdir, starFusionFields.sampleName);
         starFusionFields.bamIndex = String.format("%s/%s.star.sorted.bam.bai", starFusionFields.bamOutdir,
                 starFusionFields.sampleName);
         starFusionFields.juncFile = String.format("%s/%s.Chimeric.out.junction", starFusionFields.bamOutdir,
@@ -140,10 +137,6 @@ public class StarFusion implements Tool<StarFusionResult> {
 
     private ToolFields initializeToolFields(Configuration configuration) {
         ToolFields toolFields = new ToolFields();
-        toolFields.java = validate(configuration.getGlobalConfig().getToolConfig().getJava(), GlobalConfigFormat.JAVA);
-        toolFields.oldPicardVersion = validateOldPicardVersion(configuration);
-        toolFields.picard = validate(configuration.getGlobalConfig().getToolConfig().getPicard(),
-                GlobalConfigFormat.PICARD);
         toolFields.samtools = validate(configuration.getGlobalConfig().getToolConfig().getSamTools(),
                 GlobalConfigFormat.SAMTOOLS);
         toolFields.star = validate(configuration.getGlobalConfig().getToolConfig().getStar(), GlobalConfigFormat.STAR);
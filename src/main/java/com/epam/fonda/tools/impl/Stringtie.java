@@ -29,6 +29,7 @@ import lombok.Data;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @AllArgsConstructor
@@ -86,8 +87,7 @@ public class Stringtie implements Tool<StringtieResult> {
                 GlobalConfigFormat.ANNOTGENE);
         stringtieFields.stringtie = validate(configuration.getGlobalConfig().getToolConfig().getStringtie(),
                 GlobalConfigFormat.STRINGTIE);
-        stringtieFields.numThreads = String.valueOf(
-                configuration.getGlobalConfig().getQueueParameters().getNumThreads());
+        stringtieFields.numThreads = String.valueOf(getNumThreads(configuration));
         stringtieFields.sampleName = sampleName;
         stringtieFields.sStringtieOutdir = stringtieOutdir;
         stringtieFields.bam = bamOutput.getBam();
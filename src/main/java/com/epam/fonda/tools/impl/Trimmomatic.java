@@ -32,6 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
@@ -107,7 +108,7 @@ public class Trimmomatic implements Tool<FastqResult> {
         trimmomaticFields.adapterSEQ = configuration.getGlobalConfig().getDatabaseConfig().getAdapterSEQ();
         trimmomaticFields.java = validate(configuration.getGlobalConfig().getToolConfig().getJava(),
                 GlobalConfigFormat.JAVA);
-        trimmomaticFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        trimmomaticFields.numThreads = getNumThreads(configuration);
         trimmomaticFields.trimmomatic = validate(configuration.getGlobalConfig().getToolConfig().getTrimmomatic(),
                 GlobalConfigFormat.TRIMMOMATIC);
         trimmomaticFields.sfqOutdir = sample.getFastqOutdir();
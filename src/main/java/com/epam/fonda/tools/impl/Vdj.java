@@ -32,6 +32,7 @@ import lombok.RequiredArgsConstructor;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getNumThreads;
 import static com.epam.fonda.utils.ToolUtils.validate;
 
 @RequiredArgsConstructor
@@ -128,6 +129,6 @@ public class Vdj implements Tool<BamResult> {
         vdjFields.lanes = configuration.getGlobalConfig().getCellrangerConfig().getCellrangerLanes();
         vdjFields.genome = validate(configuration.getGlobalConfig().getDatabaseConfig().getVdjGenome(),
                 GlobalConfigFormat.VDJ_GENOME);
-        vdjFields.numThreads = configuration.getGlobalConfig().getQueueParameters().getNumThreads();
+        vdjFields.numThreads = getNumThreads(configuration);
     }
 }
@@ -32,6 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import static com.epam.fonda.utils.ToolUtils.getCompressor;
 import static com.epam.fonda.utils.ToolUtils.validate;
 import static java.lang.String.format;
 
@@ -48,8 +49,6 @@ public class Xenome implements Tool<FastqResult> {
         private String bothFastq2;
         private String ambiguousFastq1;
         private String ambiguousFastq2;
-        private String convertHumanFastq1;
-        private String convertHumanFastq2;
         private String convertBothFastq1;
         private String convertBothFastq2;
         private String convertAmbiguousFastq1;
@@ -61,6 +60,7 @@ public class Xenome implements Tool<FastqResult> {
         private String xenome;
         private String mouseXenomeIndex;
         private String index;
+        private String compressor;
     }
 
     private static final String XENOME_TOOL_TEMPLATE_NAME = "xenome_tool_template";
@@ -117,6 +117,7 @@ public class Xenome implements Tool<FastqResult> {
         xenomeFields.mouseXenomeIndex = validate(
                 configuration.getGlobalConfig().getDatabaseConfig().getMouseXenomeIndex(),
                 GlobalConfigFormat.MOUSE_XENOME_INDEX);
+        xenomeFields.compressor = getCompressor(configuration);
         xenomeFields.stmpOutDir = sample.getTmpOutdir();
         if (xenomeFields.index != null) {
             xenomeFields.prefix = format("%s/%s_%s", xenomeFields.stmpOutDir, sample
@@ -149,9 +150,6 @@ public class Xenome implements Tool<FastqResult> {
                 : format("%s_ambiguous_1.fastq", xenomeFields.prefix);
         xenomeFields.ambiguousFastq2 = StringUtils.isBlank(xenomeFields.fastq2) ? null
                 : format("%s_ambiguous_2.fastq", xenomeFields.prefix);
-        xenomeFields.convertHumanFastq1 = format("%s_convert_human_1.fastq", xenomeFields.prefix);
-        xenomeFields.convertHumanFastq2 = StringUtils.isBlank(xenomeFields.fastq2) ? null
-                : format("%s_convert_human_2.fastq", xenomeFields.prefix);
         xenomeFields.convertBothFastq1 = format("%s_convert_both_1.fastq", xenomeFields.prefix);
         xenomeFields.convertBothFastq2 = StringUtils.isBlank(xenomeFields.fastq2) ? null
                 : format("%s_convert_both_2.fastq", xenomeFields.prefix);
@@ -74,6 +74,18 @@ public final class ConfigurationUtils {
                 MessageConstant.SYNC_DESCRIPTION));
         options.addOption(new Option(OptionName.MASTER.getName(), false,
                 MessageConstant.MASTER_DESCRIPTION));
+        options.addOption(new Option(OptionName.PARALLEL.getName(), true,
+                MessageConstant.PARALLEL_DESCRIPTION));
+        options.addOption(new Option(OptionName.DAG.getName(), false,
+                MessageConstant.DAG_DESCRIPTION));
+        options.addOption(new Option(OptionName.RESUME.getName(), false,
+                MessageConstant.RESUME_DESCRIPTION));
+        options.addOption(new Option(OptionName.EXECUTOR_THREADS.getName(), true,
+                MessageConstant.EXECUTOR_THREADS_DESCRIPTION));
+        options.addOption(new Option(OptionName.PROFILE.getName(), false,
+                MessageConstant.PROFILE_DESCRIPTION));
+        options.addOption(new Option(OptionName.ARRAY.getName(), false,
+                MessageConstant.ARRAY_DESCRIPTION));
         final CommandLine commandLine = new DefaultParser().parse(options, arg);
         printInfo(commandLine, options, new HelpFormatter());
         return commandLine;
@@ -23,6 +23,8 @@ import lombok.Data;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,10 +38,13 @@ public final class DnaUtils {
     private static final int DEFAULT_VALUE = 60;
     private static final String LOGFILE_SCANNING_SHELL_SCRIPT_TEMPLATE_NAME =
             "logfile_scanning_shell_script_template";
+    private static final String LOGFILE_STATUS_CHECK_TEMPLATE_NAME = "logfile_status_check_template";
     private static final String PERIODIC_INDEX_BAM_STATUS_CHECK = "periodic_index_check_for_fastqs";
-    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
     private static final String ERROR_BAM = "Error bam from ";
     private static final String CONFIRM_BAM = "Confirm bam from ";
+    private static final String ERROR_SHARD = "Error shard from ";
+    private static final String CONFIRM_SHARD = "Confirm shard from ";
     private static final String LOG = "%s/%s.log";
     private static final String FORMAT = "%s_%s_for_%s_analysis";
     private static final String FORMAT_INDEX = "%s_%s_for_%s_%s_analysis";
@@ -84,27 +89,79 @@ public final class DnaUtils {
      */
     public static String checkPeriodicBamStatus(String tag, String sampleName, String controlSampleName,
                                                 Configuration configuration, String index) {
+        return checkPeriodicBamStatus(tag, sampleName, controlSampleName, configuration, index, new ArrayList<>());
+    }
+
+    /**
+     * This method checks periodic bam status and returns script according to it. In the event status check mode
+     * the log files are checked once, since the script is started after the upstream jobs are finished.
+     *
+     * @param tag           is of type String {@link String} and contains step of the workflow.
+     * @param configuration is of type Configuration {@link Configuration} and contains its fields.
+     * @param index         is of type String {@link String} and contains bam index
+     * @param upstreamJobs  collects the names of the jobs, whose log files are checked
+     * @return is of type String {@link String} and contains tool command
+     */
+    public static String checkPeriodicBamStatus(String tag, String sampleName, String controlSampleName,
+                                                Configuration configuration, String index,
+                                                Collection<String> upstreamJobs) {
+        return checkPeriodicStatus(tag, sampleName, controlSampleName, configuration, index, upstreamJobs,
+                ERROR_BAM, CONFIRM_BAM);
+    }
+
+    /**
+     * Checks the status of the scripts processing the shards of a task and returns script command according to it.
+     * The shard scripts are named by the task of the configuration and the number of the shard.
+     * @param tag           the step of the shard scripts to check
+     * @param sampleName    the name of the sample
+     * @param configuration the configuration that contains information about:
+     *                      log output directory, workflow, custTask
+     * @param shards        the number of the shards
+     * @param upstreamJobs  collects the names of the jobs, whose log files are checked
+     * @return script command
+     */
+    public static String checkPeriodicShardStatus(final String tag, final String sampleName,
+                                                  final Configuration configuration, final int shards,
+                                                  final Collection<String> upstreamJobs) {
+        final StringBuilder cmd = new StringBuilder();
+        for (int i = 1; i <= shards; i++) {
+            cmd.append(checkPeriodicStatus(tag, sampleName, null, configuration, String.valueOf(i), upstreamJobs,
+                    ERROR_SHARD, CONFIRM_SHARD));
+        }
+        return cmd.toString();
+    }
+
+    private static String checkPeriodicStatus(String tag, String sampleName, String controlSampleName,
+                                              Configuration configuration, String index,
+                                              Collection<String> upstreamJobs, String errorPrefix,
+                                              String confirmPrefix) {
         Integer period = getDefaultOrSpecifiedPeriod(configuration);
         AdditionalFields additionalFields = initializeAdditionalFields(configuration, sampleName, controlSampleName,
                 index);
         LogFileFields logFileFields = initializeLogFields(configuration, additionalFields);
         Map<String, String> msgMap = new HashMap<>();
         if (Optional.ofNullable(index).isPresent()) {
-            msgMap.put(ERROR_MSG_WITH_SAMPLE, format(MSG_WITH_SAMPLE_FORMAT_INDEX, ERROR_BAM, sampleName, index));
-            msgMap.put(CONFIRM_MSG_WITH_SAMPLE, format(MSG_WITH_SAMPLE_FORMAT_INDEX, CONFIRM_BAM, sampleName,
+            msgMap.put(ERROR_MSG_WITH_SAMPLE, format(MSG_WITH_SAMPLE_FORMAT_INDEX, errorPrefix, sampleName, index));
+            msgMap.put(CONFIRM_MSG_WITH_SAMPLE, format(MSG_WITH_SAMPLE_FORMAT_INDEX, confirmPrefix, sampleName,
                     index));
+            upstreamJobs.add(additionalFields.fileNameWithSampleNameIndex);
         } else {
-            msgMap.put(ERROR_MSG_WITH_SAMPLE, format(MSG_WITH_SAMPLE_FORMAT, ERROR_BAM, sampleName));
-            msgMap.put(CONFIRM_MSG_WITH_SAMPLE, format(MSG_WITH_SAMPLE_FORMAT, CONFIRM_BAM, sampleName));
+            msgMap.put(ERROR_MSG_WITH_SAMPLE, format(MSG_WITH_SAMPLE_FORMAT, errorPrefix, sampleName));
+            msgMap.put(CONFIRM_MSG_WITH_SAMPLE, format(MSG_WITH_SAMPLE_FORMAT, confirmPrefix, sampleName));
+            upstreamJobs.add(additionalFields.fileNameWithSampleName);
             if (isPaired(controlSampleName)) {
-                msgMap.put(ERROR_MSG_WITH_CONTROL_SAMPLE, format(MSG_WITH_CONTROL_SAMPLE_FORMAT, ERROR_BAM,
+                msgMap.put(ERROR_MSG_WITH_CONTROL_SAMPLE, format(MSG_WITH_CONTROL_SAMPLE_FORMAT, errorPrefix,
                         sampleName));
-                msgMap.put(CONFIRM_MSG_WITH_CONTROL_SAMPLE, format(MSG_WITH_CONTROL_SAMPLE_FORMAT, CONFIRM_BAM,
+                msgMap.put(CONFIRM_MSG_WITH_CONTROL_SAMPLE, format(MSG_WITH_CONTROL_SAMPLE_FORMAT, confirmPrefix,
                         sampleName));
+                upstreamJobs.add(additionalFields.fileNameWithControlSampleName);
             }
         }
         TaskContainer.addTasks(tag);
-        return getLogFileScanningShellScript(logFileFields, tag, msgMap, period, index);
+        final String templateName = PipelineUtils.isEventStatusCheck(configuration)
+                ? LOGFILE_STATUS_CHECK_TEMPLATE_NAME
+                : LOGFILE_SCANNING_SHELL_SCRIPT_TEMPLATE_NAME;
+        return TEMPLATE_ENGINE.process(templateName, buildContext(logFileFields, tag, msgMap, period, index));
     }
 
     /**
@@ -128,10 +185,28 @@ public final class DnaUtils {
     public static String periodicIndexBamStatusCheckForFastqList(final List<String> fastqs1, final String sampleName,
                                                                  final String controlSampleName,
                                                                  final Configuration configuration) {
+        return periodicIndexBamStatusCheckForFastqList(fastqs1, sampleName, controlSampleName, configuration,
+                new ArrayList<>());
+    }
+
+    /**
+     * Checks periodic bam status for each fastq file and returns script command according to it
+     * @param fastqs1 the list of fastq files
+     * @param sampleName the name of the sample
+     * @param controlSampleName the name of the control sample
+     * @param configuration the configuration that contains information about:
+     *                      log output directory, workflow, custTask
+     * @param upstreamJobs collects the names of the jobs, whose log files are checked
+     * @return script command
+     */
+    public static String periodicIndexBamStatusCheckForFastqList(final List<String> fastqs1, final String sampleName,
+                                                                 final String controlSampleName,
+                                                                 final Configuration configuration,
+                                                                 final Collection<String> upstreamJobs) {
         final StringBuilder cmd = new StringBuilder();
         for (int i = 0; i < fastqs1.size(); i++) {
             cmd.append(checkPeriodicBamStatus(BAM_INDEX_TAG, sampleName, controlSampleName, configuration,
-                    String.valueOf(i + 1)));
+                    String.valueOf(i + 1), upstreamJobs));
         }
         final Context context = new Context();
         context.setVariable("cmd", cmd.toString());
@@ -156,24 +231,19 @@ public final class DnaUtils {
         return configuration.getGlobalConfig().getPipelineInfo().getWorkflow().toLowerCase().contains("wgs");
     }
 
-    private static String getLogFileScanningShellScript(LogFileFields logFileFields, String tag,
-                                                        Map<String, String> msgMap, Integer period, String index) {
-        return TEMPLATE_ENGINE.process(LOGFILE_SCANNING_SHELL_SCRIPT_TEMPLATE_NAME, buildContext(logFileFields,
-                tag, msgMap, period, index));
-    }
-
     private static Context buildContext(LogFileFields logFileFields, String tag, Map<String, String> msgMap,
                                         Integer period, String index) {
         TaskContainer.addTasks(tag);
         Context context = new Context();
         String ifScript1 = "if [[ $str == \"*Error Step: ";
         String ifScript2 = "if [[ -f $logFile  ]];";
+        String ifScript3 = "if [[ $str != *\"Successful Step: ";
         String whileScript = "while [[ $str = \"\" ]]";
         context.setVariable("logFileWithSampleName", logFileFields.logFileWithSampleName);
         context.setVariable("logFileWithControlSampleName", logFileFields.logFileWithControlSampleName);
         context.setVariable("logFileWithSampleNameIndex", logFileFields.logFileWithSampleNameIndex);
         context.setVariable("tag", tag);
-        context.setVariable("steps", String.join("|", TaskContainer.getTasks()));
+        context.setVariable("steps", String.join("|", TaskContainer.getTasksSnapshot()));
         context.setVariable(ERROR_MSG_WITH_SAMPLE, msgMap.get(ERROR_MSG_WITH_SAMPLE));
         context.setVariable(CONFIRM_MSG_WITH_SAMPLE, msgMap.get(CONFIRM_MSG_WITH_SAMPLE));
         context.setVariable(ERROR_MSG_WITH_CONTROL_SAMPLE, msgMap.get(ERROR_MSG_WITH_CONTROL_SAMPLE));
@@ -182,6 +252,7 @@ public final class DnaUtils {
         context.setVariable("index", index);
         context.setVariable("ifScript1", ifScript1);
         context.setVariable("ifScript2", ifScript2);
+        context.setVariable("ifScript3", ifScript3);
         context.setVariable("whileScript", whileScript);
         return context;
     }
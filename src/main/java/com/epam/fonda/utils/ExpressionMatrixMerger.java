@@ -0,0 +1,455 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+
+/**
+ * The <tt>ExpressionMatrixMerger</tt> class merges the gene expression results of the cohort samples into
+ * the <tt>Result_summary/merged_&lt;tool&gt;_*.gene.expression.results</tt> matrices, the same as
+ * <tt>rna_expression_data_analysis.R</tt> does. The samples are parsed concurrently and each sample column is
+ * written to a column-major temporary file as soon as it is parsed, then the matrices are written by blocks
+ * of rows, so that the memory does not depend on the number of the samples. The rows are sorted by the code points
+ * of the gene ids, whereas R sorts them by the collation of its locale, so the gene ids differing in case or
+ * punctuation may follow in another order than in the R output, e.g. <tt>ZNF1</tt> precedes <tt>abc1</tt> here.
+ */
+@Slf4j
+public final class ExpressionMatrixMerger {
+    public static final String RESULT_DIR = "Result_summary";
+    private static final String SAMPLE_COLUMN = "shortName";
+    private static final String GENE_SYMBOL_COLUMN = "gene_symbol";
+    private static final Pattern RESULT_FILE_PATTERN = Pattern.compile("\\.gene\\.expression\\.results");
+    private static final String DELIMITER = "\t";
+    private static final String COMMENT = "#";
+    private static final String NA = "NA";
+    private static final double MILLION = 1e6;
+    private static final int SIGNIFICANT_DIGITS = 15;
+    private static final MathContext PRECISION = new MathContext(SIGNIFICANT_DIGITS, RoundingMode.HALF_EVEN);
+    private static final int LARGE_EXPONENT = 100;
+
+    private final Path workDir;
+    private final ExpressionTool tool;
+    private final int threads;
+    private final long blockMemory;
+
+    /**
+     * @param workDir     the output directory of the study, that contains a directory per sample
+     * @param tool        the tool, that has estimated the gene expression: rsem, cufflinks or stringtie
+     * @param threads     the number of the samples parsed at the same time
+     * @param blockMemory the memory in bytes of the block of rows, that is read from the column-major file at once
+     */
+    public ExpressionMatrixMerger(final Path workDir, final String tool, final int threads, final long blockMemory) {
+        this.workDir = workDir;
+        this.tool = ExpressionTool.of(tool);
+        this.threads = Math.max(1, threads);
+        this.blockMemory = Math.max(Double.BYTES, blockMemory);
+    }
+
+    /**
+     * Merges the gene expression results of the samples listed in the <tt>shortName</tt> column of the sample list.
+     * @param args the <tt>-i</tt> sample list, the <tt>-d</tt> output directory, the <tt>-t</tt> tool and
+     *             the optional <tt>-p</tt> number of threads
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public static void main(final String[] args) {
+        try {
+            final CommandLine cmd = new DefaultParser().parse(options(), args);
+            final Path workDir = Paths.get(cmd.getOptionValue("d"));
+            final int threads = Integer.parseInt(cmd.getOptionValue("p", "1"));
+            final ExpressionMatrixMerger merger = new ExpressionMatrixMerger(workDir, cmd.getOptionValue("t"),
+                    threads, Runtime.getRuntime().maxMemory() / 4);
+            merger.merge(readSamples(workDir.resolve(cmd.getOptionValue("i"))));
+        } catch (Exception e) {
+            log.error("Error Step: Merge gene expression: " + e.getMessage());
+            System.exit(PipelineUtils.ERROR_STATUS);
+        }
+    }
+
+    /**
+     * @param samples the sample names in the order of the matrix columns
+     * @return the written matrices
+     * @throws IOException if an I/O error has occurred while reading the results or writing the matrices
+     */
+    public List<Path> merge(final List<String> samples) throws IOException {
+        final Map<String, Path> resultFiles = new LinkedHashMap<>();
+        for (String sample : samples) {
+            findResultFile(sample).ifPresent(file -> resultFiles.put(sample, file));
+        }
+        if (resultFiles.isEmpty()) {
+            throw new IllegalArgumentException("no gene expression results were found");
+        }
+        final Path resultDir = Files.createDirectories(workDir.resolve(RESULT_DIR));
+        final Column reference = tool.parse(resultFiles.values().iterator().next());
+        final Path matrixFile = Files.createTempFile(resultDir, "merged_" + tool.getToolName(), ".tmp");
+        try (FileChannel matrix = FileChannel.open(matrixFile, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE)) {
+            final double[] sums = writeColumns(matrix, new ArrayList<>(resultFiles.values()), reference);
+            return writeMatrices(matrix, resultDir, new ArrayList<>(resultFiles.keySet()), reference, sums);
+        }
+    }
+
+    /**
+     * Formats the value as R converts a double to a string: with up to 15 significant digits, in the fixed
+     * notation unless the scientific one is shorter or the integer part has more than 15 digits.
+     * @param value the value
+     * @return the string representation of the value
+     */
+    public static String formatValue(final double value) {
+        if (Double.isNaN(value)) {
+            return NA;
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "Inf" : "-Inf";
+        }
+        if (value == 0) {
+            return "0";
+        }
+        final BigDecimal rounded = new BigDecimal(value).round(PRECISION).stripTrailingZeros();
+        final int digits = rounded.precision();
+        final int exponent = digits - 1 - rounded.scale();
+        final int sign = rounded.signum() < 0 ? 1 : 0;
+        final int fixedWidth = exponent >= 0
+                ? sign + exponent + 1 + (digits > exponent + 1 ? digits - exponent : 0)
+                : sign + 1 - exponent + digits;
+        final int scientificWidth = sign + digits + (digits > 1 ? 1 : 0)
+                + (Math.abs(exponent) >= LARGE_EXPONENT ? 5 : 4);
+        if (fixedWidth <= scientificWidth && exponent < SIGNIFICANT_DIGITS) {
+            return rounded.toPlainString();
+        }
+        return format("%se%s%02d", rounded.movePointLeft(exponent).toPlainString(), exponent < 0 ? "-" : "+",
+                Math.abs(exponent));
+    }
+
+    /**
+     * @param sampleList the sample list with the <tt>shortName</tt> column
+     * @return the distinct sample names in the order of the list
+     * @throws IOException if an I/O error has occurred while reading the sample list
+     */
+    public static List<String> readSamples(final Path sampleList) throws IOException {
+        final Table table = Table.read(sampleList);
+        final int column = table.getColumn(SAMPLE_COLUMN, sampleList);
+        return new ArrayList<>(table.getRows().stream()
+                .map(fields -> fields[column])
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    private Optional<Path> findResultFile(final String sample) throws IOException {
+        final Path sampleDir = workDir.resolve(sample);
+        if (!Files.isDirectory(sampleDir)) {
+            log.info(format("The gene expression results for %s does not exist!", sample));
+            return Optional.empty();
+        }
+        final Path toolDir = sampleDir.resolve(tool.getToolName());
+        Optional<Path> resultFile = Optional.empty();
+        if (Files.isDirectory(toolDir)) {
+            try (Stream<Path> files = Files.list(toolDir)) {
+                resultFile = files.filter(file -> RESULT_FILE_PATTERN.matcher(file.getFileName().toString()).find())
+                        .min(Comparator.comparing(file -> file.getFileName().toString()));
+            }
+        }
+        if (!resultFile.isPresent()) {
+            log.info(format("The gene expression results of %s for %s does not exist!", tool.getToolName(), sample));
+        }
+        return resultFile;
+    }
+
+    /**
+     * Parses the samples concurrently and writes each column at its offset in the column-major file,
+     * at most <tt>threads</tt> columns are kept in the memory at once.
+     * @return the sum of each column
+     */
+    private double[] writeColumns(final FileChannel matrix, final List<Path> files, final Column reference)
+            throws IOException {
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Double>> sums = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                final int index = i;
+                sums.add(pool.submit(() -> writeColumn(matrix, files.get(index), index, reference)));
+            }
+            final double[] result = new double[files.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = sums.get(i).get();
+            }
+            return result;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Merge of the gene expression results was interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private double writeColumn(final FileChannel matrix, final Path file, final int index, final Column reference)
+            throws IOException {
+        final Column column = index == 0 ? reference : tool.parse(file);
+        if (!Arrays.equals(column.getGenes(), reference.getGenes())) {
+            throw new IllegalArgumentException(format("the genes of %s differ from the genes of the "
+                    + "first sample", file));
+        }
+        final double[] values = column.getValues();
+        final ByteBuffer buffer = ByteBuffer.allocate(values.length * Double.BYTES);
+        buffer.asDoubleBuffer().put(values);
+        long position = (long) index * values.length * Double.BYTES;
+        while (buffer.hasRemaining()) {
+            position += matrix.write(buffer, position);
+        }
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double value : values) {
+            if (Double.isNaN(value)) {
+                return Double.NaN;
+            }
+            sum = sum.add(new BigDecimal(value));
+        }
+        return sum.doubleValue();
+    }
+
+    private List<Path> writeMatrices(final FileChannel matrix, final Path resultDir, final List<String> samples,
+                                     final Column reference, final double[] sums) throws IOException {
+        final Path valueFile = resultDir.resolve(format("merged_%s_%s.gene.expression.results", tool.getToolName(),
+                tool.getValueColumn().toLowerCase(Locale.ENGLISH)));
+        final Path tpmFile = resultDir.resolve(format("merged_%s_tpm.gene.expression.results", tool.getToolName()));
+        final boolean convert = !valueFile.equals(tpmFile);
+        final String header = GENE_SYMBOL_COLUMN + DELIMITER + String.join(DELIMITER, samples);
+        final int rows = reference.getGenes().length;
+        final int columns = samples.size();
+        final int blockRows = (int) Math.max(1, Math.min(rows, blockMemory / ((long) columns * Double.BYTES)));
+        try (BufferedWriter values = Files.newBufferedWriter(valueFile, StandardCharsets.UTF_8);
+             BufferedWriter tpm = convert ? Files.newBufferedWriter(tpmFile, StandardCharsets.UTF_8) : null) {
+            writeLine(values, tpm, header, header);
+            final double[][] block = new double[columns][blockRows];
+            for (int start = 0; start < rows; start += blockRows) {
+                final int size = Math.min(blockRows, rows - start);
+                for (int column = 0; column < columns; column++) {
+                    readBlock(matrix, block[column], (long) column * rows + start, size);
+                }
+                for (int row = 0; row < size; row++) {
+                    final StringBuilder valueLine = new StringBuilder(reference.getNames()[start + row]);
+                    final StringBuilder tpmLine = new StringBuilder(valueLine);
+                    for (int column = 0; column < columns; column++) {
+                        final double value = block[column][row];
+                        valueLine.append(DELIMITER).append(formatValue(value));
+                        if (convert) {
+                            tpmLine.append(DELIMITER).append(formatValue(value * MILLION / sums[column]));
+                        }
+                    }
+                    writeLine(values, tpm, valueLine.toString(), tpmLine.toString());
+                }
+            }
+        }
+        return convert ? Arrays.asList(valueFile, tpmFile) : Collections.singletonList(valueFile);
+    }
+
+    private static void writeLine(final BufferedWriter values, final BufferedWriter tpm, final String valueLine,
+                                  final String tpmLine) throws IOException {
+        values.write(valueLine);
+        values.newLine();
+        if (tpm != null) {
+            tpm.write(tpmLine);
+            tpm.newLine();
+        }
+    }
+
+    private static void readBlock(final FileChannel matrix, final double[] block, final long offset, final int size)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(size * Double.BYTES);
+        long position = offset * Double.BYTES;
+        while (buffer.hasRemaining()) {
+            final int read = matrix.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of the merged matrix");
+            }
+            position += read;
+        }
+        buffer.flip();
+        buffer.asDoubleBuffer().get(block, 0, size);
+    }
+
+    private static Options options() {
+        final Options options = new Options();
+        options.addOption(requiredOption("i", "the sample list with the shortName column"));
+        options.addOption(requiredOption("d", "the output directory of the study"));
+        options.addOption(requiredOption("t", "the tool: rsem, cufflinks or stringtie"));
+        options.addOption(new Option("p", true, "the number of the samples parsed at the same time"));
+        return options;
+    }
+
+    private static Option requiredOption(final String name, final String description) {
+        final Option option = new Option(name, true, description);
+        option.setRequired(true);
+        return option;
+    }
+
+    /**
+     * The expression results of a sample sorted by the gene ids.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class Column {
+        private final String[] genes;
+        private final String[] names;
+        private final double[] values;
+    }
+
+    /**
+     * The tab delimited table, the text after <tt>#</tt> and the blank lines are skipped as by R
+     * <tt>read.table</tt>.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class Table {
+        private final Map<String, Integer> header;
+        private final List<String[]> rows;
+
+        static Table read(final Path file) throws IOException {
+            final Map<String, Integer> header = new HashMap<>();
+            final List<String[]> rows = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final String content = StringUtils.substringBefore(line, COMMENT);
+                    if (StringUtils.isBlank(content)) {
+                        continue;
+                    }
+                    final String[] fields = content.split(DELIMITER, -1);
+                    if (header.isEmpty()) {
+                        IntStream.range(0, fields.length).forEach(i -> header.putIfAbsent(fields[i], i));
+                    } else {
+                        rows.add(fields);
+                    }
+                }
+            }
+            return new Table(header, rows);
+        }
+
+        int getColumn(final String name, final Path file) {
+            final Integer column = header.get(name);
+            if (column == null) {
+                throw new IllegalArgumentException(format("the column %s is not found in %s", name,
+                        file));
+            }
+            return column;
+        }
+    }
+
+    /**
+     * The columns of the gene expression results of each tool.
+     */
+    @Getter
+    private enum ExpressionTool {
+        RSEM("rsem", "gene_id", "TPM", new String[]{"gene_symbol"}),
+        CUFFLINKS("cufflinks", "gene_id", "FPKM", new String[]{"tracking_id", "gene_id", "gene_short_name", "locus"}),
+        STRINGTIE("stringtie", "Gene ID", "TPM", new String[]{"Gene Name"});
+
+        private final String toolName;
+        private final String geneColumn;
+        private final String valueColumn;
+        private final String[] nameColumns;
+
+        ExpressionTool(final String toolName, final String geneColumn, final String valueColumn,
+                       final String[] nameColumns) {
+            this.toolName = toolName;
+            this.geneColumn = geneColumn;
+            this.valueColumn = valueColumn;
+            this.nameColumns = nameColumns;
+        }
+
+        static ExpressionTool of(final String name) {
+            return Arrays.stream(values())
+                    .filter(tool -> tool.toolName.equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            format("the gene expression results of %s cannot be merged", name)));
+        }
+
+        /**
+         * Parses the results and sorts them by the gene ids, the rows with the same gene id keep their order.
+         */
+        Column parse(final Path file) throws IOException {
+            final Table table = Table.read(file);
+            final int gene = table.getColumn(geneColumn, file);
+            final int value = table.getColumn(valueColumn, file);
+            final int[] names = Arrays.stream(nameColumns).mapToInt(column -> table.getColumn(column, file))
+                    .toArray();
+            final List<String[]> rows = new ArrayList<>(table.getRows());
+            rows.sort(Comparator.comparing(fields -> fields[gene]));
+            final int size = rows.size();
+            final String[] genes = new String[size];
+            final String[] geneNames = new String[size];
+            final double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                final String[] fields = rows.get(i);
+                genes[i] = fields[gene];
+                geneNames[i] = Arrays.stream(names).mapToObj(column -> fields[column])
+                        .collect(Collectors.joining("|"));
+                values[i] = NA.equals(fields[value]) ? Double.NaN : Double.parseDouble(fields[value]);
+            }
+            return new Column(genes, geneNames, values);
+        }
+    }
+}
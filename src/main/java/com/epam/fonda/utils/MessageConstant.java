@@ -36,6 +36,20 @@ public final class MessageConstant {
             "waiting for all tasks to complete";
     public static final String MASTER_DESCRIPTION = "Default: no. Run fonda in master mode " +
             "representing the main master script to manage all Fonda created scripts";
+    public static final String PARALLEL_DESCRIPTION = "Default: 1. The number of worker threads used " +
+            "to generate the scripts for different samples concurrently";
+    public static final String DAG_DESCRIPTION = "Default: no. Run the scripts of the master mode on local machine " +
+            "by the built-in scheduler, that starts each script when its upstream scripts are completed " +
+            "and limits the running scripts by NUMTHREADS and MAXMEM. Implies -master and -local unless " +
+            "SCHEDULER is specified, then the scripts are submitted to the cluster";
+    public static final String RESUME_DESCRIPTION = "Default: no. Do not launch the scripts, that were completed " +
+            "by the previous run with the same content and whose outputs exist";
+    public static final String EXECUTOR_THREADS_DESCRIPTION = "Default: unlimited. The maximal number of scripts " +
+            "launched by fonda on local machine that run at the same time, the other scripts wait in the queue";
+    public static final String PROFILE_DESCRIPTION = "Default: no. Record the wall time, CPU time, peak memory " +
+            "and I/O bytes of each tool to the resource profile of the sample";
+    public static final String ARRAY_DESCRIPTION = "Default: no. Submit the scripts of the same type and task " +
+            "of all samples as a single SGE array job from the master script. Implies -master";
     public static final String HEADER = "\nFonda (Framework Of NGS Data Analysis)";
 
     static {
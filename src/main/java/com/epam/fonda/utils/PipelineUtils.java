@@ -15,16 +15,23 @@
  */
 package com.epam.fonda.utils;
 
+import com.epam.fonda.CompletionWatcher;
 import com.epam.fonda.entity.command.AbstractCommand;
 import com.epam.fonda.entity.command.BashCommand;
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.EOLMarker;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.entity.configuration.StatusCheckMode;
+import com.epam.fonda.entity.configuration.orchestrator.JobScheduler;
+import com.epam.fonda.entity.configuration.orchestrator.LocalDagScheduler;
 import com.epam.fonda.samples.fastq.FastqFileSample;
 import com.epam.fonda.tools.results.FastqOutput;
 import com.epam.fonda.tools.results.FastqResult;
+import com.epam.fonda.workflow.Checkpoints;
 import com.epam.fonda.workflow.TaskContainer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -37,19 +44,24 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.epam.fonda.Executor.execute;
+import static com.epam.fonda.Executor.executeOnCompletion;
+import static com.epam.fonda.Executor.launch;
 import static com.epam.fonda.entity.configuration.EOLMarker.CRLF;
 import static com.epam.fonda.entity.configuration.EOLMarker.LF;
 import static java.lang.String.format;
 
 @Slf4j
 public final class PipelineUtils {
-    public static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    public static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
 
     public static final String NA = "NA";
     public static final String CASE = "case";
@@ -68,10 +80,15 @@ public final class PipelineUtils {
 
     private static final String STATIC_SHELL_TEMPLATE_NAME = "static_shell_template";
     private static final String ADD_TASK_TEMPLATE_NAME = "add_task_template";
+    private static final String ADD_PARALLEL_TASK_TEMPLATE_NAME = "add_parallel_task_template";
+    private static final String JOIN_PARALLEL_TASKS_TEMPLATE_NAME = "join_parallel_tasks_template";
+    private static final String ARRAY_JOB_TEMPLATE_NAME = "array_job_template";
     private static final String CLEAN_UP_TMPDIR_TEMPLATE_NAME = "clean_up_tmpDir_template";
     private static final String MERGE_FASTQ_TEMPLATE_NAME = "merge_fastq_template";
+    private static final String CHECKPOINT_TEMPLATE_NAME = "checkpoint_template";
 
     public static final int ERROR_STATUS = 1;
+    private static final long MEGABYTE = 1024 * 1024;
 
     /**
      * This method generates jar path for pipeline tools.
@@ -86,6 +103,15 @@ public final class PipelineUtils {
             }
             return srcPath;
         }
+        return getJarPath();
+    }
+
+    /**
+     * This method generates the path of the directory of the fonda jar regardless of the <tt>src_path</tt>.
+     *
+     * @return absolute path of type {@link String}
+     **/
+    public static String getJarPath() {
         final String executionPath = PipelineUtils.class.getProtectionDomain().getCodeSource().getLocation().getPath();
         final String path = executionPath.substring(0, executionPath.lastIndexOf(SLASH));
         try {
@@ -109,11 +135,49 @@ public final class PipelineUtils {
      **/
     public static String createStaticShell(Configuration configuration, String task,
                                          String cmd, String sampleName) throws IOException {
-        cmd += JOB_FINISH;
-        Map<String, String> variablesMap = initializeVariablesMap(configuration, sampleName, task);
+        return createStaticShell(configuration, task, cmd, sampleName, null, Collections.emptyList());
+    }
+
+    /**
+     * This method creates script and writes it into the file. In the event status check mode the script
+     * submitted to the queue is held until the upstream jobs are completed. In the resume mode the script records
+     * its own checkpoint, the script is completed if the previous run has completed the script with the same
+     * content and all its upstream tasks are completed too.
+     *
+     * @param configuration is the type of {@link Configuration} which contains
+     *                      its fields: workflow, local, numThreads, pe, queue.
+     * @param task          is the type or {@link String} and contains the name of the task.
+     * @param cmd           is the type or {@link String} and contains the bash script.
+     * @param sampleName    sample name
+     * @param index         the index of the script, if the task is split into several scripts
+     * @param upstreamJobs  the names of the jobs, that should be completed before the script is started
+     * @return absolute path to the file {@link String}
+     * @throws IOException throws when file cannot be written or be created properly
+     **/
+    public static String createStaticShell(Configuration configuration, String task, String cmd, String sampleName,
+                                           String index, Collection<String> upstreamJobs) throws IOException {
+        Map<String, String> variablesMap = initializeVariablesMap(configuration, sampleName, task, index);
+        final List<String> holdJobs = upstreamJobs.stream()
+                .filter(job -> !Checkpoints.isSkipped(job))
+                .distinct()
+                .collect(Collectors.toList());
+        if (isEventStatusCheck(configuration) && !configuration.isLocalMode() && !holdJobs.isEmpty()) {
+            variablesMap.put("holdJobs", String.join(",", holdJobs));
+        }
         Context context = new Context();
         context.setVariable(VARIABLES_MAP, variablesMap);
         String staticShell = TEMPLATE_ENGINE.process(STATIC_SHELL_TEMPLATE_NAME, context);
+        final String fileName = variablesMap.get("fileName");
+        if (configuration.isResumeMode()) {
+            final String hash = Checkpoints.hash(staticShell + cmd);
+            Checkpoints.addTask(fileName, Checkpoints.isCompleted(fileName, hash)
+                    && upstreamJobs.stream().allMatch(Checkpoints::isCompletedTask));
+            cmd += checkpoint(configuration, fileName, hash, Collections.emptyList());
+        }
+        cmd += JOB_FINISH;
+        if (configuration.isProfileMode()) {
+            cmd = ResourceProfiler.profile(configuration, TEMPLATE_ENGINE, cmd, sampleName, fileName);
+        }
         final String shellToSubmit = String.valueOf(variablesMap.get("shellToSubmit"));
         writeToFile(shellToSubmit, staticShell + cmd,
                 configuration.getGlobalConfig().getPipelineInfo().getLineEnding());
@@ -141,11 +205,84 @@ public final class PipelineUtils {
      * @return resulting script of type {@link String}
      **/
     public static String addTask(Configuration configuration, String task, String sampleName) {
-        Map<String, String> variablesMap = initializeVariablesMap(configuration, sampleName, task);
+        return addTask(configuration, task, sampleName, null);
+    }
+
+    /**
+     * This method adds task name to the script.
+     *
+     * @param configuration is the type of {@link Configuration} which contains
+     *                      its fields: workflow, local, numThreads, pe, queue.
+     * @param task          is the type or {@link String} and contains the name of the task.
+     * @param sampleName    sample name
+     * @param index         the index of the script, if the task is split into several scripts
+     * @return resulting script of type {@link String}
+     **/
+    public static String addTask(Configuration configuration, String task, String sampleName, String index) {
+        Map<String, String> variablesMap = initializeVariablesMap(configuration, sampleName, task, index);
+        Context context = new Context();
+        context.setVariable(VARIABLES_MAP, variablesMap);
+        TaskContainer.addTasks(format("Run %s", task));
+        return taskCommand(configuration, variablesMap.get("fileName"),
+                TEMPLATE_ENGINE.process(ADD_TASK_TEMPLATE_NAME, context));
+    }
+
+    /**
+     * @param configuration is the type of {@link Configuration} which contains its fields: local, master,
+     *                      parallelTasks.
+     * @return true if the scripts of the tasks are run by the local script concurrently
+     */
+    public static boolean isParallelTasks(final Configuration configuration) {
+        return configuration.isLocalMode() && !configuration.isMasterMode()
+                && configuration.getGlobalConfig().getQueueParameters().getParallelTasks() > 1;
+    }
+
+    /**
+     * This method adds the task, that is run in the background, to the script. At most <tt>PARALLEL_TASKS</tt>
+     * tasks are run at the same time, the script waits for the earliest task before starting a new one.
+     *
+     * @param configuration is the type of {@link Configuration} which contains
+     *                      its fields: workflow, parallelTasks.
+     * @param task          is the type or {@link String} and contains the name of the task.
+     * @param sampleName    sample name
+     * @param index         the index of the script, if the task is split into several scripts
+     * @return resulting script of type {@link String}
+     **/
+    public static String addParallelTask(Configuration configuration, String task, String sampleName,
+                                         String index) {
+        Map<String, String> variablesMap = initializeVariablesMap(configuration, sampleName, task, index);
+        variablesMap.put("parallelTasks",
+                String.valueOf(configuration.getGlobalConfig().getQueueParameters().getParallelTasks()));
         Context context = new Context();
         context.setVariable(VARIABLES_MAP, variablesMap);
         TaskContainer.addTasks(format("Run %s", task));
-        return TEMPLATE_ENGINE.process(ADD_TASK_TEMPLATE_NAME, context);
+        return taskCommand(configuration, variablesMap.get("fileName"),
+                TEMPLATE_ENGINE.process(ADD_PARALLEL_TASK_TEMPLATE_NAME, context));
+    }
+
+    private static String taskCommand(final Configuration configuration, final String fileName,
+                                      final String command) {
+        if (configuration.isResumeMode()) {
+            Checkpoints.addTaskCommand(fileName, command);
+        }
+        return command;
+    }
+
+    /**
+     * This method wraps the tasks added by {@link #addParallelTask} so that the script waits for all of them
+     * and fails if any of them has failed.
+     *
+     * @param tasks the script adding the parallel tasks
+     * @return resulting script of type {@link String}
+     **/
+    public static String joinParallelTasks(String tasks) {
+        if (StringUtils.isBlank(tasks)) {
+            return StringUtils.EMPTY;
+        }
+        Context context = new Context();
+        context.setVariable("tasks", tasks);
+        TaskContainer.addTasks("Join secondary tasks");
+        return TEMPLATE_ENGINE.process(JOIN_PARALLEL_TASKS_TEMPLATE_NAME, context);
     }
 
     /**
@@ -175,8 +312,44 @@ public final class PipelineUtils {
      */
     public static String printShell(Configuration configuration, String cmd, String sampleName, String index)
             throws IOException {
+        return printShell(configuration, cmd, sampleName, index, Collections.emptySet());
+    }
+
+    /**
+     * This method creates script, writes it into the file and executes it. In the event status check mode the
+     * script is started only after the upstream jobs are finished.
+     *
+     * @param configuration is the type of {@link Configuration} which contains
+     *                      its fields: workflow, local, numThreads, pe, queue.
+     * @param cmd           is the type or {@link String} and contains the bash script.
+     * @param sampleName    sample name
+     * @param upstreamJobs  the names of the jobs, whose steps are checked by the script
+     * @throws IOException throws when file cannot be written or be created properly
+     */
+    public static String printShell(Configuration configuration, String cmd, String sampleName, String index,
+                                    Collection<String> upstreamJobs) throws IOException {
+        return printShell(configuration, cmd, sampleName, index, upstreamJobs, Collections.emptyList());
+    }
+
+    /**
+     * This method creates script, writes it into the file and executes it. In the resume mode the script is not
+     * executed if the previous run has completed the script with the same content, all its outputs exist and all
+     * its upstream jobs are skipped. The cohort script is executed if any script is executed by the current run.
+     * The tasks of the skipped script, that are not completed, are executed by themselves.
+     *
+     * @param configuration is the type of {@link Configuration} which contains
+     *                      its fields: workflow, local, numThreads, pe, queue.
+     * @param cmd           is the type or {@link String} and contains the bash script.
+     * @param sampleName    sample name
+     * @param upstreamJobs  the names of the jobs, whose steps are checked by the script
+     * @param outputs       the files produced by the script
+     * @throws IOException throws when file cannot be written or be created properly
+     */
+    public static String printShell(Configuration configuration, String cmd, String sampleName, String index,
+                                    Collection<String> upstreamJobs, Collection<String> outputs)
+            throws IOException {
         Map<String, String> variablesMap = initializeVariablesMap(configuration, sampleName,
-                configuration.getCustTask());
+                configuration.getCustTask(), null);
         String workflow = configuration.getGlobalConfig().getPipelineInfo().getWorkflow();
         String custTask = configuration.getCustTask();
         String fileName = StringUtils.isNotBlank(sampleName)
@@ -184,44 +357,166 @@ public final class PipelineUtils {
                 : format("%s_%s_for_cohort_analysis", workflow, custTask);
         String shellToSubmit = format("%s/%s.sh", configuration.getCommonOutdir().getShOutdir(), fileName);
         variablesMap.put("fileName", fileName);
+        final List<String> holdJobs = upstreamJobs.stream()
+                .filter(job -> !job.equals(fileName))
+                .filter(job -> !Checkpoints.isSkipped(job))
+                .distinct()
+                .collect(Collectors.toList());
+        if (isEventStatusCheck(configuration)) {
+            if (configuration.isLocalMode()) {
+                variablesMap.put("completionMarker", CompletionWatcher.getMarker(
+                        configuration.getCommonOutdir().getLogOutdir(), fileName).toString());
+            } else if (!holdJobs.isEmpty()) {
+                variablesMap.put("holdJobs", String.join(",", holdJobs));
+            }
+        }
         Context context = new Context();
         context.setVariable(VARIABLES_MAP, variablesMap);
         String staticShell = TEMPLATE_ENGINE.process(STATIC_SHELL_TEMPLATE_NAME, context);
+        String script = staticShell + (configuration.isProfileMode()
+                ? ResourceProfiler.profile(configuration, TEMPLATE_ENGINE, cmd, sampleName, fileName)
+                : cmd);
+        boolean completed = false;
+        List<String> tasks = Collections.emptyList();
+        if (configuration.isResumeMode()) {
+            final String hash = Checkpoints.hash(script);
+            completed = Checkpoints.isCompleted(fileName, hash) && (StringUtils.isNotBlank(sampleName)
+                    ? holdJobs.isEmpty() : !Checkpoints.hasLaunchedJobs());
+            tasks = Checkpoints.resumeTasks(cmd, completed);
+            script += checkpoint(configuration, fileName, hash, outputs);
+        }
 
-        writeToFile(shellToSubmit, format("%s%s%s", staticShell, cmd, JOB_FINISH),
+        writeToFile(shellToSubmit, script + JOB_FINISH,
                 configuration.getGlobalConfig().getPipelineInfo().getLineEnding());
 
+        if (completed) {
+            Checkpoints.skip(fileName);
+            log.info(format("Script %s is skipped since it was completed by the previous run", shellToSubmit));
+            if (!configuration.isTestMode() && !configuration.isMasterMode()) {
+                tasks.forEach(task -> executeScript(configuration,
+                        format("%s/%s.sh", configuration.getCommonOutdir().getShOutdir(), task)));
+            }
+            return shellToSubmit;
+        }
+        if (configuration.isResumeMode()) {
+            Checkpoints.launch(fileName);
+        }
         if (!configuration.isTestMode() && !configuration.isMasterMode()) {
-            executeScript(configuration, shellToSubmit);
+            executeScript(configuration, shellToSubmit, holdJobs);
         }
 
         return shellToSubmit;
     }
 
+    private static String checkpoint(final Configuration configuration, final String fileName, final String hash,
+                                     final Collection<String> outputs) {
+        final Context context = new Context();
+        context.setVariable("job", fileName);
+        context.setVariable("hash", hash);
+        context.setVariable("outputs", Checkpoints.joinOutputs(outputs));
+        context.setVariable("manifest", Checkpoints.getManifest(configuration.getCommonOutdir().getRootOutdir()));
+        return TEMPLATE_ENGINE.process(CHECKPOINT_TEMPLATE_NAME, context);
+    }
+
+    /**
+     * This method writes the index file of the scripts and the SGE array job, each task of which runs the script
+     * from the corresponding line of the index file. The output of each script is redirected to its own log files,
+     * so that the status checks of the downstream scripts find them as if the script was submitted by itself.
+     *
+     * @param configuration is the type of {@link Configuration} which contains
+     *                      its fields: workflow, numThreads, pe, queue.
+     * @param task          the task of the scripts, the resources of the array job are taken from it
+     * @param index         the index of the array job, if the scripts of the task are split into several array jobs
+     * @param scripts       the script paths
+     * @return the path to the array job script
+     * @throws IOException throws when file cannot be written or be created properly
+     */
+    public static String printArrayJob(final Configuration configuration, final String task, final String index,
+                                       final List<String> scripts) throws IOException {
+        final Map<String, String> variablesMap = initializeVariablesMap(configuration, null, task, null);
+        final String workflow = configuration.getGlobalConfig().getPipelineInfo().getWorkflow();
+        final String fileName = StringUtils.isNotBlank(index)
+                ? format("%s_%s_array_%s", workflow, task, index)
+                : format("%s_%s_array", workflow, task);
+        final String shOutdir = configuration.getCommonOutdir().getShOutdir();
+        final String shellToSubmit = format("%s/%s.sh", shOutdir, fileName);
+        final String indexFile = format("%s/%s.index", shOutdir, fileName);
+        final EOLMarker lineEnding = configuration.getGlobalConfig().getPipelineInfo().getLineEnding();
+        writeToFile(indexFile, String.join("\n", scripts) + "\n", lineEnding);
+        variablesMap.put("shellToSubmit", shellToSubmit);
+        variablesMap.put("fileName", fileName);
+        variablesMap.put("indexFile", indexFile);
+        variablesMap.put("tasksNumber", String.valueOf(scripts.size()));
+        final Context context = new Context();
+        context.setVariable(VARIABLES_MAP, variablesMap);
+        writeToFile(shellToSubmit, TEMPLATE_ENGINE.process(ARRAY_JOB_TEMPLATE_NAME, context), lineEnding);
+        return shellToSubmit;
+    }
+
     /**
      * This method executes a shell script.
      * @param configuration is the type of {@link Configuration} which contains
      *                      its fields: workflow, local, numThreads, pe, queue.
      * @param shellToSubmit is the type or {@link String} and contains a run script path.
      */
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public static void executeScript(final Configuration configuration, final String shellToSubmit) {
-        final String command = configuration.isLocalMode()
-                ? format("sh %s", shellToSubmit)
-                : format("qsub %s", shellToSubmit);
+        executeScript(configuration, shellToSubmit, Collections.emptyList());
+    }
+
+    /**
+     * This method executes a shell script. In the local mode with the event status check the script is launched
+     * when the completion markers of all the upstream jobs are created. The output of the submit command is appended
+     * to the <tt>.submit.log</tt> and <tt>.submit.err</tt> files of the script, so that it does not mix with the log
+     * files the script writes itself. The scripts launched asynchronously on the local machine are limited by
+     * the executor threads.
+     * @param configuration is the type of {@link Configuration} which contains
+     *                      its fields: workflow, local, numThreads, pe, queue.
+     * @param shellToSubmit is the type or {@link String} and contains a run script path.
+     * @param upstreamJobs  the names of the jobs the script depends on
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public static void executeScript(final Configuration configuration, final String shellToSubmit,
+                                     final Collection<String> upstreamJobs) {
+        final String command = JobScheduler.of(configuration)
+                .getSubmitCommand(shellToSubmit, configuration.isSyncMode());
+        final String logOutdir = configuration.getCommonOutdir().getLogOutdir();
+        final String jobName = FilenameUtils.getBaseName(shellToSubmit);
+        final Path logFile = Paths.get(logOutdir, jobName + ".submit.log");
+        final Path errFile = Paths.get(configuration.getCommonOutdir().getErrorOutdir(), jobName + ".submit.err");
 
+        if (configuration.isLocalMode() && isEventStatusCheck(configuration) && !upstreamJobs.isEmpty()) {
+            executeOnCompletion(command, logFile, errFile, upstreamJobs.stream()
+                    .map(job -> CompletionWatcher.getMarker(logOutdir, job))
+                    .collect(Collectors.toList()));
+            return;
+        }
         if (configuration.isSyncMode()) {
-            execute(command, configuration.isMasterMode());
+            execute(command, logFile, errFile);
             return;
         }
         try {
-            Runtime.getRuntime().exec(command);
+            if (configuration.isLocalMode()) {
+                launch(command, logFile, errFile);
+            } else {
+                Runtime.getRuntime().exec(command);
+            }
         } catch(Exception e) {
             log.error("In executing the command: " + command + ": " + e.getMessage());
             System.exit(ERROR_STATUS);
         }
     }
 
+    /**
+     * @param configuration is the type of {@link Configuration} which contains the global config
+     * @return true if the dependent scripts wait for the completion of the upstream jobs instead of polling,
+     * the scripts of the master and DAG modes keep polling since they are already launched in order,
+     * the scripts submitted to SLURM always poll since SLURM cannot hold them on the upstream job names
+     */
+    public static boolean isEventStatusCheck(final Configuration configuration) {
+        return configuration.getGlobalConfig().getToolConfig().getStatusCheckMode() == StatusCheckMode.EVENT
+                && !configuration.isMasterMode() && JobScheduler.of(configuration).isEventStatusCheckSupported();
+    }
+
     /**
      * This method merges fastq files.
      *
@@ -292,19 +587,28 @@ public final class PipelineUtils {
      * @return resulting map of type {@link Map}
      **/
     private static Map<String, String> initializeVariablesMap(Configuration configuration, String sampleName,
-                                                              String task) {
+                                                              String task, String index) {
         String workflow = configuration.getGlobalConfig().getPipelineInfo().getWorkflow();
         String shOutdir = configuration.getCommonOutdir().getShOutdir();
-        String fileName = format("%s_%s_for_%s_analysis", workflow, task, sampleName);
+        String fileName = constructFilenameIfSampleNotNull(sampleName, workflow, task, index);
         Map<String, String> variablesMap = new HashMap<>();
-        variablesMap.put("shellToSubmit", format("%s/%s.sh", shOutdir, fileName));
+        final JobScheduler jobScheduler = JobScheduler.of(configuration);
+        final String shellToSubmit = format("%s/%s.sh", shOutdir, fileName);
+        variablesMap.put("shellToSubmit", shellToSubmit);
         variablesMap.put("local", String.valueOf(configuration.isLocalMode()));
+        variablesMap.put("scheduler", jobScheduler.getName());
+        variablesMap.put("submitCommand", jobScheduler.getSubmitCommand(shellToSubmit, configuration.isSyncMode()));
         variablesMap.put("fileName", fileName);
         variablesMap.put("task", task);
-        variablesMap.put("numThreads", String.valueOf(configuration.getGlobalConfig().getQueueParameters()
-                .getNumThreads()));
-        variablesMap.put("queue", configuration.getGlobalConfig().getQueueParameters().getQueue());
-        variablesMap.put("pe", configuration.getGlobalConfig().getQueueParameters().getPe());
+        final GlobalConfig.QueueParameters queueParameters = configuration.getGlobalConfig().getQueueParameters();
+        final int numThreads = queueParameters.getNumThreads(task);
+        variablesMap.put("numThreads", String.valueOf(numThreads));
+        variablesMap.put("queue", queueParameters.getQueue(task));
+        variablesMap.put("pe", queueParameters.getPe());
+        final String toolMaxMem = queueParameters.getToolMaxMem(task);
+        if (StringUtils.isNotBlank(toolMaxMem)) {
+            variablesMap.put("slotMemory", getSlotMemory(toolMaxMem, numThreads));
+        }
         variablesMap.put("outdir", configuration.getCommonOutdir().getRootOutdir());
         variablesMap.put("sync", String.valueOf(configuration.isSyncMode()));
         return variablesMap;
@@ -321,6 +625,15 @@ public final class PipelineUtils {
         return StringUtils.isNoneBlank(sampleControlName) && !PipelineUtils.NA.equals(sampleControlName);
     }
 
+    /**
+     * SGE requests the memory per slot, so the memory of the task is divided between its threads.
+     */
+    private static String getSlotMemory(final String maxMem, final int numThreads) {
+        final long bytes = LocalDagScheduler.parseMemory(maxMem);
+        final long megabytes = (bytes + MEGABYTE - 1) / MEGABYTE;
+        return format("%dM", (megabytes + Math.max(1, numThreads) - 1) / Math.max(1, numThreads));
+    }
+
     private static String constructFilenameIfSampleNotNull(String sampleName, String workflow, String custTask,
                                                            String index) {
         return StringUtils.isNotBlank(index)
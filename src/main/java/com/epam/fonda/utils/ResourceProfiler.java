@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.utils;
+
+import com.epam.fonda.entity.configuration.Configuration;
+import org.apache.commons.lang3.StringUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * The <tt>ResourceProfiler</tt> class instruments the generated scripts in the profile mode. Each tool block,
+ * that starts with the <tt>Begin Step</tt> line and is completed with the <tt>Successful Step</tt> line, records
+ * its wall time, CPU time, peak resident memory and I/O bytes to the resource profile of the sample.
+ */
+public final class ResourceProfiler {
+    public static final String SUMMARY_NAME = "resource_profile_summary.tsv";
+    private static final String PROFILE_NAME = "resource_profile.tsv";
+    private static final String COHORT = "cohort";
+    private static final String RESOURCE_PROFILE_TEMPLATE_NAME = "resource_profile_template";
+    private static final String RESOURCE_PROFILE_SUMMARY_TEMPLATE_NAME = "resource_profile_summary_template";
+    private static final Pattern BEGIN_STEP = Pattern.compile("^(\\s*)echo `date` Begin Step: (.+?)\\.{3}\\s*$");
+    private static final Pattern SUCCESSFUL_STEP = Pattern.compile("^(\\s*)echo `date` Successful Step: .+$");
+    private static final String LINE_SEPARATOR = "\n";
+
+    private ResourceProfiler() {
+    }
+
+    /**
+     * @param configuration is the type of {@link Configuration} which contains the output directory
+     * @param sampleName    the sample name, blank for the cohort analysis scripts
+     * @return the path to the resource profile of the sample
+     */
+    public static String getProfile(final Configuration configuration, final String sampleName) {
+        final String rootOutdir = configuration.getCommonOutdir().getRootOutdir();
+        return StringUtils.isBlank(sampleName)
+                ? format("%s/%s_%s", rootOutdir, COHORT, PROFILE_NAME)
+                : format("%s/%s/%s_%s", rootOutdir, sampleName, sampleName, PROFILE_NAME);
+    }
+
+    /**
+     * Adds the profiling functions to the script and wraps each tool block with them.
+     * @param configuration  is the type of {@link Configuration} which contains the output directory
+     * @param templateEngine the {@link TemplateEngine}
+     * @param cmd            the commands of the script
+     * @param sampleName     the sample name, blank for the cohort analysis scripts
+     * @param fileName       the script name without the extension
+     * @return the instrumented commands
+     */
+    public static String profile(final Configuration configuration, final TemplateEngine templateEngine,
+                                 final String cmd, final String sampleName, final String fileName) {
+        final Context context = new Context();
+        context.setVariable("profileFile", getProfile(configuration, sampleName));
+        context.setVariable("sampleName", StringUtils.isBlank(sampleName) ? COHORT : sampleName);
+        context.setVariable("job", fileName);
+        return templateEngine.process(RESOURCE_PROFILE_TEMPLATE_NAME, context) + instrument(cmd);
+    }
+
+    /**
+     * Generates the step aggregating the resource profiles of the samples into the per tool summary.
+     * @param configuration  is the type of {@link Configuration} which contains the output directory
+     * @param templateEngine the {@link TemplateEngine}
+     * @param sampleNames    the names of the samples to aggregate
+     * @return the summary step
+     */
+    public static String summarize(final Configuration configuration, final TemplateEngine templateEngine,
+                                   final Collection<String> sampleNames) {
+        final List<String> profiles = sampleNames.stream()
+                .distinct()
+                .map(sampleName -> getProfile(configuration, sampleName))
+                .collect(Collectors.toList());
+        final Context context = new Context();
+        context.setVariable("profiles", profiles);
+        context.setVariable("summary", format("%s/%s", configuration.getCommonOutdir().getRootOutdir(),
+                SUMMARY_NAME));
+        return templateEngine.process(RESOURCE_PROFILE_SUMMARY_TEMPLATE_NAME, context);
+    }
+
+    /**
+     * @param cmd the commands of the script
+     * @return the commands with each tool block wrapped with the profiling functions
+     */
+    static String instrument(final String cmd) {
+        final StringBuilder result = new StringBuilder(cmd.length());
+        final String[] lines = cmd.split(LINE_SEPARATOR, -1);
+        for (int i = 0; i < lines.length; i++) {
+            final String line = lines[i];
+            final Matcher begin = BEGIN_STEP.matcher(line);
+            if (begin.matches()) {
+                result.append(begin.group(1))
+                        .append("fonda_profile_start '")
+                        .append(begin.group(2).replace("'", "'\\''"))
+                        .append('\'')
+                        .append(LINE_SEPARATOR);
+            }
+            result.append(line);
+            final Matcher successful = SUCCESSFUL_STEP.matcher(line);
+            if (successful.matches()) {
+                result.append(LINE_SEPARATOR).append(successful.group(1)).append("fonda_profile_stop");
+            }
+            if (i < lines.length - 1) {
+                result.append(LINE_SEPARATOR);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -17,8 +17,10 @@
 package com.epam.fonda.utils;
 
 import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
 import com.epam.fonda.entity.configuration.GlobalConfigFormat;
 import com.epam.fonda.entity.configuration.StudyConfig;
+import com.epam.fonda.entity.configuration.orchestrator.LocalDagScheduler;
 import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -34,6 +36,9 @@ import static com.epam.fonda.utils.ToolUtils.validate;
 public final class RnaAnalysisUtils {
     private static final String RNA_ANALYSIS_LOG_FILE_TEMPLATE = "analysis_logFile_template";
     private static final String RNA_ANALYSIS_DATA_ANALYSIS_TEMPLATE = "rna_analysis_data_analysis_template";
+    private static final String RNA_ANALYSIS_NATIVE_MERGE_TEMPLATE = "rna_analysis_native_merge_template";
+    private static final String DEFAULT_MERGE_HEAP = "1g";
+    private static final long MEGABYTE = 1024 * 1024;
     private static final String MUTATION_ANALYSIS_TEMPLATE = "mutation_analysis_template";
     private static final int PERIOD = 60;
 
@@ -47,6 +52,9 @@ public final class RnaAnalysisUtils {
         private String toolName;
         private String jarPath;
         private String rScript;
+        private String java;
+        private String heap;
+        private int threads;
         private String outdir;
         private String sampleList;
         private String task;
@@ -88,7 +96,9 @@ public final class RnaAnalysisUtils {
     }
 
     /**
-     * Execute RNA expression data analysis based on the requirements of workflow and task
+     * Execute RNA expression data analysis based on the requirements of workflow and task. If
+     * <tt>native_expression_merge</tt> is set the results are merged by the {@link ExpressionMatrixMerger}
+     * of the fonda jar instead of the R script.
      *
      * @param configuration  is the type of {@link Configuration} which contains
      *                       its fields: rScript, jarPath, outdir.
@@ -96,8 +106,12 @@ public final class RnaAnalysisUtils {
      * @return bash script in String format
      */
     public static String dataAnalysis(Configuration configuration, TemplateEngine templateEngine, String toolName) {
-        final Context context = buildContext(configuration, toolName);
         TaskContainer.addTasks("Merge gene expression");
+        if (configuration.getGlobalConfig().getToolConfig().isNativeExpressionMerge()) {
+            return templateEngine.process(RNA_ANALYSIS_NATIVE_MERGE_TEMPLATE,
+                    buildNativeMergeContext(configuration, toolName));
+        }
+        final Context context = buildContext(configuration, toolName);
         return templateEngine.process(RNA_ANALYSIS_DATA_ANALYSIS_TEMPLATE, context);
     }
 
@@ -121,7 +135,7 @@ public final class RnaAnalysisUtils {
         rnaAnalysisFields.logFile = String.format("%s/%s.log", logDir, fileName);
         rnaAnalysisFields.period = PERIOD;
         rnaAnalysisFields.toolName = toolName;
-        rnaAnalysisFields.steps = String.join("|", TaskContainer.getTasks());
+        rnaAnalysisFields.steps = String.join("|", TaskContainer.getTasksSnapshot());
         Context context = new Context();
         context.setVariable("fields", rnaAnalysisFields);
         return templateEngine.process(RNA_ANALYSIS_LOG_FILE_TEMPLATE, context);
@@ -142,6 +156,25 @@ public final class RnaAnalysisUtils {
         return templateEngine.process(MUTATION_ANALYSIS_TEMPLATE, context);
     }
 
+    /**
+     * The merge parses as many samples at once as the threads of the task and its heap is a half of the memory
+     * of the task, the rest is left to the page cache of the column-major file. The merger is run from the fonda
+     * jar itself, since the <tt>src_path</tt> contains the R scripts only.
+     */
+    private static Context buildNativeMergeContext(final Configuration configuration, final String task) {
+        final GlobalConfig.QueueParameters queueParameters = configuration.getGlobalConfig().getQueueParameters();
+        final long memory = LocalDagScheduler.parseMemory(queueParameters.getMaxMem(task));
+        final Context context = buildContext(configuration, task);
+        final RnaAnalysisFields rnaAnalysisFields = (RnaAnalysisFields) context.getVariable("rnaAnalysisFields");
+        rnaAnalysisFields.jarPath = PipelineUtils.getJarPath();
+        rnaAnalysisFields.java = validate(configuration.getGlobalConfig().getToolConfig().getJava(),
+                GlobalConfigFormat.JAVA);
+        rnaAnalysisFields.threads = queueParameters.getNumThreads(task);
+        rnaAnalysisFields.heap = memory > 0 ? String.format("%dm", Math.max(1, memory / 2 / MEGABYTE))
+                : DEFAULT_MERGE_HEAP;
+        return context;
+    }
+
     /**
      * Build {@link Context} for template processing
      * @param configuration is the type of {@link Configuration} which contains
@@ -16,26 +16,144 @@
 
 package com.epam.fonda.utils;
 
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.NullWriter;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.StandardCacheManager;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateInputException;
+import org.thymeleaf.exceptions.TemplateProcessingException;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+
+@Slf4j
 public final class TemplateEngineUtils {
     private static final String TEMPLATES_PATH = "templates/";
+    private static final String TEMPLATE_SUFFIX = ".txt";
+    private static final int TEMPLATE_CACHE_MAX_SIZE = 512;
+    private static final TemplateEngine TEMPLATE_ENGINE = init();
 
     private TemplateEngineUtils() {
     }
 
+    /**
+     * Creates a new template engine, that parses each template once and keeps the parsed template
+     * in a bounded cache for the subsequent renders.
+     * @return a new {@link TemplateEngine}
+     */
     public static TemplateEngine init() {
+        return init(true);
+    }
+
+    /**
+     * Creates a new template engine.
+     * @param cacheable if false the template is resolved and parsed again on every render
+     * @return a new {@link TemplateEngine}
+     */
+    public static TemplateEngine init(final boolean cacheable) {
         TemplateEngine templateEngine = new TemplateEngine();
         ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
         templateResolver.setPrefix(TEMPLATES_PATH);
-        templateResolver.setSuffix(".txt");
+        templateResolver.setSuffix(TEMPLATE_SUFFIX);
         templateResolver.setTemplateMode(TemplateMode.TEXT);
         templateResolver.setCharacterEncoding("UTF8");
         templateResolver.setCheckExistence(true);
-        templateResolver.setCacheable(false);
+        templateResolver.setCacheable(cacheable);
         templateEngine.addTemplateResolver(templateResolver);
+        final StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(TEMPLATE_CACHE_MAX_SIZE);
+        templateEngine.setCacheManager(cacheManager);
         return templateEngine;
     }
+
+    /**
+     * @return the template engine shared by all the tools and workflows
+     */
+    public static TemplateEngine getTemplateEngine() {
+        return TEMPLATE_ENGINE;
+    }
+
+    /**
+     * Parses all the templates from the <tt>templates</tt> resource folder into the cache of the shared
+     * template engine, so that the per sample script generation only renders them.
+     */
+    public static void preloadTemplates() {
+        final Set<String> templates = listTemplates();
+        templates.forEach(TemplateEngineUtils::preloadTemplate);
+        log.debug(format("%d templates were loaded into the template cache", templates.size()));
+    }
+
+    private static void preloadTemplate(final String template) {
+        try {
+            TEMPLATE_ENGINE.process(template, new Context(), NullWriter.NULL_WRITER);
+        } catch (TemplateProcessingException e) {
+            if (e instanceof TemplateInputException) {
+                throw e;
+            }
+            // the template is already parsed and cached at this point, only its rendering requires variables
+            log.trace(format("Template %s was cached without rendering: %s", template, e.getMessage()));
+        }
+    }
+
+    private static Set<String> listTemplates() {
+        final Set<String> templates = new TreeSet<>();
+        try {
+            final Enumeration<URL> locations = TemplateEngineUtils.class.getClassLoader()
+                    .getResources(TEMPLATES_PATH);
+            for (URL location : Collections.list(locations)) {
+                templates.addAll("jar".equals(location.getProtocol())
+                        ? listJarTemplates(location)
+                        : listDirectoryTemplates(location));
+            }
+        } catch (IOException | URISyntaxException e) {
+            log.warn("Could not list the templates to preload: " + e.getMessage());
+        }
+        return templates;
+    }
+
+    private static Set<String> listDirectoryTemplates(final URL location) throws IOException, URISyntaxException {
+        final Set<String> templates = new TreeSet<>();
+        try (Stream<Path> files = Files.list(Paths.get(location.toURI()))) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(TEMPLATE_SUFFIX))
+                    .forEach(name -> templates.add(toTemplateName(name)));
+        }
+        return templates;
+    }
+
+    private static Set<String> listJarTemplates(final URL location) throws IOException {
+        final Set<String> templates = new TreeSet<>();
+        final JarURLConnection connection = (JarURLConnection) location.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jar = connection.getJarFile()) {
+            Collections.list(jar.entries()).stream()
+                    .map(JarEntry::getName)
+                    .filter(name -> name.startsWith(TEMPLATES_PATH) && name.endsWith(TEMPLATE_SUFFIX))
+                    .map(name -> name.substring(TEMPLATES_PATH.length()))
+                    .filter(name -> !name.contains("/"))
+                    .forEach(name -> templates.add(toTemplateName(name)));
+        }
+        return templates;
+    }
+
+    private static String toTemplateName(final String fileName) {
+        return fileName.substring(0, fileName.length() - TEMPLATE_SUFFIX.length());
+    }
 }
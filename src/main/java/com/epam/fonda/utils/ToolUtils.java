@@ -18,8 +18,13 @@ package com.epam.fonda.utils;
 
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.GlobalConfigFormat;
+import com.epam.fonda.entity.configuration.orchestrator.LocalDagScheduler;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 
+import static java.lang.String.format;
+
 public final class ToolUtils {
 
     public static final String BAM = "Bam";
@@ -27,6 +32,14 @@ public final class ToolUtils {
     public static final String SAMPLE_NAME = "sample_name";
     public static final String CONTROL_SAMPLE_NAME = "control_sample_name";
     private static final double THE_LAST_OLD_PICARD_VERSION = 1.123;
+    private static final String GZIP = "gzip";
+    private static final String PIGZ = "pigz";
+    private static final String BGZIP = "bgzip";
+    private static final int SORT_MEMORY_SHARE = 2;
+    private static final long MEGABYTE = 1024 * 1024;
+    private static final long MIN_SORT_MEMORY_PER_THREAD = 64;
+    private static final int JAVA_HEAP_NUMERATOR = 3;
+    private static final int JAVA_HEAP_DENOMINATOR = 4;
 
     private ToolUtils() {
         // no-op
@@ -59,6 +72,105 @@ public final class ToolUtils {
                 : picardVersion.substring(0, picardVersion.lastIndexOf('.'))) <= THE_LAST_OLD_PICARD_VERSION;
     }
 
+    /**
+     * Returns the number of threads of the tools run by the script of the current task, that is the number of slots
+     * requested by the script.
+     * @param configuration is the type of {@link Configuration} which contains queue parameters and the task
+     *                      of the script
+     * @return <tt>TOOL_NUMTHREADS</tt> of the task if specified, <tt>NUMTHREADS</tt> otherwise
+     */
+    public static int getNumThreads(final Configuration configuration) {
+        return configuration.getGlobalConfig().getQueueParameters().getNumThreads(configuration.getCustTask());
+    }
+
+    /**
+     * Returns the memory of the tools run by the script of the current task, that is the memory requested
+     * by the script.
+     * @param configuration is the type of {@link Configuration} which contains queue parameters and the task
+     *                      of the script
+     * @return <tt>TOOL_MAXMEM</tt> of the task if specified, <tt>MAXMEM</tt> otherwise
+     */
+    public static String getMaxMem(final Configuration configuration) {
+        return configuration.getGlobalConfig().getQueueParameters().getMaxMem(configuration.getCustTask());
+    }
+
+    /**
+     * Returns the number of threads specified for the task of the script. The tools, whose own default differs
+     * from <tt>NUMTHREADS</tt>, take it only if it is specified.
+     * @param configuration is the type of {@link Configuration} which contains queue parameters and the task
+     *                      of the script
+     * @return <tt>TOOL_NUMTHREADS</tt> of the task, null if it is not specified
+     */
+    public static Integer getToolNumThreads(final Configuration configuration) {
+        return configuration.getGlobalConfig().getQueueParameters().getToolNumThreads(configuration.getCustTask());
+    }
+
+    /**
+     * Returns the heap of a java tool run by the script of the current task. The heap is three quarters
+     * of <tt>TOOL_MAXMEM</tt> of the task, the rest is left to the native code and the JVM itself.
+     * @param configuration is the type of {@link Configuration} which contains queue parameters and the task
+     *                      of the script
+     * @param defaultHeap the heap of the tool if <tt>TOOL_MAXMEM</tt> is not specified for the task
+     * @return the heap in megabytes, such as <tt>12288m</tt>, the default heap otherwise
+     */
+    public static String getJavaHeap(final Configuration configuration, final String defaultHeap) {
+        final long memory = LocalDagScheduler.parseMemory(configuration.getGlobalConfig().getQueueParameters()
+                .getToolMaxMem(configuration.getCustTask()));
+        return memory > 0
+                ? format("%dm", Math.max(1, memory / JAVA_HEAP_DENOMINATOR * JAVA_HEAP_NUMERATOR / MEGABYTE))
+                : defaultHeap;
+    }
+
+    /**
+     * Returns the command compressing the data in the gzip format. The <tt>pigz</tt> and <tt>bgzip</tt> compressors
+     * use the number of threads specified by <tt>compressor_threads</tt> or <tt>NUMTHREADS</tt>.
+     * @param configuration is the type of {@link Configuration} which contains tool configs
+     * @return the compressor command, <tt>gzip</tt> if the compressor is not specified
+     */
+    public static String getCompressor(final Configuration configuration) {
+        final String compressor = configuration.getGlobalConfig().getToolConfig().getCompressor();
+        if (StringUtils.isBlank(compressor)) {
+            return GZIP;
+        }
+        switch (FilenameUtils.getName(compressor)) {
+            case PIGZ:
+                return format("%s -p %d", compressor, getCompressorThreads(configuration));
+            case BGZIP:
+                return format("%s -@ %d", compressor, getCompressorThreads(configuration));
+            default:
+                return compressor;
+        }
+    }
+
+    /**
+     * Returns the memory per thread of <tt>samtools sort</tt>. The sort takes a half of the memory of the task, the
+     * rest is left for the aligner writing to the sort, and the half is split between the threads of the task.
+     * @param configuration is the type of {@link Configuration} which contains queue parameters
+     * @return the memory per thread in megabytes, such as <tt>1024M</tt>, null if the memory is not specified
+     */
+    public static String getSortMemoryPerThread(final Configuration configuration) {
+        final long sortMemory = getSortMemory(configuration);
+        if (sortMemory == 0) {
+            return null;
+        }
+        final int threads = Math.max(1, getNumThreads(configuration));
+        return format("%dM", Math.max(MIN_SORT_MEMORY_PER_THREAD, sortMemory / threads / MEGABYTE));
+    }
+
+    /**
+     * Returns the memory of the coordinate sort done by an aligner itself, such as the <tt>STAR</tt> BAM sorting.
+     * @param configuration is the type of {@link Configuration} which contains queue parameters
+     * @return the half of the memory of the task in bytes, 0 if the memory is not specified
+     */
+    public static long getSortMemory(final Configuration configuration) {
+        return LocalDagScheduler.parseMemory(getMaxMem(configuration)) / SORT_MEMORY_SHARE;
+    }
+
+    private static int getCompressorThreads(final Configuration configuration) {
+        final Integer threads = configuration.getGlobalConfig().getToolConfig().getCompressorThreads();
+        return threads != null ? threads : getNumThreads(configuration);
+    }
+
     public static boolean matchesCaptureLibraryTypeCondition(final String libraryType) {
         return libraryType.contains("target") || libraryType.contains("Target") || libraryType.contains("TARGET") ||
                 libraryType.contains("IDT_17genesPanel") || libraryType.contains("IDT_56_Panel") ||
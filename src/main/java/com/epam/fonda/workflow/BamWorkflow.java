@@ -18,9 +18,11 @@ package com.epam.fonda.workflow;
 
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.samples.SampleBuilder;
+import com.epam.fonda.samples.SampleConsumer;
 import com.epam.fonda.samples.bam.BamFileSample;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,4 +41,23 @@ public interface BamWorkflow extends Workflow<BamFileSample> {
         return new SampleBuilder(configuration.getGlobalConfig(), configuration.getStudyConfig())
                 .buildBamSamples(configuration.getCommonOutdir().getRootOutdir());
     }
+
+    /**
+     * Provides {@link BamFileSample} one by one as soon as each of them is built by {@link SampleBuilder}
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration
+     * @param consumer receives the samples
+     * @return list of {@link BamFileSample} that builds from configuration.
+     * @throws IOException if an I/O error has occurred
+     */
+    @Override
+    default List<BamFileSample> provideSample(final Configuration configuration,
+                                              final SampleConsumer<BamFileSample> consumer) throws IOException {
+        final List<BamFileSample> samples = new ArrayList<>();
+        new SampleBuilder(configuration.getGlobalConfig(), configuration.getStudyConfig())
+                .buildBamSamples(configuration.getCommonOutdir().getRootOutdir(), sample -> {
+                    samples.add(sample);
+                    consumer.accept(sample);
+                });
+        return samples;
+    }
 }
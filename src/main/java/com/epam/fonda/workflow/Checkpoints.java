@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.workflow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * The <tt>Checkpoints</tt> class keeps the manifest of the successfully completed scripts. Each generated script
+ * appends its name, the hash of its content and its output files to the manifest when it is completed, so that
+ * the resumed run skips the scripts whose content is not changed, whose outputs still exist and whose upstream
+ * scripts are skipped as well. The task scripts, that are launched by another script, have their own records,
+ * so that the tasks, that are not completed, are launched by themselves if their script is skipped.
+ */
+@Slf4j
+public final class Checkpoints {
+    public static final String MANIFEST_NAME = "checkpoints.tsv";
+    public static final String DELIMITER = "\t";
+    public static final String OUTPUTS_DELIMITER = ",";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int FIELDS_NUMBER = 3;
+
+    private static final Map<String, Checkpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+    private static final Set<String> SKIPPED_JOBS = ConcurrentHashMap.newKeySet();
+    private static final Set<String> LAUNCHED_JOBS = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Boolean> COMPLETED_TASKS = new ConcurrentHashMap<>();
+    private static final Map<String, String> TASK_COMMANDS = new ConcurrentHashMap<>();
+
+    private Checkpoints() {
+    }
+
+    /**
+     * @param rootOutdir the output directory of the study
+     * @return the path to the manifest of the completed scripts
+     */
+    public static String getManifest(final String rootOutdir) {
+        return format("%s/%s", rootOutdir, MANIFEST_NAME);
+    }
+
+    /**
+     * Loads the manifest written by the previous runs, the latest record of a script wins.
+     * @param manifest the path to the manifest
+     * @throws IOException if an I/O error has occurred while reading the manifest
+     */
+    public static void load(final String manifest) throws IOException {
+        reset();
+        final Path path = Paths.get(manifest);
+        if (!Files.exists(path)) {
+            return;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            final String[] fields = line.split(DELIMITER, FIELDS_NUMBER);
+            if (fields.length < FIELDS_NUMBER - 1 || StringUtils.isBlank(fields[0])) {
+                continue;
+            }
+            final List<String> outputs = fields.length < FIELDS_NUMBER || StringUtils.isBlank(fields[2])
+                    ? Collections.emptyList()
+                    : Arrays.asList(fields[2].trim().split(OUTPUTS_DELIMITER));
+            CHECKPOINTS.put(fields[0], new Checkpoint(fields[1], outputs));
+        }
+        log.debug(format("%d completed scripts were loaded from %s", CHECKPOINTS.size(), manifest));
+    }
+
+    /**
+     * @param job  the script name without the extension
+     * @param hash the hash of the script content
+     * @return true if the script with the same content was completed and all its outputs exist
+     */
+    public static boolean isCompleted(final String job, final String hash) {
+        final Checkpoint checkpoint = CHECKPOINTS.get(job);
+        return checkpoint != null
+                && checkpoint.getHash().equals(hash)
+                && checkpoint.getOutputs().stream().allMatch(output -> Files.exists(Paths.get(output)));
+    }
+
+    /**
+     * Marks the script as skipped in the current run.
+     * @param job the script name without the extension
+     */
+    public static void skip(final String job) {
+        SKIPPED_JOBS.add(job);
+    }
+
+    /**
+     * @param job the script name without the extension
+     * @return true if the script is not launched in the current run since it was completed by the previous one
+     */
+    public static boolean isSkipped(final String job) {
+        return SKIPPED_JOBS.contains(job);
+    }
+
+    /**
+     * Marks the script as launched in the current run, so that the cohort scripts are launched too.
+     * @param job the script name without the extension
+     */
+    public static void launch(final String job) {
+        LAUNCHED_JOBS.add(job);
+    }
+
+    /**
+     * @return true if any script is launched in the current run, the cohort scripts depend on all of them
+     */
+    public static boolean hasLaunchedJobs() {
+        return !LAUNCHED_JOBS.isEmpty();
+    }
+
+    /**
+     * Registers the task script, that is launched by another script.
+     * @param job       the task script name without the extension
+     * @param completed true if the task script was completed by the previous run
+     */
+    public static void addTask(final String job, final boolean completed) {
+        COMPLETED_TASKS.put(job, completed);
+    }
+
+    /**
+     * @param job the task script name without the extension
+     * @return true if the task script was completed by the previous run
+     */
+    public static boolean isCompletedTask(final String job) {
+        return COMPLETED_TASKS.getOrDefault(job, false);
+    }
+
+    /**
+     * @param job     the task script name without the extension
+     * @param command the command launching the task script from another script
+     */
+    public static void addTaskCommand(final String job, final String command) {
+        TASK_COMMANDS.put(job, command);
+    }
+
+    /**
+     * Resolves the task scripts launched by the script. The tasks of the launched script are launched with it,
+     * the completed script is skipped with its completed tasks and the rest of its tasks are launched by themselves.
+     * @param cmd       the script content
+     * @param completed true if the script is completed by the previous run
+     * @return the names of the tasks, that are launched by themselves, in the order of the script
+     */
+    public static List<String> resumeTasks(final String cmd, final boolean completed) {
+        final List<String> jobs = TASK_COMMANDS.entrySet().stream()
+                .filter(task -> cmd.contains(task.getValue()))
+                .sorted(Comparator.comparingInt(task -> cmd.indexOf(task.getValue())))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        final List<String> tasks = new ArrayList<>();
+        for (String job : jobs) {
+            TASK_COMMANDS.remove(job);
+            if (completed && isCompletedTask(job)) {
+                skip(job);
+                continue;
+            }
+            launch(job);
+            if (completed) {
+                tasks.add(job);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * @param content the script content
+     * @return the hex encoded SHA-256 hash of the content
+     */
+    public static String hash(final String content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM)
+                    .digest(content.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param outputs the output files of a script
+     * @return the outputs in the manifest format
+     */
+    public static String joinOutputs(final Collection<String> outputs) {
+        return outputs.stream()
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .collect(Collectors.joining(OUTPUTS_DELIMITER));
+    }
+
+    /**
+     * Forgets the loaded manifest, the tasks and the skipped and launched scripts.
+     */
+    public static void reset() {
+        CHECKPOINTS.clear();
+        SKIPPED_JOBS.clear();
+        LAUNCHED_JOBS.clear();
+        COMPLETED_TASKS.clear();
+        TASK_COMMANDS.clear();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Checkpoint {
+        private final String hash;
+        private final List<String> outputs;
+    }
+}
@@ -18,9 +18,11 @@ package com.epam.fonda.workflow;
 
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.samples.SampleBuilder;
+import com.epam.fonda.samples.SampleConsumer;
 import com.epam.fonda.samples.fastq.FastqFileSample;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,4 +41,23 @@ public interface FastqWorkflow extends Workflow<FastqFileSample> {
         return new SampleBuilder(configuration.getGlobalConfig(), configuration.getStudyConfig())
                 .buildFastqSamples(configuration.getCommonOutdir().getRootOutdir());
     }
+
+    /**
+     * Provides {@link FastqFileSample} one by one as soon as each of them is built by {@link SampleBuilder}
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration
+     * @param consumer receives the samples
+     * @return list of {@link FastqFileSample} that builds from configuration.
+     * @throws IOException if an I/O error has occurred
+     */
+    @Override
+    default List<FastqFileSample> provideSample(final Configuration configuration,
+                                                final SampleConsumer<FastqFileSample> consumer) throws IOException {
+        final List<FastqFileSample> samples = new ArrayList<>();
+        new SampleBuilder(configuration.getGlobalConfig(), configuration.getStudyConfig())
+                .buildFastqSamples(configuration.getCommonOutdir().getRootOutdir(), sample -> {
+                    samples.add(sample);
+                    consumer.accept(sample);
+                });
+        return samples;
+    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.workflow;
+
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.samples.Sample;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * The <tt>SampleProcessor</tt> class runs the per sample script generation on a bounded pool of worker threads.
+ * At most as many samples as the workers wait in the queue, the next sample is processed on the calling thread
+ * while the queue is full, so that the samples are not built faster than their scripts are generated.
+ * @param <T> is the type of {@link Sample}
+ */
+@Slf4j
+final class SampleProcessor<T extends Sample> implements AutoCloseable {
+    private final Configuration configuration;
+    private final SampleRunner<T> runner;
+    private final Predicate<T> dependsOnPrevious;
+    private final ExecutorService executor;
+    private final List<Future<Void>> results = new ArrayList<>();
+    private int processed;
+    private boolean independentPending;
+
+    /**
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration,
+     *                      {@link Configuration#getGenerationThreads()} workers are used
+     * @param runner the per sample generation step of a {@link Workflow}
+     */
+    SampleProcessor(final Configuration configuration, final SampleRunner<T> runner) {
+        this(configuration, runner, sample -> false);
+    }
+
+    /**
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration,
+     *                      {@link Configuration#getGenerationThreads()} workers are used
+     * @param runner the per sample generation step of a {@link Workflow}
+     * @param dependsOnPrevious tells whether a sample waits for the scripts of the previous samples, which do not
+     *                          depend on the other samples, e.g. the case samples wait for the control samples
+     */
+    SampleProcessor(final Configuration configuration, final SampleRunner<T> runner,
+                    final Predicate<T> dependsOnPrevious) {
+        this.configuration = configuration;
+        this.runner = runner;
+        this.dependsOnPrevious = dependsOnPrevious;
+        final int threads = configuration.getGenerationThreads();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Generates scripts for all samples using {@link Configuration#getGenerationThreads()} workers.
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration
+     * @param samples the samples to process
+     * @param runner the per sample generation step of a {@link Workflow}
+     * @param <T> is the type of {@link Sample}
+     * @throws IOException if an I/O error has occurred while processing any of the samples
+     */
+    static <T extends Sample> void processInParallel(final Configuration configuration, final List<T> samples,
+                                                     final SampleRunner<T> runner) throws IOException {
+        try (SampleProcessor<T> processor = new SampleProcessor<>(configuration, runner)) {
+            for (T sample : samples) {
+                processor.process(sample);
+            }
+            processor.await();
+        }
+    }
+
+    /**
+     * Starts the script generation for a sample. The first sample is processed on the calling thread. The steps
+     * registered in {@link TaskContainer} are kept by the order of the samples, so that they are listed in the same
+     * order as in the sequential run. Each sample gets its own {@link Configuration#copy()}, since the workflows
+     * change {@code custTask} while a sample is processed. A dependent sample starts after all the previous
+     * independent samples are processed.
+     * @param sample the sample to process
+     * @throws IOException if an I/O error has occurred while processing any of the processed samples
+     */
+    void process(final T sample) throws IOException {
+        final boolean dependent = dependsOnPrevious.test(sample);
+        if (dependent && independentPending) {
+            awaitAll();
+        }
+        independentPending |= !dependent;
+        final int sampleOrder = processed++;
+        if (sampleOrder == 0) {
+            run(sampleOrder, sample);
+            return;
+        }
+        awaitDone();
+        results.add(executor.submit(() -> {
+            run(sampleOrder, sample);
+            return (Void) null;
+        }));
+    }
+
+    /**
+     * Waits for the script generation of all the started samples.
+     * @throws IOException if an I/O error has occurred while processing any of the samples
+     */
+    void await() throws IOException {
+        awaitAll();
+        log.debug(String.format("Scripts for %d samples were generated by %d threads", processed,
+                configuration.getGenerationThreads()));
+    }
+
+    private void run(final int sampleOrder, final T sample) throws IOException {
+        TaskContainer.startSample(sampleOrder);
+        try {
+            runner.run(configuration.copy(), sample);
+        } finally {
+            TaskContainer.finishSample();
+        }
+    }
+
+    private void awaitAll() throws IOException {
+        for (Future<Void> result : results) {
+            await(result);
+        }
+        results.clear();
+        independentPending = false;
+    }
+
+    private void awaitDone() throws IOException {
+        final Iterator<Future<Void>> iterator = results.iterator();
+        while (iterator.hasNext()) {
+            final Future<Void> result = iterator.next();
+            if (result.isDone()) {
+                await(result);
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static void await(final Future<Void> result) throws IOException {
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Script generation was interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Generates the scripts for a single sample.
+     * @param <T> is the type of {@link Sample}
+     */
+    interface SampleRunner<T extends Sample> {
+        void run(Configuration configuration, T sample) throws IOException;
+    }
+}
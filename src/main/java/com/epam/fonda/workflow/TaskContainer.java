@@ -1,26 +1,98 @@
 package com.epam.fonda.workflow;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeMap;
 
+/**
+ * The <tt>TaskContainer</tt> class collects the steps of the workflow, that are checked by the status check scripts.
+ * If the samples are processed concurrently, the steps are kept by the order of the sample registering them, so that
+ * the steps are listed in the same order as in the sequential run regardless of the order the samples are completed.
+ */
 public final class TaskContainer {
 
-    private static TaskContainer container;
-    private Set<String> tasks;
+    /**
+     * The steps by the order of the sample registering them, the steps registered outside of a sample have
+     * the last order
+     */
+    private static final TreeMap<Integer, Set<String>> TASKS_BY_SAMPLE = new TreeMap<>();
+    private static final Set<Integer> FINISHED_SAMPLES = new HashSet<>();
+    private static final ThreadLocal<Integer> SAMPLE_ORDER = new ThreadLocal<>();
+    private static int finishedPrefix;
 
     private TaskContainer() {
-        this.tasks = new LinkedHashSet<>();
     }
 
-    public static Set<String> getTasks() {
-        if (container == null) {
-            container = new TaskContainer();
+    public static void addTasks(String... tasks) {
+        synchronized (TASKS_BY_SAMPLE) {
+            TASKS_BY_SAMPLE.computeIfAbsent(getSampleOrder(), order -> new LinkedHashSet<>())
+                    .addAll(Arrays.asList(tasks));
         }
-        return container.tasks;
     }
 
-    public static void addTasks(String... tasks) {
-        getTasks().addAll(Arrays.asList(tasks));
+    /**
+     * Returns a copy of the registered tasks in the order of the sequential run, that is safe to iterate while
+     * other samples are being processed concurrently. Inside of a sample it waits until the previous samples are
+     * finished and returns only the tasks of the previous samples and the current one.
+     * @return the list of task names
+     */
+    public static List<String> getTasksSnapshot() {
+        final int sampleOrder = getSampleOrder();
+        synchronized (TASKS_BY_SAMPLE) {
+            while (sampleOrder != Integer.MAX_VALUE && finishedPrefix < sampleOrder) {
+                try {
+                    TASKS_BY_SAMPLE.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Waiting for the previous samples was interrupted", e);
+                }
+            }
+            final Set<String> tasks = new LinkedHashSet<>();
+            TASKS_BY_SAMPLE.headMap(sampleOrder, true).values().forEach(tasks::addAll);
+            return new ArrayList<>(tasks);
+        }
+    }
+
+    /**
+     * Registers the tasks of the current thread by the sample until {@link #finishSample()} is called.
+     * @param sampleOrder the number of the sample in the order of the samples, starting from 0
+     */
+    static void startSample(final int sampleOrder) {
+        SAMPLE_ORDER.set(sampleOrder);
+    }
+
+    /**
+     * Marks the sample of the current thread as finished, the following samples stop waiting for it.
+     */
+    static void finishSample() {
+        final Integer sampleOrder = SAMPLE_ORDER.get();
+        SAMPLE_ORDER.remove();
+        synchronized (TASKS_BY_SAMPLE) {
+            FINISHED_SAMPLES.add(sampleOrder);
+            while (FINISHED_SAMPLES.remove(finishedPrefix)) {
+                finishedPrefix++;
+            }
+            TASKS_BY_SAMPLE.notifyAll();
+        }
+    }
+
+    /**
+     * Forgets the tasks and the samples of the previous run.
+     */
+    public static void clear() {
+        synchronized (TASKS_BY_SAMPLE) {
+            TASKS_BY_SAMPLE.clear();
+            FINISHED_SAMPLES.clear();
+            finishedPrefix = 0;
+        }
+    }
+
+    private static int getSampleOrder() {
+        final Integer sampleOrder = SAMPLE_ORDER.get();
+        return sampleOrder == null ? Integer.MAX_VALUE : sampleOrder;
     }
 }
@@ -19,6 +19,7 @@ package com.epam.fonda.workflow;
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.orchestrator.MasterScript;
 import com.epam.fonda.samples.Sample;
+import com.epam.fonda.samples.SampleConsumer;
 
 import java.io.IOException;
 import java.util.List;
@@ -31,12 +32,22 @@ public interface Workflow<T extends Sample> {
 
     /**
      * The method run workflow per sample and post analysis for all samples at the end.
+     * Each sample is processed as soon as it is provided. If more than one generation thread is configured,
+     * the samples are processed concurrently.
      * @param configuration is the type of {@link Configuration} which contains the user specified parameters for tools
      * @throws IOException if an I/O error has occurred
      */
     default void process(Configuration configuration) throws IOException {
-        List<T> samples = provideSample(configuration);
-        samples.forEach(sample -> unsafe(() -> this.run(configuration, sample)));
+        final List<T> samples;
+        if (configuration.getGenerationThreads() > 1) {
+            try (SampleProcessor<T> processor = new SampleProcessor<>(configuration, this::run,
+                    sample -> dependsOnPreviousSamples(configuration, sample))) {
+                samples = provideSample(configuration, processor::process);
+                processor.await();
+            }
+        } else {
+            samples = provideSample(configuration, sample -> this.run(configuration, sample));
+        }
         this.postProcess(configuration, samples);
         if (configuration.isMasterMode()) {
             MasterScript.getInstance().launchScript(configuration);
@@ -45,6 +56,32 @@ public interface Workflow<T extends Sample> {
 
     List<T> provideSample(final Configuration config) throws IOException;
 
+    /**
+     * Provides the samples one by one to the consumer, the default implementation builds all the samples first.
+     * @param config is the type of {@link Configuration} which contains global and study configuration
+     * @param consumer receives the samples
+     * @return all the provided samples
+     * @throws IOException if an I/O error has occurred
+     */
+    default List<T> provideSample(final Configuration config, final SampleConsumer<T> consumer) throws IOException {
+        final List<T> samples = provideSample(config);
+        for (T sample : samples) {
+            consumer.accept(sample);
+        }
+        return samples;
+    }
+
+    /**
+     * Tells whether the scripts of the sample are generated only after the scripts of the previously provided
+     * independent samples, if the samples are processed concurrently. By default the samples are independent.
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration
+     * @param sample the provided sample
+     * @return true if the sample depends on the previous samples
+     */
+    default boolean dependsOnPreviousSamples(final Configuration configuration, final T sample) {
+        return false;
+    }
+
     void run(final Configuration configuration, final T sample) throws IOException;
 
     void postProcess(final Configuration configuration, final List<T> samples) throws IOException;
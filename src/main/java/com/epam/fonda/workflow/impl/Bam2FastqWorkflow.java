@@ -20,6 +20,7 @@ import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.orchestrator.ScriptManager;
 import com.epam.fonda.samples.bam.BamFileSample;
 import com.epam.fonda.samples.fastq.FastqFileSample;
+import com.epam.fonda.tools.impl.BamToFastq;
 import com.epam.fonda.tools.impl.FastqListAnalysis;
 import com.epam.fonda.tools.impl.SamToFastq;
 import com.epam.fonda.tools.impl.SortBamByReadName;
@@ -34,7 +35,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.thymeleaf.TemplateEngine;
 
 import java.io.IOException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.epam.fonda.entity.configuration.orchestrator.ScriptType.ALIGNMENT;
@@ -45,7 +48,7 @@ import static com.epam.fonda.utils.PipelineUtils.printShell;
 @Slf4j
 @RequiredArgsConstructor
 public class Bam2FastqWorkflow implements BamWorkflow {
-    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
 
     @NonNull
     final Flag flag;
@@ -60,22 +63,31 @@ public class Bam2FastqWorkflow implements BamWorkflow {
         sample.createDirectory();
         PipelineUtils.createDir(fastqOutdir);
         configuration.setCustTask("convert");
-        BamResult bamResult = new SortBamByReadName(fastqOutdir, sample)
-                .generate(configuration, TEMPLATE_ENGINE);
-        final StringBuilder cmd = new StringBuilder(bamResult.getCommand().getToolCommand());
-        if (flag.isPicard()) {
-            FastqResult fastqResult = new SamToFastq(sample.getName(), fastqOutdir, bamResult)
+        final StringBuilder cmd = new StringBuilder();
+        final Set<String> tempDirs = new LinkedHashSet<>();
+        if (flag.isSamtools()) {
+            FastqResult fastqResult = new BamToFastq(sample.getName(), fastqOutdir, sample.getBam())
                     .generate(configuration, TEMPLATE_ENGINE);
             cmd.append(fastqResult.getCommand().getToolCommand());
+        } else {
+            BamResult bamResult = new SortBamByReadName(fastqOutdir, sample)
+                    .generate(configuration, TEMPLATE_ENGINE);
+            cmd.append(bamResult.getCommand().getToolCommand());
+            tempDirs.addAll(bamResult.getCommand().getTempDirs());
+            if (flag.isPicard()) {
+                FastqResult fastqResult = new SamToFastq(sample.getName(), fastqOutdir, bamResult)
+                        .generate(configuration, TEMPLATE_ENGINE);
+                cmd.append(fastqResult.getCommand().getToolCommand());
+            }
         }
 
         final String command = configuration.isMasterMode()
                 ? cmd.toString()
-                : cmd.append(cleanUpTmpDir(bamResult.getCommand().getTempDirs())).toString();
+                : cmd.append(cleanUpTmpDir(tempDirs)).toString();
         final String custScript = printShell(configuration, command, sample.getName(), null);
         if (scriptManager != null) {
             scriptManager.addScript(sample.getName(), ALIGNMENT, custScript);
-            bamResult.getCommand().getTempDirs().forEach(t -> scriptManager.addScript(sample.getName(), TEMP, t));
+            tempDirs.forEach(t -> scriptManager.addScript(sample.getName(), TEMP, t));
         }
         log.debug(String.format("Successful Step: the %s sample was processed.", sample.getName()));
     }
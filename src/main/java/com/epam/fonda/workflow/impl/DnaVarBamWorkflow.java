@@ -48,7 +48,7 @@ import static com.epam.fonda.utils.PipelineUtils.printShell;
 @RequiredArgsConstructor
 public class DnaVarBamWorkflow implements BamWorkflow {
 
-    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
 
     @NonNull
     final Flag flag;
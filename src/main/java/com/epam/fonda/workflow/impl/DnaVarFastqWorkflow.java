@@ -18,6 +18,7 @@ package com.epam.fonda.workflow.impl;
 import com.epam.fonda.entity.command.BashCommand;
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.orchestrator.ScriptManager;
+import com.epam.fonda.samples.SampleConsumer;
 import com.epam.fonda.samples.fastq.FastqFileSample;
 import com.epam.fonda.samples.fastq.FastqReadType;
 import com.epam.fonda.tools.impl.DnaAnalysis;
@@ -43,7 +44,12 @@ import org.thymeleaf.TemplateEngine;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.epam.fonda.entity.configuration.orchestrator.ScriptType.ALIGNMENT;
@@ -56,7 +62,7 @@ import static com.epam.fonda.utils.PipelineUtils.printShell;
 @Slf4j
 @RequiredArgsConstructor
 public class DnaVarFastqWorkflow implements FastqWorkflow {
-    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
 
     @NonNull
     final Flag flag;
@@ -81,6 +87,55 @@ public class DnaVarFastqWorkflow implements FastqWorkflow {
         log.debug(String.format("Successful Step: the %s sample was processed.", sample.getName()));
     }
 
+    /**
+     * Provides the samples, in the event status check mode the control samples go first, so that the jobs of the
+     * control samples are already submitted when the jobs of the case samples are held on them.
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration
+     * @return list of {@link FastqFileSample} that builds from configuration.
+     * @throws IOException if an I/O error has occurred
+     */
+    @Override
+    public List<FastqFileSample> provideSample(final Configuration configuration) throws IOException {
+        final List<FastqFileSample> samples = FastqWorkflow.super.provideSample(configuration);
+        if (PipelineUtils.isEventStatusCheck(configuration)) {
+            samples.sort(Comparator.comparing(sample -> PipelineUtils.checkSampleType(sample.getSampleType())));
+        }
+        return samples;
+    }
+
+    /**
+     * Provides the samples one by one as soon as each of them is built, in the event status check mode all
+     * the samples are built first to start with the control samples.
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration
+     * @param consumer receives the samples
+     * @return list of {@link FastqFileSample} that builds from configuration.
+     * @throws IOException if an I/O error has occurred
+     */
+    @Override
+    public List<FastqFileSample> provideSample(final Configuration configuration,
+                                               final SampleConsumer<FastqFileSample> consumer) throws IOException {
+        if (!PipelineUtils.isEventStatusCheck(configuration)) {
+            return FastqWorkflow.super.provideSample(configuration, consumer);
+        }
+        final List<FastqFileSample> samples = provideSample(configuration);
+        for (FastqFileSample sample : samples) {
+            consumer.accept(sample);
+        }
+        return samples;
+    }
+
+    /**
+     * In the event status check mode the case samples wait for the control samples, so that the jobs of the control
+     * samples are submitted before the jobs of the case samples are held on them even with the parallel generation.
+     * @param configuration is the type of {@link Configuration} which contains global and study configuration
+     * @param sample the provided sample
+     * @return true if the sample is a case sample in the event status check mode
+     */
+    @Override
+    public boolean dependsOnPreviousSamples(final Configuration configuration, final FastqFileSample sample) {
+        return PipelineUtils.isEventStatusCheck(configuration) && PipelineUtils.checkSampleType(sample.getSampleType());
+    }
+
     @Override
     public void postProcess(final Configuration configuration, final List<FastqFileSample> samples) throws IOException {
         List<String> sampleNames = samples.stream().map(FastqFileSample::getName).collect(Collectors.toList());
@@ -123,7 +178,8 @@ public class DnaVarFastqWorkflow implements FastqWorkflow {
                 .mapping(flag, sample, configuration, TEMPLATE_ENGINE);
         bamsToMerge.add(bamResult.getBamOutput().getBam());
         final String alignScript = printShell(configuration, bamResult.getCommand().getToolCommand(), sample.getName(),
-                String.valueOf(index));
+                String.valueOf(index), Collections.emptySet(), Arrays.asList(bamResult.getBamOutput().getBam(),
+                        bamResult.getBamOutput().getBamIndex()));
         if (scriptManager != null) {
             scriptManager.addScript(sample.getName(), ALIGNMENT, alignScript);
         }
@@ -134,8 +190,9 @@ public class DnaVarFastqWorkflow implements FastqWorkflow {
                                       final List<String> fastqs1,
                                       final List<String> bamsToMerge) throws IOException {
         final StringBuilder resultCmd = new StringBuilder();
+        final Set<String> upstreamJobs = new LinkedHashSet<>();
         resultCmd.append(DnaUtils.periodicIndexBamStatusCheckForFastqList(fastqs1, sample.getName(), null,
-                configuration));
+                configuration, upstreamJobs));
         BamResult bamResult = new PicardMergeDnaBam(sample, bamsToMerge).generate(configuration, TEMPLATE_ENGINE);
 
         configuration.setCustTask("postalignment");
@@ -145,7 +202,7 @@ public class DnaVarFastqWorkflow implements FastqWorkflow {
         bamOutput.setControlBam(bamOutput.getBam().replace(sample.getName(), sample.getControlName()));
         if (sample.getSampleType().equals(PipelineUtils.CASE) || sample.getSampleType().equals(PipelineUtils.TUMOR)) {
             resultCmd.append(DnaUtils.checkPeriodicBamStatus(stringTag, sample.getName(), sample.getControlName(),
-                    configuration, null));
+                    configuration, null, upstreamJobs));
             final boolean isPaired = StringUtils.isNoneBlank(sample.getControlName())
                     && !PipelineUtils.NA.equals(sample.getControlName());
             resultCmd.append(new SecondaryAnalysis(bamResult, sample.getName(), sample.getSampleOutputDir(),
@@ -155,10 +212,12 @@ public class DnaVarFastqWorkflow implements FastqWorkflow {
         final String command = configuration.isMasterMode()
                 ? resultCmd.toString()
                 : resultCmd.append(cleanUpTmpDir(bamResult.getCommand().getTempDirs())).toString();
-        final String postAlignScript = printShell(configuration, command, sample.getName(), null);
+        final String postAlignScript = printShell(configuration, command, sample.getName(), null, upstreamJobs,
+                Arrays.asList(bamOutput.getBam(), bamOutput.getBamIndex()));
 
         if (scriptManager != null) {
             scriptManager.addScript(sample.getName(), POST_ALIGNMENT, postAlignScript);
+            scriptManager.addDependencies(postAlignScript, upstreamJobs);
             bamResult.getCommand().getTempDirs().forEach(t -> scriptManager.addScript(sample.getName(), TEMP, t));
         }
     }
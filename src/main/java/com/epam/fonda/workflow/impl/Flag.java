@@ -16,6 +16,11 @@
 package com.epam.fonda.workflow.impl;
 
 import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.samples.fastq.FastqFileSample;
+import com.epam.fonda.tools.Tool;
+import com.epam.fonda.tools.impl.MarkDuplicate;
+import com.epam.fonda.tools.impl.PicardMarkDuplicate;
+import com.epam.fonda.tools.results.BamResult;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -59,6 +64,9 @@ public class Flag {
     private boolean bwa;
     private boolean novoalign;
     private boolean picard;
+    private boolean samtools;
+    private boolean sambamba;
+    private boolean samtoolsMarkdup;
     private boolean abraRealign;
     private boolean gatkRealign;
     private boolean contEst;
@@ -101,6 +109,9 @@ public class Flag {
                 .bwa(tasks.contains("bwa"))
                 .novoalign(tasks.contains("novoalign"))
                 .picard(tasks.contains("picard"))
+                .samtools(tasks.contains("samtools"))
+                .sambamba(tasks.contains("sambamba"))
+                .samtoolsMarkdup(tasks.contains("samtools_markdup"))
                 .abraRealign(tasks.contains("abra_realign"))
                 .gatkRealign(tasks.contains("gatk_realign"))
                 .contEst(tasks.contains("contEst"))
@@ -108,4 +119,21 @@ public class Flag {
                 .optiType(tasks.contains("optitype"))
                 .build();
     }
+
+    /**
+     * Returns the tool marking the duplicates by the engine selected in the toolset: <tt>sambamba</tt>,
+     * <tt>samtools_markdup</tt> or Picard MarkDuplicates if neither of them is selected.
+     * @param sample    the sample to process
+     * @param bamResult the result of the alignment
+     * @return the duplicates marking tool
+     */
+    public Tool<BamResult> markDuplicate(final FastqFileSample sample, final BamResult bamResult) {
+        if (sambamba) {
+            return new MarkDuplicate(MarkDuplicate.Engine.SAMBAMBA, sample, bamResult);
+        }
+        if (samtoolsMarkdup) {
+            return new MarkDuplicate(MarkDuplicate.Engine.SAMTOOLS, sample, bamResult);
+        }
+        return new PicardMarkDuplicate(sample, bamResult);
+    }
 }
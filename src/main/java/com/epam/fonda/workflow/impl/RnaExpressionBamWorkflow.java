@@ -44,7 +44,7 @@ import static com.epam.fonda.utils.PipelineUtils.printShell;
 @Slf4j
 @RequiredArgsConstructor
 public class RnaExpressionBamWorkflow implements BamWorkflow {
-    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
 
     @NonNull
     final Flag flag;
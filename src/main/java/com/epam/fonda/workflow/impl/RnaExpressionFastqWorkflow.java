@@ -39,6 +39,7 @@ import org.thymeleaf.TemplateEngine;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -52,7 +53,7 @@ import static com.epam.fonda.utils.PipelineUtils.printShell;
 @Slf4j
 @RequiredArgsConstructor
 public class RnaExpressionFastqWorkflow implements FastqWorkflow {
-    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
 
     @NonNull
     final Flag flag;
@@ -76,7 +77,8 @@ public class RnaExpressionFastqWorkflow implements FastqWorkflow {
         final String cmd = configuration.isMasterMode()
                 ? toolCommand
                 : toolCommand + cleanUpTmpDir(bamResult.getCommand().getTempDirs());
-        final String custTaskScript = printShell(configuration, cmd, sample.getName(), null);
+        final String custTaskScript = printShell(configuration, cmd, sample.getName(), null, Collections.emptySet(),
+                Arrays.asList(bamResult.getBamOutput().getBam(), bamResult.getBamOutput().getBamIndex()));
         if (scriptManager != null) {
             scriptManager.addScript(sample.getName(), ALIGNMENT, custTaskScript);
             bamResult.getCommand().getTempDirs().forEach(t -> scriptManager.addScript(sample.getName(), TEMP, t));
@@ -45,7 +45,7 @@ import static com.epam.fonda.utils.PipelineUtils.printShell;
 @Slf4j
 @RequiredArgsConstructor
 public class RnaFusionFastqWorkflow implements FastqWorkflow {
-    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
 
     @NonNull
     final Flag flag;
@@ -43,7 +43,7 @@ import static com.epam.fonda.utils.PipelineUtils.printShell;
 @RequiredArgsConstructor
 public class TcrRepertoireFastqWorkflow implements FastqWorkflow {
 
-    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.init();
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngineUtils.getTemplateEngine();
 
     @NonNull
     final Flag flag;
@@ -24,7 +24,6 @@ import com.epam.fonda.tools.impl.Count;
 import com.epam.fonda.tools.impl.DnaPicardQc;
 import com.epam.fonda.tools.impl.Hisat2;
 import com.epam.fonda.tools.impl.NovoalignSort;
-import com.epam.fonda.tools.impl.PicardMarkDuplicate;
 import com.epam.fonda.tools.impl.PicardRemoveDuplicate;
 import com.epam.fonda.tools.impl.RNASeQC;
 import com.epam.fonda.tools.impl.SCRNASeqDoubletDetection;
@@ -167,7 +166,7 @@ public class Alignment implements Stage {
 
     private BamResult markDuplicate(final Flag flag, final FastqFileSample sample, final Configuration configuration,
                                     final TemplateEngine templateEngine) {
-        bamResult = new PicardMarkDuplicate(sample, bamResult).generate(configuration, templateEngine);
+        bamResult = flag.markDuplicate(sample, bamResult).generate(configuration, templateEngine);
         if (flag.isRmdup() || isScRnaExpressionFastq(configuration)) {
             bamResult = new PicardRemoveDuplicate(bamResult).generate(configuration, templateEngine);
         }
@@ -25,7 +25,6 @@ import com.epam.fonda.tools.impl.AmpliconGatkRealign;
 import com.epam.fonda.tools.impl.AmpliconGatkRecalibrate;
 import com.epam.fonda.tools.impl.DnaPicardQc;
 import com.epam.fonda.tools.impl.GatkSplitReads;
-import com.epam.fonda.tools.impl.PicardMarkDuplicate;
 import com.epam.fonda.tools.impl.PicardRemoveDuplicate;
 import com.epam.fonda.tools.results.BamResult;
 import com.epam.fonda.tools.results.MetricsOutput;
@@ -59,7 +58,7 @@ public class PostAlignment implements Stage {
     public BamResult process(final Flag flag, final FastqFileSample sample, final Configuration configuration,
                              final TemplateEngine templateEngine) {
         if (flag.isPicard()) {
-            bamResult = new PicardMarkDuplicate(sample, bamResult).generate(configuration, templateEngine);
+            bamResult = flag.markDuplicate(sample, bamResult).generate(configuration, templateEngine);
             if (isCapture(configuration) || isWgsWorkflow(configuration)) {
                 bamResult = new PicardRemoveDuplicate(bamResult).generate(configuration, templateEngine);
             }
@@ -22,6 +22,7 @@ import com.epam.fonda.entity.configuration.orchestrator.ScriptType;
 import com.epam.fonda.tools.impl.CalculateContamination;
 import com.epam.fonda.tools.impl.FilterAlignmentArtifacts;
 import com.epam.fonda.tools.impl.FilterMutectCalls;
+import com.epam.fonda.tools.impl.GatherShards;
 import com.epam.fonda.tools.impl.GatkSortSam;
 import com.epam.fonda.tools.impl.LearnReadOrientationModel;
 import com.epam.fonda.tools.impl.PileupSummaries;
@@ -61,18 +62,29 @@ import com.epam.fonda.tools.results.StringtieResult;
 import com.epam.fonda.tools.results.VariantsVcfOutput;
 import com.epam.fonda.tools.results.VariantsVcfResult;
 import com.epam.fonda.tools.results.VcfScnpeffAnnonationResult;
+import com.epam.fonda.utils.DnaUtils;
 import com.epam.fonda.workflow.PipelineType;
 import com.epam.fonda.workflow.impl.Flag;
 import com.epam.fonda.workflow.stage.Stage;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.FilenameUtils;
 import org.thymeleaf.TemplateEngine;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+import static com.epam.fonda.utils.PipelineUtils.addParallelTask;
 import static com.epam.fonda.utils.PipelineUtils.addTask;
 import static com.epam.fonda.utils.PipelineUtils.createStaticShell;
+import static com.epam.fonda.utils.PipelineUtils.isParallelTasks;
+import static com.epam.fonda.utils.PipelineUtils.joinParallelTasks;
 
 @AllArgsConstructor
 @RequiredArgsConstructor
@@ -100,22 +112,34 @@ public class SecondaryAnalysis implements Stage {
     public String process(final Flag flag, final Configuration configuration,
                           final TemplateEngine templateEngine) throws IOException {
         final StringBuilder alignCmd = new StringBuilder();
-        featureCount(flag, configuration, templateEngine, alignCmd);
-        rsem(flag, configuration, templateEngine, alignCmd);
-        cufflinks(flag, configuration, templateEngine, alignCmd);
-        stringtie(flag, configuration, templateEngine, alignCmd);
-        vardict(flag, configuration, templateEngine, alignCmd);
-        gatkHaplotypeCaller(flag, configuration, templateEngine, alignCmd);
-        contEst(flag, configuration, templateEngine, alignCmd);
-        strelka2(flag, configuration, templateEngine, alignCmd);
-        mutect1(flag, configuration, templateEngine, alignCmd);
-        mutect2(flag, configuration, templateEngine, alignCmd);
-        scalpel(flag, configuration, templateEngine, alignCmd);
-        lofreq(flag, configuration, templateEngine, alignCmd);
-        sequenza(flag, configuration, templateEngine, alignCmd);
-        exomecnv(flag, configuration, templateEngine, alignCmd);
-        freebayes(flag, configuration, templateEngine, alignCmd);
-        return alignCmd.toString();
+        featureCount(flag, forTask(configuration, "featureCount"), templateEngine, alignCmd);
+        rsem(flag, forTask(configuration, "rsem"), templateEngine, alignCmd);
+        cufflinks(flag, forTask(configuration, "cufflinks"), templateEngine, alignCmd);
+        stringtie(flag, forTask(configuration, "stringtie"), templateEngine, alignCmd);
+        vardict(flag, forTask(configuration, "vardict"), templateEngine, alignCmd);
+        gatkHaplotypeCaller(flag, forTask(configuration, "gatkHaplotypeCaller"), templateEngine, alignCmd);
+        contEst(flag, forTask(configuration, "contEst"), templateEngine, alignCmd);
+        strelka2(flag, forTask(configuration, "strelka2"), templateEngine, alignCmd);
+        mutect1(flag, forTask(configuration, "mutect1"), templateEngine, alignCmd);
+        mutect2(flag, forTask(configuration, "mutect2"), templateEngine, alignCmd);
+        scalpel(flag, forTask(configuration, "scalpel"), templateEngine, alignCmd);
+        lofreq(flag, forTask(configuration, "lofreq"), templateEngine, alignCmd);
+        sequenza(flag, forTask(configuration, "sequenza"), templateEngine, alignCmd);
+        exomecnv(flag, forTask(configuration, "exomecnv"), templateEngine, alignCmd);
+        freebayes(flag, forTask(configuration, "freebayes"), templateEngine, alignCmd);
+        return isParallelTasks(configuration)
+                ? joinParallelTasks(alignCmd.toString())
+                : alignCmd.toString();
+    }
+
+    /**
+     * Each tool is generated with the task of its own script, so that the tool takes the threads and the memory
+     * requested by the script.
+     */
+    private Configuration forTask(final Configuration configuration, final String task) {
+        final Configuration taskConfiguration = configuration.copy();
+        taskConfiguration.setCustTask(task);
+        return taskConfiguration;
     }
 
     private void contEst(final Flag flag, final Configuration configuration, final TemplateEngine templateEngine,
@@ -145,6 +169,11 @@ public class SecondaryAnalysis implements Stage {
         }
         boolean isRnaCaptureRnaWorkflow = PipelineType.RNA_CAPTURE_VAR_FASTQ.getName()
                 .equalsIgnoreCase(configuration.getGlobalConfig().getPipelineInfo().getWorkflow());
+        final int shards = getScatterCount(configuration);
+        if (shards > 1) {
+            scatterGatkHaplotypeCaller(configuration, templateEngine, alignCmd, isRnaCaptureRnaWorkflow, shards);
+            return;
+        }
         final GatkHaplotypeCaller gatkHaplotypeCaller = new GatkHaplotypeCaller(sampleName,
                 bamResult.getBamOutput().getBam(), sampleOutputDir, isRnaCaptureRnaWorkflow);
         Tool<VariantsVcfResult> tool = PipelineType.RNA_CAPTURE_VAR_FASTQ.getName()
@@ -155,6 +184,31 @@ public class SecondaryAnalysis implements Stage {
         processVcfTool(configuration, templateEngine, alignCmd, tool);
     }
 
+    private void scatterGatkHaplotypeCaller(final Configuration configuration, final TemplateEngine templateEngine,
+                                            final StringBuilder alignCmd, final boolean isRnaCaptureRnaWorkflow,
+                                            final int shards) throws IOException {
+        final List<VariantsVcfOutput> shardOutputs = new ArrayList<>();
+        final List<String> shardJobs = new ArrayList<>();
+        for (int shard = 1; shard <= shards; shard++) {
+            final VariantsVcfResult shardResult = new GatkHaplotypeCaller(sampleName,
+                    bamResult.getBamOutput().getBam(), sampleOutputDir, isRnaCaptureRnaWorkflow, shard, shards)
+                    .generate(configuration, templateEngine);
+            shardOutputs.add(shardResult.getVariantsVcfOutput());
+            shardJobs.add(createCustomToolShell(configuration, alignCmd,
+                    shardResult.getAbstractCommand().getToolCommand(), shardResult.getFilteredTool(),
+                    String.valueOf(shard), Collections.emptyList()));
+        }
+        final VariantsVcfOutput output = new GatkHaplotypeCaller(sampleName, bamResult.getBamOutput().getBam(),
+                sampleOutputDir, isRnaCaptureRnaWorkflow).getOutput();
+        final VariantsVcfResult gatherResult = new GatherShards("gatkHaplotypeCaller", shardOutputs, output)
+                .generate(configuration, templateEngine);
+        final VariantsVcfResult toolResult = isRnaCaptureRnaWorkflow
+                ? new GatkHaplotypeCallerRnaFilter(sampleName, gatherResult).generate(configuration, templateEngine)
+                : gatherResult;
+        gatherShards(configuration, templateEngine, alignCmd, toolResult, "GATK haplotypecaller detection",
+                shardJobs);
+    }
+
     private void exomecnv(final Flag flag, final Configuration configuration, final TemplateEngine templateEngine,
                           final StringBuilder alignCmd) throws IOException {
         if (!(isPaired && flag.isExomecnv())) {
@@ -201,18 +255,70 @@ public class SecondaryAnalysis implements Stage {
         if (!flag.isMutect2()) {
             return;
         }
+        final int shards = getScatterCount(configuration);
+        if (shards > 1) {
+            scatterMutect2(configuration, templateEngine, alignCmd, shards);
+            return;
+        }
         final Mutect2 mutect2 = new Mutect2(sampleName, bamResult.getBamOutput(), sampleOutputDir, controlSampleName,
                 isPaired);
         final VariantsVcfResult mutect2ToolResult = mutect2.generate(configuration, templateEngine);
-        final VariantsVcfResult toolResult = postMutect2Processing(configuration, templateEngine, mutect2ToolResult);
+        final VariantsVcfResult toolResult = postMutect2Processing(configuration, templateEngine, mutect2ToolResult,
+                Collections.singletonList(mutect2ToolResult.getVariantsVcfOutput().getF1R2Metrics()));
         final VcfScnpeffAnnonationResult vcfSnpeffAnnotationResult = new VcfSnpeffAnnotation(sampleName, toolResult)
                 .generate(configuration, templateEngine);
         createVcfToolShell(configuration, alignCmd, toolResult, vcfSnpeffAnnotationResult);
     }
 
+    private void scatterMutect2(final Configuration configuration, final TemplateEngine templateEngine,
+                                final StringBuilder alignCmd, final int shards) throws IOException {
+        final List<VariantsVcfOutput> shardOutputs = new ArrayList<>();
+        final List<String> shardJobs = new ArrayList<>();
+        for (int shard = 1; shard <= shards; shard++) {
+            final VariantsVcfResult shardResult = new Mutect2(sampleName, bamResult.getBamOutput(), sampleOutputDir,
+                    controlSampleName, isPaired, shard, shards).generate(configuration, templateEngine);
+            shardOutputs.add(shardResult.getVariantsVcfOutput());
+            shardJobs.add(createCustomToolShell(configuration, alignCmd,
+                    shardResult.getAbstractCommand().getToolCommand(), shardResult.getFilteredTool(),
+                    String.valueOf(shard), Collections.emptyList()));
+        }
+        final VariantsVcfOutput output = new Mutect2(sampleName, bamResult.getBamOutput(), sampleOutputDir,
+                controlSampleName, isPaired).getOutput();
+        final VariantsVcfResult gatherResult = new GatherShards("mutect2", shardOutputs, output)
+                .generate(configuration, templateEngine);
+        final List<String> f1r2TarGzs = shardOutputs.stream()
+                .map(VariantsVcfOutput::getF1R2Metrics)
+                .collect(Collectors.toList());
+        final VariantsVcfResult toolResult = postMutect2Processing(configuration, templateEngine, gatherResult,
+                f1r2TarGzs);
+        gatherShards(configuration, templateEngine, alignCmd, toolResult, "Mutect2 detection", shardJobs);
+    }
+
+    /**
+     * Creates the script gathering the shards of a variant caller. The script waits for the shard scripts
+     * and then runs the gathering and the post processing of the variants.
+     */
+    private void gatherShards(final Configuration configuration, final TemplateEngine templateEngine,
+                              final StringBuilder alignCmd, final VariantsVcfResult toolResult, final String tag,
+                              final List<String> shardJobs) throws IOException {
+        final String statusCheck = DnaUtils.checkPeriodicShardStatus(tag, sampleName,
+                forTask(configuration, toolResult.getFilteredTool()), shardJobs.size(), new ArrayList<>());
+        final VcfScnpeffAnnonationResult vcfSnpeffAnnotationResult = new VcfSnpeffAnnotation(sampleName, toolResult)
+                .generate(configuration, templateEngine);
+        createCustomToolShell(configuration, alignCmd, statusCheck
+                + toolResult.getAbstractCommand().getToolCommand()
+                + vcfSnpeffAnnotationResult.getCommand().getToolCommand(), toolResult.getFilteredTool(), null,
+                shardJobs);
+    }
+
+    private int getScatterCount(final Configuration configuration) {
+        return Optional.ofNullable(configuration.getGlobalConfig().getToolConfig().getScatterCount()).orElse(1);
+    }
+
     private VariantsVcfResult postMutect2Processing(final Configuration configuration,
                                                     final TemplateEngine templateEngine,
-                                                    final VariantsVcfResult mutect2ToolResult) {
+                                                    final VariantsVcfResult mutect2ToolResult,
+                                                    final List<String> f1r2TarGzs) {
         final VariantsVcfOutput variantsVcfOutput = mutect2ToolResult.getVariantsVcfOutput();
         final AbstractCommand mutect2ToolCommand = mutect2ToolResult.getAbstractCommand();
         final String variantsOutputDir = variantsVcfOutput.getVariantsOutputDir();
@@ -235,7 +341,7 @@ public class SecondaryAnalysis implements Stage {
                 new GatkSortSam(sampleName, variantsVcfOutput.getBamout(), variantsOutputDir)
                 .generate(configuration, templateEngine);
         final LearnReadOrientationModelResult orientationModelResult =
-                new LearnReadOrientationModel(sampleName, variantsVcfOutput.getF1R2Metrics(), variantsOutputDir)
+                new LearnReadOrientationModel(sampleName, f1r2TarGzs, variantsOutputDir)
                 .generate(configuration, templateEngine);
         final CalculateContaminationOutput contamOutput = calculateContamResult.getCalculateContaminationOutput();
         final VariantsVcfResult filterMutectCallsVcfResult =
@@ -353,12 +459,24 @@ public class SecondaryAnalysis implements Stage {
                                        final StringBuilder alignCmd,
                                        final String cmd,
                                        final String task) throws IOException {
-        final String staticShell = createStaticShell(configuration, task, cmd, sampleName);
+        createCustomToolShell(configuration, alignCmd, cmd, task, null, Collections.emptyList());
+    }
+
+    private String createCustomToolShell(final Configuration configuration,
+                                         final StringBuilder alignCmd,
+                                         final String cmd,
+                                         final String task,
+                                         final String index,
+                                         final Collection<String> upstreamJobs) throws IOException {
+        final String staticShell = createStaticShell(configuration, task, cmd, sampleName, index, upstreamJobs);
         if (configuration.isMasterMode() && scriptManager != null) {
             scriptManager.addScript(sampleName, ScriptType.SECONDARY, staticShell);
-            return;
+            scriptManager.addDependencies(staticShell, upstreamJobs);
+        } else {
+            alignCmd.append(isParallelTasks(configuration)
+                    ? addParallelTask(configuration, task, sampleName, index)
+                    : addTask(configuration, task, sampleName, index));
         }
-        final String addTaskCmd = addTask(configuration, task, sampleName);
-        alignCmd.append(addTaskCmd);
+        return FilenameUtils.getBaseName(staticShell);
     }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.fonda;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class CompletionWatcherTest {
+    private static final String LOG_DIRECTORY = "output/log_files";
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(Paths.get(LOG_DIRECTORY).getParent().toFile());
+    }
+
+    @Test
+    void shouldReturnWhenAllMarkersAreCreated() {
+        final Path alignment = CompletionWatcher.getMarker(LOG_DIRECTORY, "alignment_for_sample_1");
+        final Path control = CompletionWatcher.getMarker(LOG_DIRECTORY, "postalignment_for_control");
+        assertEquals(Paths.get(LOG_DIRECTORY, "alignment_for_sample_1.done"), alignment);
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            final CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> await(alignment, control));
+            Files.createDirectories(alignment.getParent());
+            Files.createFile(alignment);
+            TimeUnit.MILLISECONDS.sleep(200);
+            assertFalse(waiting.isDone());
+            Files.createFile(control);
+            waiting.get();
+        });
+    }
+
+    private static void await(final Path... markers) {
+        try {
+            CompletionWatcher.await(Arrays.asList(markers));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
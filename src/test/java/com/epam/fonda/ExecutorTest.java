@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutorTest {
+    private static final String OUTPUT_DIR = "output";
+    private static final int CHATTY_LINES = 20000;
+
+    @BeforeEach
+    void init() {
+        Executor.configure(0);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Executor.getExecutorResult();
+        Executor.configure(0);
+        assertFalse(Executor.getExecutorResult().isPresent());
+        assertEquals(0, Executor.getMetrics().getTasks().size());
+        FileUtils.deleteDirectory(new File(OUTPUT_DIR));
+    }
+
+    @Test
+    void shouldLimitRunningTasksAndReportMetrics() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Executor.configure(1);
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            Executor.submit("first", () -> {
+                started.countDown();
+                release.await();
+                return 0;
+            });
+            Executor.submit("second", () -> 1);
+            started.await();
+
+            final ExecutorMetrics running = Executor.getMetrics();
+            assertEquals(1, running.getRunning());
+            assertEquals(1, running.getQueued());
+
+            release.countDown();
+            assertEquals(1, (int) Executor.getExecutorResult().orElse(0));
+            final ExecutorMetrics finished = Executor.getMetrics();
+            assertEquals(0, finished.getRunning());
+            assertEquals(2, finished.getFinished());
+            assertEquals(Arrays.asList("first", "second"), finished.getTasks().stream()
+                    .map(ExecutorMetrics.TaskMetrics::getName)
+                    .collect(Collectors.toList()));
+            assertTrue(finished.getTasks().stream().allMatch(task -> task.getWallTime() >= 0));
+        });
+    }
+
+    @Test
+    void shouldLimitLaunchedCommandsAndIgnoreTheirExitCodes() throws IOException {
+        final Path script = Paths.get(OUTPUT_DIR, "launched.sh");
+        final Path trace = Paths.get(OUTPUT_DIR, "launched.txt");
+        Files.createDirectories(script.getParent());
+        Files.write(script, String.format("echo start $1 >> %1$s; sleep 0.2; echo end $1 >> %1$s; exit 1%n", trace)
+                .getBytes());
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Executor.configure(1);
+            Executor.launch("sh " + script + " first", Paths.get(OUTPUT_DIR, "first.log"),
+                    Paths.get(OUTPUT_DIR, "first.err"));
+            Executor.launch("sh " + script + " second", Paths.get(OUTPUT_DIR, "second.log"),
+                    Paths.get(OUTPUT_DIR, "second.err"));
+            assertFalse(Executor.getExecutorResult().isPresent());
+        });
+        assertEquals(Arrays.asList("start first", "end first", "start second", "end second"),
+                Files.readAllLines(trace));
+    }
+
+    @Test
+    void shouldDrainOutputOfChattyCommandToLogFiles() throws IOException {
+        final Path script = Paths.get(OUTPUT_DIR, "chatty.sh");
+        final Path logFile = Paths.get(OUTPUT_DIR, "chatty.log");
+        final Path errFile = Paths.get(OUTPUT_DIR, "chatty.err");
+        Files.createDirectories(script.getParent());
+        Files.write(script, String.format("i=0; while [ $i -lt %d ]; do echo out $i; echo err $i >&2; i=$((i+1)); "
+                + "done%n", CHATTY_LINES).getBytes());
+        assertTimeoutPreemptively(Duration.ofSeconds(120), () -> {
+            Executor.execute("sh " + script, logFile, errFile);
+            assertEquals(0, (int) Executor.getExecutorResult().orElse(1));
+        });
+        final List<String> output = Files.readAllLines(logFile);
+        final List<String> errors = Files.readAllLines(errFile);
+        assertEquals(CHATTY_LINES, output.size());
+        assertEquals(CHATTY_LINES, errors.size());
+        assertEquals("out 0", output.get(0));
+        assertEquals("err " + (CHATTY_LINES - 1), errors.get(CHATTY_LINES - 1));
+    }
+}
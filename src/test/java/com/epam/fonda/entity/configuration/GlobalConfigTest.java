@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.entity.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GlobalConfigTest {
+    private GlobalConfig.QueueParameters queueParameters;
+
+    @BeforeEach
+    void setup() {
+        queueParameters = new GlobalConfig.QueueParameters();
+        queueParameters.setNumThreads(8);
+        queueParameters.setMaxMem("32g");
+        queueParameters.setQueue("all.q");
+    }
+
+    @Test
+    void shouldUseToolResources() {
+        queueParameters.setToolNumThreads("contEst:1,_freebayes:_1");
+        queueParameters.setToolMaxMem("mutect2:16g");
+        queueParameters.setToolQueue("mutect2:long.q");
+
+        assertEquals(1, queueParameters.getNumThreads("contEst"));
+        assertEquals(1, queueParameters.getNumThreads("freebayes"));
+        assertEquals("16g", queueParameters.getMaxMem("mutect2"));
+        assertEquals("16g", queueParameters.getToolMaxMem("mutect2"));
+        assertEquals("long.q", queueParameters.getQueue("mutect2"));
+    }
+
+    @Test
+    void shouldFallBackToQueueParameters() {
+        queueParameters.setToolNumThreads("contEst:1");
+
+        assertEquals(8, queueParameters.getNumThreads("alignment"));
+        assertEquals("32g", queueParameters.getMaxMem("alignment"));
+        assertNull(queueParameters.getToolMaxMem("alignment"));
+        assertEquals("all.q", queueParameters.getQueue("alignment"));
+    }
+
+    @Test
+    void shouldFailOnWrongThreads() {
+        queueParameters.setToolNumThreads("contEst:one");
+
+        assertThrows(IllegalArgumentException.class, () -> queueParameters.getNumThreads("contEst"));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The <tt>FakeJobScheduler</tt> class stands in for a cluster scheduler in the tests: it records the submitted
+ * scripts, keeps each script running until the expected number of scripts is submitted and returns the configured
+ * exit statuses.
+ */
+class FakeJobScheduler implements JobScheduler {
+    private final List<String> submitted = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final Map<String, Integer> statuses;
+    private final CountDownLatch concurrentScripts;
+
+    /**
+     * @param statuses          the exit statuses by the script path, the other scripts succeed
+     * @param concurrentScripts the number of the scripts, that should be running at the same time
+     *                          before any of them is completed
+     */
+    FakeJobScheduler(final Map<String, Integer> statuses, final int concurrentScripts) {
+        this.statuses = statuses;
+        this.concurrentScripts = new CountDownLatch(concurrentScripts);
+    }
+
+    @Override
+    public String getName() {
+        return "fake";
+    }
+
+    @Override
+    public String getSubmitCommand(final String script, final boolean sync) {
+        return "submit " + script;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return false;
+    }
+
+    @Override
+    public boolean isEventStatusCheckSupported() {
+        return true;
+    }
+
+    @Override
+    public int run(final String script) throws InterruptedException {
+        submitted.add(script);
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        concurrentScripts.countDown();
+        concurrentScripts.await(1, TimeUnit.SECONDS);
+        running.decrementAndGet();
+        return statuses.getOrDefault(script, 0);
+    }
+
+    List<String> getSubmitted() {
+        return new ArrayList<>(submitted);
+    }
+
+    int getMaxRunning() {
+        return maxRunning.get();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.entity.configuration.SchedulerType;
+import com.epam.fonda.entity.configuration.SchedulerTypeConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobSchedulerTest {
+    private static final String SCRIPT = "output/sh_files/workflow_alignment_for_sample_analysis.sh";
+
+    private Configuration configuration;
+
+    @BeforeEach
+    void init() {
+        configuration = new Configuration();
+        configuration.setGlobalConfig(new GlobalConfig());
+    }
+
+    @Test
+    void shouldSubmitToSgeByDefault() {
+        final JobScheduler jobScheduler = JobScheduler.of(configuration);
+
+        assertEquals("sge", jobScheduler.getName());
+        assertEquals("qsub " + SCRIPT, jobScheduler.getSubmitCommand(SCRIPT, false));
+        assertEquals("qsub " + SCRIPT, jobScheduler.getSubmitCommand(SCRIPT, true));
+        assertFalse(jobScheduler.isLocal());
+        assertTrue(jobScheduler.isEventStatusCheckSupported());
+    }
+
+    @Test
+    void shouldSubmitToSlurm() {
+        configuration.getGlobalConfig().getQueueParameters().setScheduler(SchedulerType.SLURM);
+        final JobScheduler jobScheduler = JobScheduler.of(configuration);
+
+        assertEquals("slurm", jobScheduler.getName());
+        assertEquals("sbatch " + SCRIPT, jobScheduler.getSubmitCommand(SCRIPT, false));
+        assertEquals("sbatch --wait " + SCRIPT, jobScheduler.getSubmitCommand(SCRIPT, true));
+        assertFalse(jobScheduler.isLocal());
+        assertFalse(jobScheduler.isEventStatusCheckSupported());
+    }
+
+    @Test
+    void shouldRunScriptsOnLocalMachineInLocalMode() {
+        configuration.getGlobalConfig().getQueueParameters().setScheduler(SchedulerType.SLURM);
+        configuration.setLocalMode(true);
+        final JobScheduler jobScheduler = JobScheduler.of(configuration);
+
+        assertEquals("local", jobScheduler.getName());
+        assertEquals("sh " + SCRIPT, jobScheduler.getSubmitCommand(SCRIPT, false));
+        assertTrue(jobScheduler.isLocal());
+    }
+
+    @Test
+    void shouldConvertSchedulerFromGlobalConfig() {
+        final SchedulerTypeConverter converter = new SchedulerTypeConverter();
+
+        assertEquals(SchedulerType.SLURM, converter.convert("slurm"));
+        assertEquals(SchedulerType.SGE, converter.convert("SGE"));
+        assertEquals(SchedulerType.LOCAL, converter.convert(" local "));
+        assertThrows(IllegalArgumentException.class, () -> converter.convert("pbs"));
+    }
+}
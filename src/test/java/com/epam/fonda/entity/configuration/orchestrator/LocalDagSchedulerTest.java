@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import com.epam.fonda.utils.PipelineUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalDagSchedulerTest {
+    private static final long GIGABYTE = 1024L * 1024 * 1024;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    void shouldRunScriptsAfterTheirUpstreamScripts() {
+        final List<String> started = Collections.synchronizedList(new ArrayList<>());
+        final ScriptNode alignment1 = node("alignment_for_sample_1", 1);
+        final ScriptNode alignment2 = node("alignment_for_sample_2", 1);
+        final ScriptNode postAlignment = node("postalignment_for_sample", 1);
+        final ScriptNode secondary = node("secondary_for_sample", 1);
+        postAlignment.dependsOn(Arrays.asList(alignment1, alignment2));
+        secondary.dependsOn(Collections.singletonList(postAlignment));
+        final LocalDagScheduler scheduler = new LocalDagScheduler(4, 8 * GIGABYTE, script -> {
+            started.add(script);
+            return 0;
+        });
+
+        final Map<String, Integer> statuses = assertTimeoutPreemptively(TIMEOUT,
+            () -> scheduler.run(Arrays.asList(secondary, postAlignment, alignment1, alignment2)));
+
+        assertEquals(4, statuses.size());
+        assertEquals(0, LocalDagScheduler.getExitStatus(statuses));
+        assertEquals("sh/postalignment_for_sample.sh", started.get(2));
+        assertEquals("sh/secondary_for_sample.sh", started.get(3));
+    }
+
+    @Test
+    void shouldLimitRunningScriptsByThreads() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<ScriptNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            nodes.add(node("alignment_for_sample_" + i, 2));
+        }
+        final LocalDagScheduler scheduler = new LocalDagScheduler(5, 8 * GIGABYTE, script -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            TimeUnit.MILLISECONDS.sleep(20);
+            running.decrementAndGet();
+            return 0;
+        });
+
+        final Map<String, Integer> statuses = assertTimeoutPreemptively(TIMEOUT, () -> scheduler.run(nodes));
+
+        assertEquals(10, statuses.size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void shouldLimitRunningScriptsByMemory() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<ScriptNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            nodes.add(new ScriptNode("sh/alignment_for_sample_" + i + ".sh", ScriptType.ALIGNMENT, 1, 3 * GIGABYTE));
+        }
+        final LocalDagScheduler scheduler = new LocalDagScheduler(16, 8 * GIGABYTE, script -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            TimeUnit.MILLISECONDS.sleep(20);
+            running.decrementAndGet();
+            return 0;
+        });
+
+        assertTimeoutPreemptively(TIMEOUT, () -> scheduler.run(nodes));
+
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void shouldStartSmallScriptWhileLargeScriptDoesNotFit() {
+        final List<String> started = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch smallStarted = new CountDownLatch(1);
+        final ScriptNode running = node("alignment_for_sample_1", 3);
+        final ScriptNode large = node("alignment_for_sample_2", 4);
+        final ScriptNode small = node("alignment_for_sample_3", 1);
+        final LocalDagScheduler scheduler = new LocalDagScheduler(4, 8 * GIGABYTE, script -> {
+            started.add(script);
+            if (script.equals(small.getScript())) {
+                smallStarted.countDown();
+            } else if (script.equals(running.getScript())) {
+                smallStarted.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS);
+            }
+            return 0;
+        });
+
+        final Map<String, Integer> statuses = assertTimeoutPreemptively(TIMEOUT,
+            () -> scheduler.run(Arrays.asList(running, large, small)));
+
+        assertEquals(0, LocalDagScheduler.getExitStatus(statuses));
+        assertEquals(Arrays.asList(running.getScript(), small.getScript(), large.getScript()), started);
+    }
+
+    @Test
+    void shouldNotStartScriptsOfFailedBranch() {
+        final ScriptNode failed = node("alignment_for_sample_1", 1);
+        final ScriptNode succeeded = node("alignment_for_control_1", 1);
+        final ScriptNode postAlignment = node("postalignment_for_sample", 1);
+        final ScriptNode secondary = node("secondary_for_sample", 1);
+        final ScriptNode controlPostAlignment = node("postalignment_for_control", 1);
+        postAlignment.dependsOn(Collections.singletonList(failed));
+        secondary.dependsOn(Collections.singletonList(postAlignment));
+        controlPostAlignment.dependsOn(Collections.singletonList(succeeded));
+        final LocalDagScheduler scheduler = new LocalDagScheduler(4, 8 * GIGABYTE,
+            script -> script.equals(failed.getScript()) ? 2 : 0);
+
+        final Map<String, Integer> statuses = assertTimeoutPreemptively(TIMEOUT,
+            () -> scheduler.run(Arrays.asList(failed, succeeded, postAlignment, secondary, controlPostAlignment)));
+
+        assertEquals(2, (int) statuses.get("alignment_for_sample_1"));
+        assertEquals(LocalDagScheduler.NOT_STARTED, (int) statuses.get("postalignment_for_sample"));
+        assertEquals(LocalDagScheduler.NOT_STARTED, (int) statuses.get("secondary_for_sample"));
+        assertEquals(0, (int) statuses.get("postalignment_for_control"));
+        assertEquals(2, LocalDagScheduler.getExitStatus(statuses));
+    }
+
+    @Test
+    void shouldReturnErrorStatusIfScriptWasNotStarted() {
+        final ScriptNode upstream = node("alignment_for_sample", 1);
+        final ScriptNode downstream = node("postalignment_for_sample", 1);
+        downstream.dependsOn(Collections.singletonList(upstream));
+        final Map<String, Integer> statuses = new LocalDagScheduler(1, GIGABYTE, script -> 0)
+                .run(Collections.singletonList(downstream));
+
+        assertEquals(LocalDagScheduler.NOT_STARTED, (int) statuses.get("postalignment_for_sample"));
+        assertEquals(PipelineUtils.ERROR_STATUS, LocalDagScheduler.getExitStatus(statuses));
+    }
+
+    @Test
+    void shouldSubmitAllReadyScriptsToClusterScheduler() {
+        final List<ScriptNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            nodes.add(new ScriptNode("sh/alignment_for_sample_" + i + ".sh", ScriptType.ALIGNMENT, 64, 256 * GIGABYTE));
+        }
+        final ScriptNode postAlignment = node("postalignment_for_sample_0", 1);
+        postAlignment.dependsOn(Collections.singletonList(nodes.get(0)));
+        final ScriptNode failedPostAlignment = node("postalignment_for_sample_1", 1);
+        failedPostAlignment.dependsOn(Collections.singletonList(nodes.get(1)));
+        final FakeJobScheduler jobScheduler = new FakeJobScheduler(
+                Collections.singletonMap(nodes.get(1).getScript(), 1), nodes.size());
+        final List<ScriptNode> graph = new ArrayList<>(nodes);
+        graph.add(postAlignment);
+        graph.add(failedPostAlignment);
+
+        final Map<String, Integer> statuses = assertTimeoutPreemptively(TIMEOUT,
+            () -> new LocalDagScheduler(jobScheduler).run(graph));
+
+        assertEquals(nodes.size(), jobScheduler.getMaxRunning());
+        assertEquals(nodes.size() + 1, jobScheduler.getSubmitted().size());
+        assertEquals(postAlignment.getScript(), jobScheduler.getSubmitted().get(nodes.size()));
+        assertEquals(0, (int) statuses.get("postalignment_for_sample_0"));
+        assertEquals(LocalDagScheduler.NOT_STARTED, (int) statuses.get("postalignment_for_sample_1"));
+        assertEquals(1, LocalDagScheduler.getExitStatus(statuses));
+    }
+
+    @Test
+    void shouldParseMemory() {
+        assertEquals(0, LocalDagScheduler.parseMemory(null));
+        assertEquals(24 * GIGABYTE, LocalDagScheduler.parseMemory("24g"));
+        assertEquals(512L * 1024 * 1024, LocalDagScheduler.parseMemory("512M"));
+        assertEquals(2048, LocalDagScheduler.parseMemory("2kb"));
+        assertEquals(100, LocalDagScheduler.parseMemory("100"));
+        assertThrows(IllegalArgumentException.class, () -> LocalDagScheduler.parseMemory("a lot"));
+        assertTrue(LocalDagScheduler.parseMemory("1t") > GIGABYTE);
+    }
+
+    private static ScriptNode node(final String name, final int threads) {
+        return new ScriptNode("sh/" + name + ".sh", ScriptType.ALIGNMENT, threads, 0);
+    }
+}
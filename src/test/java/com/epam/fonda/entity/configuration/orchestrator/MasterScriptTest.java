@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.entity.configuration.orchestrator;
+
+import com.epam.fonda.entity.configuration.CommonOutdir;
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MasterScriptTest {
+    private static final String OUTPUT_DIR = "output";
+    private static final String SH_DIR = "output/sh_files/";
+    private static final String WORKFLOW = "DnaCaptureVar_Fastq";
+
+    private final MasterScript masterScript = MasterScript.getInstance();
+    private Configuration configuration;
+
+    @BeforeEach
+    void init() throws IOException {
+        Files.createDirectories(Paths.get(SH_DIR));
+        final GlobalConfig globalConfig = new GlobalConfig();
+        globalConfig.getQueueParameters().setNumThreads(4);
+        globalConfig.getQueueParameters().setMaxMem("8g");
+        configuration = new Configuration();
+        configuration.setGlobalConfig(globalConfig);
+        configuration.setCommonOutdir(new CommonOutdir(OUTPUT_DIR));
+        masterScript.resetScript();
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        masterScript.resetScript();
+        FileUtils.deleteDirectory(new File(OUTPUT_DIR));
+    }
+
+    @Test
+    void shouldBuildGraphFromScriptTypes() {
+        masterScript.addScript("control", ScriptType.ALIGNMENT, script("alignment_for_control_1"));
+        masterScript.addScript("control", ScriptType.POST_ALIGNMENT, script("postalignment_for_control"));
+        masterScript.addScript("sample", ScriptType.ALIGNMENT, script("alignment_for_sample_1"));
+        masterScript.addScript("sample", ScriptType.ALIGNMENT, script("alignment_for_sample_2"));
+        masterScript.addScript("sample", ScriptType.POST_ALIGNMENT, script("postalignment_for_sample"));
+        masterScript.addScript("sample", ScriptType.SECONDARY, script("mutect2_for_sample"));
+        masterScript.addScript("", ScriptType.POST_PROCESS, script("qcsummary_for_cohort_analysis"));
+        masterScript.addScript("sample", ScriptType.TEMP, "output/sample/tmp");
+        masterScript.addDependencies(script("postalignment_for_sample"),
+                Arrays.asList("postalignment_for_sample", "postalignment_for_control", "unknown_job"));
+
+        final Map<String, ScriptNode> graph = masterScript.buildGraph(configuration).stream()
+                .collect(Collectors.toMap(ScriptNode::getName, Function.identity()));
+
+        assertEquals(8, graph.size());
+        assertEquals(Collections.emptySet(), dependencies(graph, "alignment_for_sample_1"));
+        assertEquals(names("alignment_for_sample_1", "alignment_for_sample_2", "postalignment_for_control"),
+                dependencies(graph, "postalignment_for_sample"));
+        assertEquals(names("postalignment_for_sample"), dependencies(graph, "mutect2_for_sample"));
+        assertEquals(6, dependencies(graph, "qcsummary_for_cohort_analysis").size());
+        assertEquals(7, dependencies(graph, "master_cleanup").size());
+        assertTrue(new File(SH_DIR + "master_cleanup.sh").exists());
+        final ScriptNode alignment = graph.get("alignment_for_sample_1");
+        assertEquals(4, alignment.getThreads());
+        assertEquals(8L * 1024 * 1024 * 1024, alignment.getMemory());
+    }
+
+    @Test
+    void shouldGroupScriptsOfSameTaskIntoArrayJobs() throws IOException {
+        configuration.getGlobalConfig().getPipelineInfo().setWorkflow(WORKFLOW);
+        configuration.getGlobalConfig().getQueueParameters().setPe("-pe threaded");
+        configuration.setArrayMode(true);
+        for (String sample : Arrays.asList("control", "tumor")) {
+            masterScript.addScript(sample, ScriptType.ALIGNMENT, script(WORKFLOW + "_alignment_for_" + sample));
+            masterScript.addScript(sample, ScriptType.POST_ALIGNMENT,
+                    script(WORKFLOW + "_postalignment_for_" + sample + "_analysis"));
+            masterScript.addScript(sample, ScriptType.SECONDARY,
+                    script(WORKFLOW + "_vardict_for_" + sample + "_analysis"));
+        }
+        masterScript.addDependencies(script(WORKFLOW + "_postalignment_for_tumor_analysis"),
+                Collections.singletonList(WORKFLOW + "_postalignment_for_control_analysis"));
+
+        final String master = new String(Files.readAllBytes(Paths.get(masterScript.buildScript(configuration))));
+
+        assertEquals(Arrays.asList(script(WORKFLOW + "_alignment_for_control"),
+                script(WORKFLOW + "_alignment_for_tumor")), readLines("alignment_array.index"));
+        assertEquals(Collections.singletonList(script(WORKFLOW + "_postalignment_for_control_analysis")),
+                readLines("postalignment_array.index"));
+        assertEquals(Collections.singletonList(script(WORKFLOW + "_postalignment_for_tumor_analysis")),
+                readLines("postalignment_array_2.index"));
+        assertEquals(2, readLines("vardict_array.index").size());
+        final List<String> arrayJob = readLines("vardict_array.sh");
+        assertTrue(arrayJob.contains("#$ -t 1-2"));
+        assertTrue(arrayJob.contains("#$ -pe threaded 4"));
+        assertTrue(master.indexOf(arrayJob("alignment_array")) < master.indexOf(arrayJob("postalignment_array")));
+        assertTrue(master.indexOf(arrayJob("postalignment_array")) < master.indexOf(arrayJob("postalignment_array_2")));
+        assertTrue(master.indexOf(arrayJob("postalignment_array_2")) < master.indexOf(arrayJob("vardict_array")));
+        assertFalse(master.contains("_for_tumor_analysis.sh"));
+    }
+
+    private static String arrayJob(final String name) {
+        return String.format("launch_script %s &", script(WORKFLOW + "_" + name));
+    }
+
+    private static List<String> readLines(final String name) throws IOException {
+        return Files.readAllLines(Paths.get(SH_DIR + WORKFLOW + "_" + name));
+    }
+
+    private static String script(final String name) {
+        return SH_DIR + name + ".sh";
+    }
+
+    private static Set<String> names(final String... names) {
+        return Arrays.stream(names).collect(Collectors.toSet());
+    }
+
+    private static Set<String> dependencies(final Map<String, ScriptNode> graph, final String name) {
+        return graph.get(name).getDependencies().stream()
+                .map(ScriptNode::getName)
+                .collect(Collectors.toSet());
+    }
+}
@@ -22,13 +22,19 @@ import com.epam.fonda.samples.bam.BamFileSample;
 import com.epam.fonda.samples.fastq.FastqFileSample;
 import com.epam.fonda.tools.impl.AbstractTest;
 import com.epam.fonda.workflow.PipelineType;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -46,6 +52,7 @@ public class SampleBuilderTest extends AbstractTest {
             "study_config/RnaExpression_RNASeq_SampleFastqPathsIncorrect.txt";
     private static final String WRONG_PATH = "wrong_path.txt";
     private static final String ROOT_DIR = "output";
+    private static final String UNSORTED_FASTQ_FILE_LIST = ROOT_DIR + "/unsorted_fastq_list.txt";
     private SampleBuilder builder;
     private StudyConfig studyConfig;
     private GlobalConfig globalConfig;
@@ -119,6 +126,50 @@ public class SampleBuilderTest extends AbstractTest {
         assertEquals(5, sampleList.size());
     }
 
+    @Test
+    void buildFastqSamplesShouldProvideSamplesInListOrder() throws IOException {
+        globalConfig.getPipelineInfo().setReadType(PAIRED);
+        studyConfig.setFastqList(new File(getClass().getClassLoader().
+                getResource(FASTQ_FILE_LIST).getFile()).getAbsolutePath());
+        builder = new SampleBuilder(globalConfig, studyConfig);
+        final List<FastqFileSample> provided = new ArrayList<>();
+        builder.buildFastqSamples(ROOT_DIR, provided::add);
+
+        final List<String> expectedNames = Files.readAllLines(Paths.get(studyConfig.getFastqList())).stream()
+                .skip(1)
+                .filter(StringUtils::isNotBlank)
+                .map(line -> line.split("\t")[1])
+                .distinct()
+                .collect(Collectors.toList());
+        assertEquals(expectedNames, provided.stream().map(FastqFileSample::getName).collect(Collectors.toList()));
+        assertEquals(builder.buildFastqSamples(ROOT_DIR), provided);
+    }
+
+    @Test
+    void buildFastqSamplesShouldMergeNotAdjacentLanes() throws IOException {
+        globalConfig.getPipelineInfo().setReadType(SINGLE);
+        Files.write(Paths.get(UNSORTED_FASTQ_FILE_LIST), Arrays.asList(
+                "parameterType\tshortName\tParameter1",
+                "fastqFile\tsampleA\t/fastq/sampleA_L001_R1_001.fastq.gz",
+                "fastqFile\tsampleB\t/fastq/sampleB_L001_R1_001.fastq.gz",
+                "",
+                "fastqFile\tsampleA\t/fastq/sampleA_L002_R1_001.fastq.gz"));
+        studyConfig.setFastqList(UNSORTED_FASTQ_FILE_LIST);
+        builder = new SampleBuilder(globalConfig, studyConfig);
+        final List<FastqFileSample> provided = new ArrayList<>();
+        builder.buildFastqSamples(ROOT_DIR, provided::add);
+
+        assertEquals(2, provided.size());
+        assertEquals(Arrays.asList("sampleB", "sampleA"),
+                provided.stream().map(FastqFileSample::getName).collect(Collectors.toList()));
+        final FastqFileSample sampleA = provided.stream()
+                .filter(sample -> "sampleA".equals(sample.getName()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        assertEquals(Arrays.asList("/fastq/sampleA_L001_R1_001.fastq.gz", "/fastq/sampleA_L002_R1_001.fastq.gz"),
+                sampleA.getFastq1());
+    }
+
     @Test
     void buildFastqSamplesPairedMultipleMatchControl() {
         globalConfig.getPipelineInfo().setReadType(PAIRED);
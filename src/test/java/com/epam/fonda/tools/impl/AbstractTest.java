@@ -32,7 +32,7 @@ public abstract class AbstractTest {
     @AfterEach
     public void deleteTestDirectory() throws IOException {
         FileUtils.deleteDirectory(new File(TEST_DIRECTORY));
-        TaskContainer.getTasks().clear();
+        TaskContainer.clear();
     }
 
     String readFile(Path path) throws IOException {
@@ -46,6 +46,8 @@ class BwaSortTest extends AbstractTest {
             "templates/captureBwaSortTest_tool_test_input_data_with_fastq1.txt";
     private static final String CAPTURE_BWA_SORT_TEST_INPUT_DATA_WITH_FASTQ1_AND_FASTQ2_PATH =
             "templates/captureBwaSortTest_tool_test_input_data_with_fastq1_and_fastq2.txt";
+    private static final String CAPTURE_BWA_SORT_TEST_INPUT_DATA_WITH_SORT_MEMORY_PATH =
+            "templates/captureBwaSortTest_tool_test_input_data_with_sort_memory.txt";
 
     private BwaSort bwaSort;
     private Configuration expectedConfiguration;
@@ -115,6 +117,18 @@ class BwaSortTest extends AbstractTest {
         assertEquals(expectedBashCommand.getToolCommand(), actualBamResult.getCommand().getToolCommand());
     }
 
+    @Test
+    void shouldSplitHalfOfMaxMemBetweenSortThreads() throws URISyntaxException, IOException {
+        expectedConfiguration.getGlobalConfig().getPipelineInfo()
+                .setWorkflow(PipelineType.DNA_CAPTURE_VAR_FASTQ.getName());
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setMaxMem("8g");
+        expectedBashCommand =
+                getExpectedBashCommandFromFile(CAPTURE_BWA_SORT_TEST_INPUT_DATA_WITH_SORT_MEMORY_PATH);
+        BamResult actualBamResult = bwaSort.generate(expectedConfiguration, expectedTemplateEngine);
+
+        assertEquals(expectedBashCommand.getToolCommand(), actualBamResult.getCommand().getToolCommand());
+    }
+
     @Test
     void shouldThrowException() {
         expectedConfiguration.getGlobalConfig().getPipelineInfo()
@@ -43,6 +43,8 @@ class DnaPicardQcTest extends AbstractTest {
             "dnaAmpliconPicardQc_tool_test_output_data";
     private static final String DNA_CAPTURE_PICARD_QC_TOOL_TEST_TEMPLATE_NAME =
             "dnaCapturePicardQc_tool_test_output_data";
+    private static final String DNA_CAPTURE_PARALLEL_PICARD_QC_TOOL_TEST_TEMPLATE_NAME =
+            "dnaCapturePicardQc_parallel_tool_test_output_data";
     private static final String JAR_PATH = "jarPath";
     private static final String READ_TYPE = "readType";
     private static final String BED_TOOLS = "bedtools";
@@ -243,6 +245,31 @@ class DnaPicardQcTest extends AbstractTest {
         assertEquals(expectedCmd, actualCmd);
     }
 
+    @Test
+    void shouldGenerateParallelCollectorsWithConfiguredMemoryForDnaCapturePicardQc() {
+        DnaPicardQc dnaPicardQc = new DnaPicardQc(expectedSample, metricsResult);
+        GlobalConfig.PipelineInfo expectedPipelineInfo = new GlobalConfig.PipelineInfo();
+        expectedPipelineInfo.setWorkflow(PipelineType.DNA_CAPTURE_VAR_FASTQ.getName());
+        expectedConfiguration.getGlobalConfig().setPipelineInfo(expectedPipelineInfo);
+        expectedPipelineInfo.setReadType(FastqReadType.PAIRED.getType());
+        GlobalConfig.ToolConfig expectedToolConfig = expectedConfiguration.getGlobalConfig().getToolConfig();
+        expectedToolConfig.setBedTools(BED_TOOLS);
+        expectedToolConfig.setPicardQcMemory("8g");
+        expectedToolConfig.setPicardQcParallel(true);
+        expectedStudyConfig.setLibraryType("target");
+        expectedConfiguration.setStudyConfig(expectedStudyConfig);
+        Context context = new Context();
+        context.setVariable(JAR_PATH, jarPath);
+        context.setVariable(READ_TYPE, expectedPipelineInfo.getReadType());
+        context.setVariable(BED_TOOLS, expectedToolConfig.getBedTools());
+        final String expectedCmd = expectedTemplateEngine
+                .process(DNA_CAPTURE_PARALLEL_PICARD_QC_TOOL_TEST_TEMPLATE_NAME, context);
+        final String actualCmd = dnaPicardQc.generate(expectedConfiguration, expectedTemplateEngine)
+                .getCommand()
+                .getToolCommand();
+        assertEquals(expectedCmd, actualCmd);
+    }
+
     private void constructExpectedSample() {
         expectedSample = new FastqFileSample();
         expectedSample.setName("sampleName");
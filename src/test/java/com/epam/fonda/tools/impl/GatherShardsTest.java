@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.tools.impl;
+
+import com.epam.fonda.entity.configuration.CommonOutdir;
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.tools.results.BamOutput;
+import com.epam.fonda.tools.results.VariantsVcfOutput;
+import com.epam.fonda.tools.results.VariantsVcfResult;
+import com.epam.fonda.utils.TemplateEngineUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GatherShardsTest extends AbstractTest {
+    private static final String GATHER_SHARDS_TEMPLATE_TEST = "gather_shards_template_test";
+    private static final String SAMPLE_NAME = "sample1";
+    private final BamOutput bamOutput = BamOutput.builder().bam("file.bam").build();
+    private final TemplateEngine expectedTemplateEngine = TemplateEngineUtils.init();
+    private final Context context = new Context();
+    private Configuration configuration;
+
+    @BeforeEach
+    void setup() {
+        context.setVariable("output", TEST_DIRECTORY);
+        new CommonOutdir(TEST_DIRECTORY).createDirectory();
+        final GlobalConfig.ToolConfig toolConfig = new GlobalConfig.ToolConfig();
+        toolConfig.setGatk("gatk");
+        final GlobalConfig globalConfig = new GlobalConfig();
+        globalConfig.setToolConfig(toolConfig);
+        configuration = new Configuration();
+        configuration.setGlobalConfig(globalConfig);
+    }
+
+    @Test
+    void shouldGatherMutect2Shards() {
+        final List<VariantsVcfOutput> shards = Arrays.asList(
+                new Mutect2(SAMPLE_NAME, bamOutput, TEST_DIRECTORY, null, false, 1, 2).getOutput(),
+                new Mutect2(SAMPLE_NAME, bamOutput, TEST_DIRECTORY, null, false, 2, 2).getOutput());
+        final VariantsVcfOutput output = new Mutect2(SAMPLE_NAME, bamOutput, TEST_DIRECTORY, null, false)
+                .getOutput();
+        final VariantsVcfResult result = new GatherShards("mutect2", shards, output)
+                .generate(configuration, expectedTemplateEngine);
+        final String expectedCmd = expectedTemplateEngine.process(GATHER_SHARDS_TEMPLATE_TEST, context);
+        assertEquals(expectedCmd, result.getAbstractCommand().getToolCommand());
+        assertEquals(output.getVariantsVcf(), result.getVariantsVcfOutput().getVariantsVcf());
+        assertEquals("mutect2", result.getFilteredTool());
+    }
+}
@@ -33,6 +33,7 @@ import java.nio.file.Paths;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class GatkHaplotypeCallerTest extends AbstractTest {
@@ -86,6 +87,17 @@ class GatkHaplotypeCallerTest extends AbstractTest {
         assertEquals(expectedCmd.trim(), variantsVcfResult.getAbstractCommand().getToolCommand().trim());
     }
 
+    @Test
+    void shouldUseThreadsAndMemoryOfTask() {
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setToolNumThreads("gatkHaplotypeCaller:4");
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setToolMaxMem("gatkHaplotypeCaller:8g");
+        expectedConfiguration.setCustTask("gatkHaplotypeCaller");
+        final String cmd = gatkHaplotypeCaller.generate(expectedConfiguration, expectedTemplateEngine)
+                .getAbstractCommand().getToolCommand();
+        assertTrue(cmd.contains("java -Xmx6144m -Djava.io.tmpdir="));
+        assertTrue(cmd.contains("-T HaplotypeCaller -nct 4 -R genome"));
+    }
+
     private void buildConfiguration() {
         expectedConfiguration = new Configuration();
         GlobalConfig.ToolConfig expectedToolConfig = new GlobalConfig.ToolConfig();
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2020 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.tools.impl;
+
+import com.epam.fonda.entity.command.BashCommand;
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.samples.fastq.FastqFileSample;
+import com.epam.fonda.tools.results.BamOutput;
+import com.epam.fonda.tools.results.BamResult;
+import com.epam.fonda.utils.TemplateEngineUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MarkDuplicateTest extends AbstractTest {
+    private static final String SAMBAMBA_MARK_DUPLICATE_TEST_OUTPUT_DATA_PATH =
+            "templates/sambamba_mark_duplicate_tool_test_output_data.txt";
+    private static final String SAMTOOLS_MARK_DUPLICATE_TEST_OUTPUT_DATA_PATH =
+            "templates/samtools_mark_duplicate_tool_test_output_data.txt";
+    private Configuration expectedConfiguration;
+    private FastqFileSample expectedSample;
+    private TemplateEngine expectedTemplateEngine = TemplateEngineUtils.init();
+
+    @BeforeEach
+    void setup() {
+        expectedSample = new FastqFileSample();
+        expectedSample.setBamOutdir("sbamOutdir");
+        expectedSample.setTmpOutdir("stmpOutdir");
+        expectedSample.setQcOutdir("sqcOutdir");
+        expectedConfiguration = new Configuration();
+        GlobalConfig.PipelineInfo expectedPipelineInfo = new GlobalConfig.PipelineInfo();
+        expectedPipelineInfo.setWorkflow("DnaWgsVar_Fastq");
+        GlobalConfig expectedGlobalConfig = new GlobalConfig();
+        expectedGlobalConfig.setPipelineInfo(expectedPipelineInfo);
+        GlobalConfig.ToolConfig expectedToolConfig = new GlobalConfig.ToolConfig();
+        expectedToolConfig.setSamTools("samtools");
+        expectedToolConfig.setSambamba("sambamba");
+        expectedGlobalConfig.setToolConfig(expectedToolConfig);
+        expectedGlobalConfig.getQueueParameters().setNumThreads(8);
+        expectedConfiguration.setGlobalConfig(expectedGlobalConfig);
+    }
+
+    @Test
+    void shouldGenerateSambamba() throws IOException, URISyntaxException {
+        final BamResult result = new MarkDuplicate(MarkDuplicate.Engine.SAMBAMBA, expectedSample, buildBamResult())
+                .generate(expectedConfiguration, expectedTemplateEngine);
+        assertEquals(readExpected(SAMBAMBA_MARK_DUPLICATE_TEST_OUTPUT_DATA_PATH),
+                result.getCommand().getToolCommand());
+        assertEquals("sbamOutdir/sampleName.toolName.sorted.mkdup.bam", result.getBamOutput().getBam());
+        assertEquals("sbamOutdir/sampleName.toolName.sorted.mkdup.bam.bai",
+                result.getBamOutput().getMkdupBamIndex());
+        assertEquals("sqcOutdir/sampleName.toolName.sorted.mkdup.metrics", result.getBamOutput().getMkdupMetric());
+    }
+
+    @Test
+    void shouldGenerateSamtools() throws IOException, URISyntaxException {
+        final BamResult result = new MarkDuplicate(MarkDuplicate.Engine.SAMTOOLS, expectedSample, buildBamResult())
+                .generate(expectedConfiguration, expectedTemplateEngine);
+        assertEquals(readExpected(SAMTOOLS_MARK_DUPLICATE_TEST_OUTPUT_DATA_PATH),
+                result.getCommand().getToolCommand());
+        assertEquals("sbamOutdir/sampleName.toolName.sorted.mkdup.bam", result.getBamOutput().getMkdupBam());
+    }
+
+    private BamResult buildBamResult() {
+        return BamResult.builder()
+                .bamOutput(BamOutput.builder()
+                        .bam("sbamOutdir/sampleName.toolName.sorted.bam")
+                        .build())
+                .command(BashCommand.withTool(""))
+                .build();
+    }
+
+    private String readExpected(final String template) throws URISyntaxException, IOException {
+        final Path path = Paths.get(Objects.requireNonNull(this.getClass().getClassLoader()
+                .getResource(template)).toURI());
+        return readFile(path);
+    }
+}
@@ -30,12 +30,14 @@ import org.thymeleaf.context.Context;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Mutect2Test extends AbstractTest {
 
     private static final String MUTECT2_TEMPLATE_TEST = "mutect2_template_test";
     private static final String MUTECT2_WITHOUT_BED_TEMPLATE_TEST = "mutect2_without_bed_template_test";
     private static final String MUTECT2_TUMOR_ONLY_TEMPLATE_TEST = "mutect2_tumor_only_template_test";
+    private static final String MUTECT2_SHARD_TEMPLATE_TEST = "mutect2_shard_template_test";
     private static final String SAMPLE_NAME = "sample1";
     private static final String CONTROL_SAMPLE_NAME = "sample2";
     private static final String BAM = "file.bam";
@@ -113,6 +115,27 @@ class Mutect2Test extends AbstractTest {
         assertEquals(expectedCmd, result.getAbstractCommand().getToolCommand());
     }
 
+    @Test
+    void shouldGenerateShard() {
+        final Mutect2 mutect = new Mutect2(SAMPLE_NAME, bamOutput, TEST_DIRECTORY, CONTROL_SAMPLE_NAME, true, 2, 3);
+        final VariantsVcfResult result = mutect.generate(initConfiguration(), expectedTemplateEngine);
+        final String expectedCmd = expectedTemplateEngine.process(MUTECT2_SHARD_TEMPLATE_TEST, context);
+        assertEquals(expectedCmd, result.getAbstractCommand().getToolCommand());
+        assertEquals(String.format("%s/mutect2/%s.shard2.mutect2.f1r2.tar.gz", TEST_DIRECTORY, SAMPLE_NAME),
+                result.getVariantsVcfOutput().getF1R2Metrics());
+    }
+
+    @Test
+    void shouldUseThreadsAndMemoryOfTask() {
+        final Configuration config = initConfiguration();
+        config.getGlobalConfig().getQueueParameters().setToolNumThreads("mutect2:2");
+        config.getGlobalConfig().getQueueParameters().setToolMaxMem("mutect2:16g");
+        config.setCustTask("mutect2");
+        final String cmd = mutect2.generate(config, expectedTemplateEngine).getAbstractCommand().getToolCommand();
+        assertTrue(cmd.contains("gatk --java-options -Xmx12288m Mutect2 -R GENOME"));
+        assertTrue(cmd.contains(".somatic.variants.vcf --native-pair-hmm-threads 2\n"));
+    }
+
     private Configuration initConfiguration() {
         final Configuration configuration = new Configuration();
         final GlobalConfig globalConfig = new GlobalConfig();
@@ -44,6 +44,7 @@ import java.util.Objects;
 import static com.epam.fonda.entity.configuration.GlobalConfigFormat.STARINDEX;
 import static com.epam.fonda.utils.PipelineUtils.getExecutionPath;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StarTest extends AbstractTest {
     private static final String STAR_TOOL_WITH_RMDUP_TEST_OUTPUT_DATA_PATH =
@@ -157,7 +158,7 @@ class StarTest extends AbstractTest {
     }
 
     @Test
-    void shouldGenerateWithGenomeLoad() throws IOException, URISyntaxException {
+    void shouldGenerateWithGenomeLoadAndDefaultSortMemoryWithoutMaxMem() throws IOException, URISyntaxException {
         expectedDatabaseConfig.setGenomeLoad("LoadAndRemove");
         expectedGlobalConfig.setDatabaseConfig(expectedDatabaseConfig);
         expectedPipelineInfo.setToolset(new LinkedHashSet<>());
@@ -171,4 +172,16 @@ class StarTest extends AbstractTest {
         bamResult = star.generate(expectedConfiguration, expectedTemplateEngine);
         assertEquals(expectedCmd, bamResult.getCommand().getToolCommand());
     }
+
+    @Test
+    void shouldGenerateWithGenomeLoadAndSortMemoryOfMaxMem() {
+        expectedDatabaseConfig.setGenomeLoad("LoadAndKeep");
+        expectedGlobalConfig.getQueueParameters().setMaxMem("4g");
+        expectedPipelineInfo.setToolset(new LinkedHashSet<>());
+        final Star star = new Star(Flag.buildFlags(expectedConfiguration), expectedSample, fastqOutput);
+        final String cmd = star.generate(expectedConfiguration, expectedTemplateEngine).getCommand()
+                .getToolCommand();
+        assertTrue(cmd.contains("--genomeLoad LoadAndKeep"));
+        assertTrue(cmd.contains(" --limitBAMsortRAM 2147483648 "));
+    }
 }
@@ -19,6 +19,7 @@ package com.epam.fonda.utils;
 import com.epam.fonda.entity.configuration.CommonOutdir;
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.entity.configuration.StatusCheckMode;
 import com.epam.fonda.samples.bam.BamFileSample;
 import com.epam.fonda.tools.impl.AbstractTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,8 +27,14 @@ import org.junit.jupiter.api.Test;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static com.epam.fonda.utils.DnaUtils.checkPeriodicBamStatus;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DnaUtilsTest extends AbstractTest {
 
@@ -99,6 +106,19 @@ class DnaUtilsTest extends AbstractTest {
         assertEquals(expectedCmd, actualCmd);
     }
 
+    @Test
+    void shouldCheckBamStatusOnceInEventMode() {
+        expectedConfiguration.getGlobalConfig().getToolConfig().setStatusCheckMode(StatusCheckMode.EVENT);
+        final List<String> upstreamJobs = new ArrayList<>();
+        String actualCmd = checkPeriodicBamStatus("tag", expectedBamFileSample.getName(), "controlSampleName",
+                expectedConfiguration, null, upstreamJobs);
+        assertFalse(actualCmd.contains("sleep"));
+        assertTrue(actualCmd.contains(String.format("logFile=%s", expectedLogFileWithSampleName)));
+        assertTrue(actualCmd.contains("if [[ $str != *\"Successful Step: tag\"* ]];"));
+        assertEquals(Arrays.asList("DnaAmpliconVarFastq_custTask_for_sampleName_analysis",
+                "DnaAmpliconVarFastq_custTask_for_controlSampleName_analysis"), upstreamJobs);
+    }
+
     private void buildCommonContext(Context context) {
         String ifScript1 = "if [[ $str == \"*Error Step: ";
         String ifScript2 = "if [[ -f $logFile  ]];";
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpressionMatrixMergerTest {
+    private static final String OUTPUT_DIR = "output";
+    private static final String CUFFLINKS_HEADER = "tracking_id\tclass_code\tgene_id\tgene_short_name\tlocus\tFPKM";
+    private static final String RSEM_HEADER = "gene_id\tgene_symbol\tTPM";
+    private static final long BLOCK_MEMORY = 1024;
+
+    private final Path workDir = Paths.get(OUTPUT_DIR);
+
+    @BeforeEach
+    void init() throws IOException {
+        Files.createDirectories(workDir);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(new File(OUTPUT_DIR));
+    }
+
+    @Test
+    void shouldMergeCufflinksResultsAndConvertThemToTpm() throws IOException {
+        writeResults("smv1", "cufflinks", CUFFLINKS_HEADER,
+                "G2\t-\tG2\tB\tchr1:5-6\t30",
+                "G1\t-\tG1\tA\tchr1:1-2\t10");
+        writeResults("smv2", "cufflinks", CUFFLINKS_HEADER,
+                "G1\t-\tG1\tA\tchr1:1-2\t1.5",
+                "G2\t-\tG2\tB\tchr1:5-6\t0.5");
+
+        final List<Path> matrices = new ExpressionMatrixMerger(workDir, "cufflinks", 2, BLOCK_MEMORY)
+                .merge(Arrays.asList("smv1", "smv2", "missing"));
+
+        assertEquals(Arrays.asList(
+                "gene_symbol\tsmv1\tsmv2",
+                "G1|G1|A|chr1:1-2\t10\t1.5",
+                "G2|G2|B|chr1:5-6\t30\t0.5"), Files.readAllLines(matrices.get(0)));
+        assertEquals(Arrays.asList(
+                "gene_symbol\tsmv1\tsmv2",
+                "G1|G1|A|chr1:1-2\t250000\t750000",
+                "G2|G2|B|chr1:5-6\t750000\t250000"), Files.readAllLines(matrices.get(1)));
+        assertEquals(workDir.resolve("Result_summary/merged_cufflinks_fpkm.gene.expression.results"),
+                matrices.get(0));
+        assertEquals(workDir.resolve("Result_summary/merged_cufflinks_tpm.gene.expression.results"),
+                matrices.get(1));
+    }
+
+    @Test
+    void shouldMergeRsemResultsInBlocks() throws IOException {
+        writeResults("smv1", "rsem", RSEM_HEADER, "G1\tA\t1", "G2\tB\tNA", "G3\tC\t0.0001");
+        writeResults("smv2", "rsem", RSEM_HEADER, "G1\tA\t100000", "G2\tB\t2", "G3\tC\t0.3");
+
+        final List<Path> matrices = new ExpressionMatrixMerger(workDir, "rsem", 1, 1)
+                .merge(Arrays.asList("smv1", "smv2"));
+
+        assertEquals(Collections.singletonList(
+                workDir.resolve("Result_summary/merged_rsem_tpm.gene.expression.results")), matrices);
+        assertEquals(Arrays.asList(
+                "gene_symbol\tsmv1\tsmv2",
+                "A\t1\t1e+05",
+                "B\tNA\t2",
+                "C\t1e-04\t0.3"), Files.readAllLines(matrices.get(0)));
+        try (Stream<Path> files = Files.list(workDir.resolve("Result_summary"))) {
+            assertFalse(files.anyMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void shouldIgnoreFilesNotNamedAsResults() throws IOException {
+        writeResults("smv1", "rsem", RSEM_HEADER, "G1\tA\t1");
+        Files.write(workDir.resolve("smv1/rsem/smv1.rsem-gene-expression-results"),
+                Arrays.asList(RSEM_HEADER, "G1\tA\t2"));
+
+        final List<Path> matrices = new ExpressionMatrixMerger(workDir, "rsem", 1, BLOCK_MEMORY)
+                .merge(Collections.singletonList("smv1"));
+
+        assertEquals(Arrays.asList("gene_symbol\tsmv1", "A\t1"), Files.readAllLines(matrices.get(0)));
+    }
+
+    @Test
+    void shouldFailIfGenesDiffer() throws IOException {
+        writeResults("smv1", "rsem", RSEM_HEADER, "G1\tA\t1", "G2\tB\t2");
+        writeResults("smv2", "rsem", RSEM_HEADER, "G1\tA\t1", "G3\tC\t2");
+
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionMatrixMerger(workDir, "rsem", 2,
+                BLOCK_MEMORY).merge(Arrays.asList("smv1", "smv2")));
+    }
+
+    @Test
+    void shouldReadDistinctSamples() throws IOException {
+        final Path sampleList = workDir.resolve("sample_list.tsv");
+        Files.write(sampleList, Arrays.asList("shortName\tfastq1", "smv2\tsmv2_R1.fastq.gz # lane 1", "",
+                "smv1\tsmv1_R1.fastq.gz", "smv2\tsmv2_L2_R1.fastq.gz"));
+        assertEquals(Arrays.asList("smv2", "smv1"), ExpressionMatrixMerger.readSamples(sampleList));
+    }
+
+    @Test
+    void shouldFormatValuesAsR() {
+        assertEquals("0", ExpressionMatrixMerger.formatValue(0));
+        assertEquals("0.3", ExpressionMatrixMerger.formatValue(0.3));
+        assertEquals("1.23456789012346", ExpressionMatrixMerger.formatValue(1.234567890123456789));
+        assertEquals("123456", ExpressionMatrixMerger.formatValue(123456));
+        assertEquals("1e+05", ExpressionMatrixMerger.formatValue(100000));
+        assertEquals("1e-04", ExpressionMatrixMerger.formatValue(0.0001));
+        assertEquals("0.001", ExpressionMatrixMerger.formatValue(0.001));
+        assertEquals("-2.5e-07", ExpressionMatrixMerger.formatValue(-2.5e-7));
+        assertEquals("1e+15", ExpressionMatrixMerger.formatValue(1e15));
+        assertEquals("NA", ExpressionMatrixMerger.formatValue(Double.NaN));
+        assertEquals("Inf", ExpressionMatrixMerger.formatValue(Double.POSITIVE_INFINITY));
+    }
+
+    private void writeResults(final String sample, final String tool, final String header, final String... rows)
+            throws IOException {
+        final Path toolDir = Files.createDirectories(workDir.resolve(sample).resolve(tool));
+        final List<String> lines = new ArrayList<>(Collections.singletonList(header));
+        lines.addAll(Arrays.asList(rows));
+        Files.write(toolDir.resolve(sample + "." + tool + ".gene.expression.results"), lines);
+    }
+}
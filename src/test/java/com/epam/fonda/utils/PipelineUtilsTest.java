@@ -19,8 +19,11 @@ package com.epam.fonda.utils;
 import com.epam.fonda.entity.configuration.CommonOutdir;
 import com.epam.fonda.entity.configuration.Configuration;
 import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.entity.configuration.SchedulerType;
+import com.epam.fonda.entity.configuration.StatusCheckMode;
 import com.epam.fonda.samples.fastq.FastqFileSample;
 import com.epam.fonda.tools.impl.AbstractTest;
+import com.epam.fonda.workflow.Checkpoints;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +43,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PipelineUtilsTest extends AbstractTest {
@@ -48,6 +52,7 @@ class PipelineUtilsTest extends AbstractTest {
     private static final String CLEAN_UP_TMPDIR_TEST_TEMPLATE_NAME = "clean_up_tmpdir_test_output_data";
     private static final String MERGE_FASTQ_WITH_FASTQ2_TEST_OUTPUT_DATA_PATH =
             "templates/merge_fastq_with_fastq2_test_output_data.txt";
+    private static final String PARALLEL_TASKS_TEST_OUTPUT_DATA_PATH = "templates/parallel_tasks_test_output_data.txt";
     private static final String CMD = "test command";
     private Configuration expectedConfiguration;
     private TemplateEngine expectedTemplateEngine = TemplateEngineUtils.init();
@@ -94,6 +99,25 @@ class PipelineUtilsTest extends AbstractTest {
         assertEquals(expectedCmd, actualCmd);
     }
 
+    @Test
+    void shouldRunTasksConcurrentlyAndJoinThemInLocalMode() throws URISyntaxException, IOException {
+        expectedConfiguration.setLocalMode(true);
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setParallelTasks(2);
+        assertTrue(PipelineUtils.isParallelTasks(expectedConfiguration));
+        final String tasks = PipelineUtils.addParallelTask(expectedConfiguration, "featureCount",
+                expectedSample.getName(), null)
+                + PipelineUtils.addParallelTask(expectedConfiguration, "rsem", expectedSample.getName(), null);
+        final String expectedCmd = new String(Files.readAllBytes(Paths.get(Objects.requireNonNull(
+                this.getClass().getClassLoader().getResource(PARALLEL_TASKS_TEST_OUTPUT_DATA_PATH)).toURI())));
+        assertEquals(expectedCmd, PipelineUtils.joinParallelTasks(tasks));
+    }
+
+    @Test
+    void shouldNotRunTasksConcurrentlyWithoutLocalMode() {
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setParallelTasks(2);
+        assertFalse(PipelineUtils.isParallelTasks(expectedConfiguration));
+    }
+
     @Test
     void shouldCleanUpTmpDir() {
         Set<String> fields = new LinkedHashSet<>();
@@ -144,6 +168,187 @@ class PipelineUtilsTest extends AbstractTest {
         assertDoesNotThrow(() -> PipelineUtils.printShell(expectedConfiguration, CMD, null, null));
     }
 
+    @Test
+    void printShellShouldHoldOnUpstreamJobsInEventMode() throws IOException {
+        expectedConfiguration.getGlobalConfig().getToolConfig().setStatusCheckMode(StatusCheckMode.EVENT);
+        expectedConfiguration.setCustTask("postalignment");
+        final String script = PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), null,
+                Arrays.asList("workflow_alignment_for_sampleName_1_analysis",
+                        "workflow_postalignment_for_sampleName_analysis"));
+        final String actualScript = new String(Files.readAllBytes(Paths.get(script)));
+        assertTrue(actualScript.contains("#$ -hold_jid workflow_alignment_for_sampleName_1_analysis\n"));
+        assertFalse(actualScript.contains("trap"));
+    }
+
+    @Test
+    void printShellShouldRequestResourcesFromSlurm() throws IOException {
+        expectedConfiguration.getGlobalConfig().getToolConfig().setStatusCheckMode(StatusCheckMode.EVENT);
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setScheduler(SchedulerType.SLURM);
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setNumThreads(4);
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setToolMaxMem("postalignment:8g");
+        expectedConfiguration.setCustTask("postalignment");
+        final String script = PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), null,
+                Collections.singletonList("workflow_alignment_for_sampleName_1_analysis"));
+        final String actualScript = new String(Files.readAllBytes(Paths.get(script)));
+        assertTrue(actualScript.contains("#SBATCH --job-name=workflow_postalignment_for_sampleName_analysis\n"));
+        assertTrue(actualScript.contains("#SBATCH --cpus-per-task=4\n#SBATCH --mem-per-cpu=2048M\n"));
+        assertFalse(actualScript.contains("#$"));
+        assertFalse(PipelineUtils.isEventStatusCheck(expectedConfiguration));
+        assertTrue(PipelineUtils.addTask(expectedConfiguration, "task", expectedSample.getName())
+                .contains("\nsbatch output/sh_files/workflow_task_for_sampleName_analysis.sh\n"));
+    }
+
+    @Test
+    void printShellShouldCreateCompletionMarkerInLocalEventMode() throws IOException {
+        expectedConfiguration.getGlobalConfig().getToolConfig().setStatusCheckMode(StatusCheckMode.EVENT);
+        expectedConfiguration.setLocalMode(true);
+        expectedConfiguration.setCustTask("alignment");
+        final String script = PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), "1");
+        final String actualScript = new String(Files.readAllBytes(Paths.get(script)));
+        assertTrue(actualScript.contains(String.format("trap \"touch %s\" EXIT",
+                Paths.get(TEST_DIRECTORY, "log_files", "workflow_alignment_for_sampleName_1_analysis.done"))));
+        assertFalse(actualScript.contains("hold_jid"));
+    }
+
+    @Test
+    void printShellShouldSkipScriptCompletedByPreviousRun() throws IOException {
+        final String job = "workflow_alignment_for_sampleName_1_analysis";
+        final String bam = Paths.get(TEST_DIRECTORY, "sampleName.bam").toString();
+        final String manifest = Checkpoints.getManifest(TEST_DIRECTORY);
+        Files.createFile(Paths.get(bam));
+        expectedConfiguration.setResumeMode(true);
+        expectedConfiguration.setCustTask("alignment");
+        try {
+            final String script = PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), "1",
+                    Collections.emptySet(), Collections.singletonList(bam));
+            final String actualScript = new String(Files.readAllBytes(Paths.get(script)));
+            final String hash = Checkpoints.hash(actualScript.substring(0, actualScript.indexOf("printf")));
+            assertTrue(actualScript.contains(String.format("printf '%%s\\t%%s\\t%%s\\n' '%s' '%s' '%s' >> %s",
+                    job, hash, bam, manifest)));
+            assertFalse(Checkpoints.isSkipped(job));
+
+            Files.write(Paths.get(manifest), String.join(Checkpoints.DELIMITER, job, hash, bam).getBytes());
+            Checkpoints.load(manifest);
+            PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), "1",
+                    Collections.emptySet(), Collections.singletonList(bam));
+            assertTrue(Checkpoints.isSkipped(job));
+        } finally {
+            Checkpoints.reset();
+        }
+    }
+
+    @Test
+    void printShellShouldLaunchScriptsDependingOnLaunchedScript() throws IOException {
+        final String alignment = "workflow_alignment_for_sampleName_1_analysis";
+        final String postalignment = "workflow_postalignment_for_sampleName_analysis";
+        final String cohort = "workflow_qcsummary_for_cohort_analysis";
+        final String manifest = Checkpoints.getManifest(TEST_DIRECTORY);
+        expectedConfiguration.setResumeMode(true);
+        try {
+            expectedConfiguration.setCustTask("postalignment");
+            final String postalignmentHash = hashScript(PipelineUtils.printShell(expectedConfiguration, CMD,
+                    expectedSample.getName(), null, Collections.singleton(alignment), Collections.emptyList()));
+            expectedConfiguration.setCustTask("qcsummary");
+            final String cohortHash = hashScript(PipelineUtils.printShell(expectedConfiguration, CMD, null, null,
+                    Collections.emptySet(), Collections.emptyList()));
+            Files.write(Paths.get(manifest), Arrays.asList(
+                    String.join(Checkpoints.DELIMITER, postalignment, postalignmentHash, ""),
+                    String.join(Checkpoints.DELIMITER, cohort, cohortHash, "")));
+            Checkpoints.load(manifest);
+
+            expectedConfiguration.setCustTask("alignment");
+            PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), "1",
+                    Collections.emptySet(), Collections.emptyList());
+            expectedConfiguration.setCustTask("postalignment");
+            PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), null,
+                    Collections.singleton(alignment), Collections.emptyList());
+            expectedConfiguration.setCustTask("qcsummary");
+            PipelineUtils.printShell(expectedConfiguration, CMD, null, null,
+                    Collections.emptySet(), Collections.emptyList());
+            assertFalse(Checkpoints.isSkipped(alignment));
+            assertFalse(Checkpoints.isSkipped(postalignment));
+            assertFalse(Checkpoints.isSkipped(cohort));
+        } finally {
+            Checkpoints.reset();
+        }
+    }
+
+    @Test
+    void printShellShouldSkipScriptsDependingOnSkippedScript() throws IOException {
+        final String alignment = "workflow_alignment_for_sampleName_1_analysis";
+        final String postalignment = "workflow_postalignment_for_sampleName_analysis";
+        final String manifest = Checkpoints.getManifest(TEST_DIRECTORY);
+        expectedConfiguration.setResumeMode(true);
+        try {
+            expectedConfiguration.setCustTask("alignment");
+            final String alignmentHash = hashScript(PipelineUtils.printShell(expectedConfiguration, CMD,
+                    expectedSample.getName(), "1", Collections.emptySet(), Collections.emptyList()));
+            expectedConfiguration.setCustTask("postalignment");
+            final String postalignmentHash = hashScript(PipelineUtils.printShell(expectedConfiguration, CMD,
+                    expectedSample.getName(), null, Collections.singleton(alignment), Collections.emptyList()));
+            Files.write(Paths.get(manifest), Arrays.asList(
+                    String.join(Checkpoints.DELIMITER, alignment, alignmentHash, ""),
+                    String.join(Checkpoints.DELIMITER, postalignment, postalignmentHash, "")));
+            Checkpoints.load(manifest);
+
+            expectedConfiguration.setCustTask("alignment");
+            PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), "1",
+                    Collections.emptySet(), Collections.emptyList());
+            expectedConfiguration.setCustTask("postalignment");
+            PipelineUtils.printShell(expectedConfiguration, CMD, expectedSample.getName(), null,
+                    Collections.singleton(alignment), Collections.emptyList());
+            assertTrue(Checkpoints.isSkipped(alignment));
+            assertTrue(Checkpoints.isSkipped(postalignment));
+            assertFalse(Checkpoints.hasLaunchedJobs());
+        } finally {
+            Checkpoints.reset();
+        }
+    }
+
+    @Test
+    void printShellShouldLaunchOnlyTasksNotCompletedIfScriptIsCompleted() throws IOException {
+        final String alignment = "workflow_alignment_for_sampleName_1_analysis";
+        final String rsem = "workflow_rsem_for_sampleName_analysis";
+        final String stringtie = "workflow_stringtie_for_sampleName_analysis";
+        final String manifest = Checkpoints.getManifest(TEST_DIRECTORY);
+        expectedConfiguration.setResumeMode(true);
+        try {
+            expectedConfiguration.setCustTask("alignment");
+            final String alignmentHash = hashScript(PipelineUtils.printShell(expectedConfiguration,
+                    CMD + addTasks(rsem, stringtie), expectedSample.getName(), "1", Collections.emptySet(),
+                    Collections.emptyList()));
+            final String rsemHash = hashScript(Paths.get(TEST_DIRECTORY, "sh_files", rsem + ".sh").toString());
+            Files.write(Paths.get(manifest), Arrays.asList(
+                    String.join(Checkpoints.DELIMITER, alignment, alignmentHash, ""),
+                    String.join(Checkpoints.DELIMITER, rsem, rsemHash, "")));
+            Checkpoints.load(manifest);
+
+            PipelineUtils.printShell(expectedConfiguration, CMD + addTasks(rsem, stringtie),
+                    expectedSample.getName(), "1", Collections.emptySet(), Collections.emptyList());
+            assertTrue(Checkpoints.isSkipped(alignment));
+            assertTrue(Checkpoints.isSkipped(rsem));
+            assertFalse(Checkpoints.isSkipped(stringtie));
+            assertTrue(Checkpoints.hasLaunchedJobs());
+        } finally {
+            Checkpoints.reset();
+        }
+    }
+
+    private String addTasks(final String... jobs) throws IOException {
+        final StringBuilder cmd = new StringBuilder();
+        for (String job : jobs) {
+            final String task = job.split("_")[1];
+            PipelineUtils.createStaticShell(expectedConfiguration, task, CMD, expectedSample.getName());
+            cmd.append(PipelineUtils.addTask(expectedConfiguration, task, expectedSample.getName()));
+        }
+        return cmd.toString();
+    }
+
+    private String hashScript(final String script) throws IOException {
+        final String content = new String(Files.readAllBytes(Paths.get(script)));
+        return Checkpoints.hash(content.substring(0, content.indexOf("printf")));
+    }
+
     @Test
     void cleanUpTmpDirEmptyFields() {
         assertEquals(StringUtils.EMPTY, PipelineUtils.cleanUpTmpDir(null));
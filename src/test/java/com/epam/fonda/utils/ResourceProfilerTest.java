@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.utils;
+
+import com.epam.fonda.entity.configuration.CommonOutdir;
+import com.epam.fonda.entity.configuration.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceProfilerTest {
+    private static final String OUTPUT_DIR = "output";
+
+    private Configuration configuration;
+
+    @BeforeEach
+    void setup() {
+        configuration = new Configuration();
+        configuration.setCommonOutdir(new CommonOutdir(OUTPUT_DIR));
+    }
+
+    @Test
+    void shouldWrapEachToolBlock() {
+        final String cmd = "echo `date` Begin Step: Sorting bam...\n"
+                + "samtools sort in.bam\n"
+                + "if [ $? -eq 0 ]\n"
+                + "then\n"
+                + "\techo `date` Successful Step: Sorting bam.\n"
+                + "fi\n"
+                + "echo `date` Begin Step: Tool's step...\n";
+        final String expected = "fonda_profile_start 'Sorting bam'\n"
+                + "echo `date` Begin Step: Sorting bam...\n"
+                + "samtools sort in.bam\n"
+                + "if [ $? -eq 0 ]\n"
+                + "then\n"
+                + "\techo `date` Successful Step: Sorting bam.\n"
+                + "\tfonda_profile_stop\n"
+                + "fi\n"
+                + "fonda_profile_start 'Tool'\\''s step'\n"
+                + "echo `date` Begin Step: Tool's step...\n";
+        assertEquals(expected, ResourceProfiler.instrument(cmd));
+    }
+
+    @Test
+    void shouldWriteProfilesPerSample() {
+        assertEquals("output/sample/sample_resource_profile.tsv",
+                ResourceProfiler.getProfile(configuration, "sample"));
+        assertEquals("output/cohort_resource_profile.tsv", ResourceProfiler.getProfile(configuration, ""));
+    }
+
+    @Test
+    void shouldSummarizeSampleProfiles() {
+        final String summary = ResourceProfiler.summarize(configuration, TemplateEngineUtils.getTemplateEngine(),
+                Arrays.asList("sample1", "sample2", "sample1"));
+        assertTrue(summary.contains(
+                "cat output/sample1/sample1_resource_profile.tsv output/sample2/sample2_resource_profile.tsv "));
+        assertTrue(summary.contains("> output/" + ResourceProfiler.SUMMARY_NAME));
+    }
+}
@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Objects;
 
 import static com.epam.fonda.utils.PipelineUtils.getExecutionPath;
+import static com.epam.fonda.utils.PipelineUtils.getJarPath;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class RnaAnalysisUtilsTest extends AbstractTest {
@@ -46,6 +47,8 @@ public class RnaAnalysisUtilsTest extends AbstractTest {
             "templates/rna_analysis_logFile_test_output.txt";
     private static final String RNA_ANALYSIS_DATA_ANALYSIS_TEST_OUTPUT_DATA_PATH =
             "rna_analysis_data_analysis_test_output";
+    private static final String RNA_ANALYSIS_NATIVE_MERGE_TEST_OUTPUT_DATA_PATH =
+            "rna_analysis_native_merge_test_output";
     private Configuration expectedConfiguration;
     private static final String SAMPLE_NAME = "sampleName";
     private TemplateEngine expectedTemplateEngine = TemplateEngineUtils.init();
@@ -91,4 +94,22 @@ public class RnaAnalysisUtilsTest extends AbstractTest {
 
         assertEquals(expectedCmd, actualBashCommand);
     }
+
+    @Test
+    void testNativeDataAnalysis() {
+        expectedConfiguration.getStudyConfig().setFastqList("sampleList");
+        expectedConfiguration.getGlobalConfig().getToolConfig().setNativeExpressionMerge(true);
+        expectedConfiguration.getGlobalConfig().getToolConfig().setJava("java");
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setNumThreads(4);
+        expectedConfiguration.getGlobalConfig().getQueueParameters().setMaxMem("4g");
+        expectedConfiguration.getGlobalConfig().getToolConfig().setSrcPath("srcPath");
+        Context context = new Context();
+        context.setVariable("jarPath", getJarPath());
+        final String expectedCmd = expectedTemplateEngine.process(RNA_ANALYSIS_NATIVE_MERGE_TEST_OUTPUT_DATA_PATH,
+                context);
+        final String actualBashCommand = RnaAnalysisUtils.dataAnalysis(expectedConfiguration, expectedTemplateEngine,
+                "toolName");
+
+        assertEquals(expectedCmd, actualBashCommand);
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.utils;
+
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ToolUtilsTest {
+    private Configuration configuration;
+
+    @BeforeEach
+    void setup() {
+        final GlobalConfig globalConfig = new GlobalConfig();
+        globalConfig.getQueueParameters().setNumThreads(4);
+        configuration = new Configuration();
+        configuration.setGlobalConfig(globalConfig);
+    }
+
+    @Test
+    void shouldUseGzipByDefault() {
+        assertEquals("gzip", ToolUtils.getCompressor(configuration));
+    }
+
+    @Test
+    void shouldUseQueueThreadsForPigz() {
+        configuration.getGlobalConfig().getToolConfig().setCompressor("/usr/bin/pigz");
+        assertEquals("/usr/bin/pigz -p 4", ToolUtils.getCompressor(configuration));
+    }
+
+    @Test
+    void shouldUseCompressorThreadsForBgzip() {
+        configuration.getGlobalConfig().getToolConfig().setCompressor("bgzip");
+        configuration.getGlobalConfig().getToolConfig().setCompressorThreads(2);
+        assertEquals("bgzip -@ 2", ToolUtils.getCompressor(configuration));
+    }
+
+    @Test
+    void shouldNotLimitSortMemoryWithoutMaxMem() {
+        assertNull(ToolUtils.getSortMemoryPerThread(configuration));
+        assertEquals(0, ToolUtils.getSortMemory(configuration));
+    }
+
+    @Test
+    void shouldSplitHalfOfMaxMemBetweenSortThreads() {
+        configuration.getGlobalConfig().getQueueParameters().setMaxMem("24g");
+        assertEquals("3072M", ToolUtils.getSortMemoryPerThread(configuration));
+        assertEquals(12884901888L, ToolUtils.getSortMemory(configuration));
+    }
+
+    @Test
+    void shouldUseThreadsAndMemoryOfScriptTask() {
+        configuration.getGlobalConfig().getQueueParameters().setMaxMem("24g");
+        configuration.getGlobalConfig().getQueueParameters().setToolNumThreads("mutect2:2");
+        configuration.getGlobalConfig().getQueueParameters().setToolMaxMem("mutect2:16g");
+        configuration.setCustTask("mutect2");
+        assertEquals(2, ToolUtils.getNumThreads(configuration));
+        assertEquals(2, ToolUtils.getToolNumThreads(configuration));
+        assertEquals("16g", ToolUtils.getMaxMem(configuration));
+        assertEquals("4096M", ToolUtils.getSortMemoryPerThread(configuration));
+        assertEquals("12288m", ToolUtils.getJavaHeap(configuration, "10g"));
+
+        configuration.setCustTask("alignment");
+        assertEquals(4, ToolUtils.getNumThreads(configuration));
+        assertNull(ToolUtils.getToolNumThreads(configuration));
+        assertEquals("24g", ToolUtils.getMaxMem(configuration));
+        assertEquals("10g", ToolUtils.getJavaHeap(configuration, "10g"));
+    }
+}
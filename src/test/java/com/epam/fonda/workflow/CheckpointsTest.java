@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.workflow;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointsTest {
+    private static final String OUTPUT_DIR = "output";
+    private static final String BAM = OUTPUT_DIR + "/sample.bam";
+    private static final String MISSING_BAM = OUTPUT_DIR + "/missing.bam";
+
+    private final String manifest = Checkpoints.getManifest(OUTPUT_DIR);
+
+    @BeforeEach
+    void init() throws IOException {
+        Files.createDirectories(Paths.get(OUTPUT_DIR));
+        Files.createFile(Paths.get(BAM));
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Checkpoints.reset();
+        FileUtils.deleteDirectory(new File(OUTPUT_DIR));
+    }
+
+    @Test
+    void shouldFindCompletedScriptsWithExistingOutputs() throws IOException {
+        Files.write(Paths.get(manifest), Arrays.asList(
+                String.join(Checkpoints.DELIMITER, "alignment_for_sample", "old", BAM),
+                String.join(Checkpoints.DELIMITER, "alignment_for_sample", "new", BAM),
+                String.join(Checkpoints.DELIMITER, "alignment_for_missing", "hash", BAM + "," + MISSING_BAM),
+                String.join(Checkpoints.DELIMITER, "qcsummary_for_cohort_analysis", "hash", "")));
+        Checkpoints.load(manifest);
+
+        assertTrue(Checkpoints.isCompleted("alignment_for_sample", "new"));
+        assertFalse(Checkpoints.isCompleted("alignment_for_sample", "old"));
+        assertFalse(Checkpoints.isCompleted("alignment_for_missing", "hash"));
+        assertTrue(Checkpoints.isCompleted("qcsummary_for_cohort_analysis", "hash"));
+        assertFalse(Checkpoints.isCompleted("postalignment_for_sample", "hash"));
+    }
+
+    @Test
+    void shouldLoadMissingManifest() throws IOException {
+        Checkpoints.skip("alignment_for_sample");
+        Checkpoints.load(manifest);
+        assertFalse(Checkpoints.isSkipped("alignment_for_sample"));
+        assertFalse(Checkpoints.isCompleted("alignment_for_sample", "hash"));
+    }
+
+    @Test
+    void shouldHashScriptContent() {
+        assertEquals(64, Checkpoints.hash("echo test").length());
+        assertEquals(Checkpoints.hash("echo test"), Checkpoints.hash("echo test"));
+        assertNotEquals(Checkpoints.hash("echo test"), Checkpoints.hash("echo test2"));
+        assertEquals(BAM + "," + MISSING_BAM, Checkpoints.joinOutputs(Arrays.asList(BAM, null, MISSING_BAM, BAM)));
+    }
+}
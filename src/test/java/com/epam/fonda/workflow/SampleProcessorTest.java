@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2021 Sanofi and EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.fonda.workflow;
+
+import com.epam.fonda.entity.configuration.Configuration;
+import com.epam.fonda.entity.configuration.GlobalConfig;
+import com.epam.fonda.samples.fastq.FastqFileSample;
+import com.epam.fonda.utils.PipelineUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampleProcessorTest {
+    private static final int SAMPLES_NUMBER = 50;
+
+    private Configuration configuration;
+    private List<FastqFileSample> samples;
+
+    @AfterEach
+    void cleanUp() {
+        TaskContainer.clear();
+    }
+
+    @BeforeEach
+    void init() {
+        configuration = new Configuration();
+        configuration.setGlobalConfig(new GlobalConfig());
+        configuration.setGenerationThreads(4);
+        samples = IntStream.range(0, SAMPLES_NUMBER)
+                .mapToObj(i -> FastqFileSample.builder().name("sample" + i)
+                        .sampleType(i < SAMPLES_NUMBER / 2 ? "control" : "case").build())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldProcessEachSampleWithItsOwnCustTask() throws IOException {
+        final Map<String, String> processed = new ConcurrentHashMap<>();
+        SampleProcessor.processInParallel(configuration, samples, (config, sample) -> {
+            config.setCustTask(sample.getName());
+            Thread.yield();
+            processed.put(sample.getName(), config.getCustTask());
+        });
+        assertEquals(SAMPLES_NUMBER, processed.size());
+        processed.forEach((name, task) -> assertEquals(name, task));
+        assertNull(configuration.getCustTask());
+    }
+
+    @Test
+    void shouldProcessDependentSamplesAfterIndependentSamples() throws IOException {
+        final Set<String> controls = ConcurrentHashMap.newKeySet();
+        final Map<String, Integer> processedControls = new ConcurrentHashMap<>();
+        try (SampleProcessor<FastqFileSample> processor = new SampleProcessor<>(configuration,
+            (config, sample) -> {
+                if (isControl(sample)) {
+                    Thread.yield();
+                    controls.add(sample.getName());
+                } else {
+                    processedControls.put(sample.getName(), controls.size());
+                }
+            }, sample -> !isControl(sample))) {
+            for (FastqFileSample sample : samples) {
+                processor.process(sample);
+            }
+            processor.await();
+        }
+        assertEquals(SAMPLES_NUMBER / 2, processedControls.size());
+        processedControls.values().forEach(number -> assertEquals(SAMPLES_NUMBER / 2, number));
+    }
+
+    @Test
+    void shouldNotQueueMoreSamplesThanWorkers() throws IOException {
+        final AtomicInteger started = new AtomicInteger();
+        int maxPending = 0;
+        try (SampleProcessor<FastqFileSample> processor = new SampleProcessor<>(configuration,
+            (config, sample) -> {
+                started.incrementAndGet();
+                Thread.yield();
+            })) {
+            for (int i = 0; i < samples.size(); i++) {
+                processor.process(samples.get(i));
+                maxPending = Math.max(maxPending, i + 1 - started.get());
+            }
+            processor.await();
+        }
+        assertEquals(SAMPLES_NUMBER, started.get());
+        assertTrue(maxPending <= 2 * configuration.getGenerationThreads());
+    }
+
+    @Test
+    void shouldListStepsInOrderOfSamples() throws IOException {
+        final Map<String, List<String>> snapshots = new ConcurrentHashMap<>();
+        SampleProcessor.processInParallel(configuration, samples, (config, sample) -> {
+            if (Integer.parseInt(sample.getName().substring("sample".length())) % 3 == 0) {
+                Thread.yield();
+            }
+            TaskContainer.addTasks("step of " + sample.getName(), "common step");
+            snapshots.put(sample.getName(), TaskContainer.getTasksSnapshot());
+        });
+        final List<String> expected = new ArrayList<>();
+        for (FastqFileSample sample : samples) {
+            expected.add("step of " + sample.getName());
+            if (expected.size() == 1) {
+                expected.add("common step");
+            }
+            assertEquals(expected, snapshots.get(sample.getName()));
+        }
+        assertEquals(expected, TaskContainer.getTasksSnapshot());
+    }
+
+    @Test
+    void shouldRethrowSampleFailure() {
+        assertThrows(IOException.class, () -> SampleProcessor.processInParallel(configuration, samples,
+            (config, sample) -> {
+                if ("sample7".equals(sample.getName())) {
+                    throw new IOException("Cannot write a script");
+                }
+            }));
+    }
+
+    private static boolean isControl(final FastqFileSample sample) {
+        return !PipelineUtils.checkSampleType(sample.getSampleType());
+    }
+}